@@ -0,0 +1,74 @@
+package com.minisahibinden.benchmark;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.minisahibinden.entity.Listing;
+import com.minisahibinden.entity.RealEstate;
+import com.minisahibinden.entity.Vehicle;
+
+/**
+ * Listing.getDisplayTitle for each kind of listing (ListingCardDTO builds the same title for
+ * every row of the my-ads and favorites tables).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1)
+public class DisplayTitleBenchmark {
+
+    private Listing vehicle;
+    private Listing realEstate;
+    private Listing other;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BigDecimal price = new BigDecimal("1250000.00");
+        LocalDate date = LocalDate.of(2024, 5, 1);
+
+        vehicle = new Listing(null, price, date, Listing.Category.Vehicle);
+        vehicle.setListingId(1);
+        vehicle.setVehicle(new Vehicle(vehicle, 2019, "Volkswagen Passat 1.6 TDi BlueMotion", 84_000));
+
+        realEstate = new Listing(null, price, date, Listing.Category.RealEstate);
+        realEstate.setListingId(2);
+        RealEstate house = new RealEstate();
+        house.setCity("Istanbul");
+        house.setDistrict("Kadikoy");
+        realEstate.setRealEstate(house);
+
+        // Category without its detail row loaded
+        other = new Listing(null, price, date, Listing.Category.Vehicle);
+        other.setListingId(3);
+    }
+
+    @Benchmark
+    public String vehicleTitle() {
+        return vehicle.getDisplayTitle();
+    }
+
+    @Benchmark
+    public String realEstateTitle() {
+        return realEstate.getDisplayTitle();
+    }
+
+    @Benchmark
+    public String fallbackTitle() {
+        return other.getDisplayTitle();
+    }
+}
@@ -0,0 +1,54 @@
+package com.minisahibinden.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.ui.ExtendedModelMap;
+
+/**
+ * Home page model assembly (HomeController.home up to the view name): facets, the vehicle grid
+ * branch and the model attributes, with the assembler's branches run inline or on its executor.
+ * No database and no rendering; see HomePageFixture.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms1g", "-Xmx1g"})
+public class HomePageAssemblyBenchmark {
+
+    @Param({"false", "true"})
+    private boolean parallel;
+
+    private HomePageFixture fixture;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        fixture = new HomePageFixture(12, parallel);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        fixture.close();
+    }
+
+    @Benchmark
+    public ExtendedModelMap assembleModel() {
+        return fixture.home(new MockHttpServletRequest("GET", "/"), new MockHttpServletResponse());
+    }
+}
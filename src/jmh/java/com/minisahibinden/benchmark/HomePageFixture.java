@@ -0,0 +1,110 @@
+package com.minisahibinden.benchmark;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.ui.ExtendedModelMap;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import com.minisahibinden.controller.HomeController;
+import com.minisahibinden.dto.ListingWindow;
+import com.minisahibinden.dto.RealEstateSearchCriteria;
+import com.minisahibinden.dto.VehicleSearchCriteria;
+import com.minisahibinden.dto.VehicleSummaryDTO;
+import com.minisahibinden.entity.Listing;
+import com.minisahibinden.entity.Vehicle;
+import com.minisahibinden.service.CatalogVersion;
+import com.minisahibinden.service.FacetMetadataService;
+import com.minisahibinden.service.HomePageAssembler;
+import com.minisahibinden.service.ListingSearchService;
+import com.minisahibinden.service.RealEstateBitmapIndex;
+
+/**
+ * The real HomeController wired without a database: filter metadata comes from a
+ * FacetMetadataService fed with a synthetic catalog (its in-memory path), and the vehicle grid
+ * is a fixed page of {@code cards} vehicles, as served from the search result cache.
+ */
+class HomePageFixture {
+
+    private static final int CATALOG_SIZE = 5_000;
+
+    private final HomeController controller;
+    private final HomePageAssembler assembler;
+
+    HomePageFixture(int cards, boolean parallel) {
+        Random random = new Random(42);
+        FacetMetadataService facets = new FacetMetadataService(null, null);
+        LocalDate firstDay = LocalDate.of(2023, 1, 1);
+        List<Vehicle> page = new ArrayList<>(cards);
+        for (int id = 1; id <= CATALOG_SIZE; id++) {
+            BigDecimal price = BigDecimal.valueOf(50_000 + random.nextInt(4_950_000));
+            LocalDate date = firstDay.plusDays(random.nextInt(1000));
+            int year = 1995 + random.nextInt(31);
+            String name = "Brand" + random.nextInt(40) + " Model" + random.nextInt(25);
+            int km = random.nextInt(400_000);
+            facets.onVehicleAdded(new VehicleSummaryDTO(id, 1 + random.nextInt(50), price, date,
+                    Listing.Status.Active, year, name, km));
+            if (id <= cards) {
+                Listing listing = new Listing(null, price, date, Listing.Category.Vehicle);
+                listing.setListingId(id);
+                Vehicle vehicle = new Vehicle(listing, year, name, km);
+                vehicle.setListingId(id);
+                page.add(vehicle);
+            }
+        }
+        facets.onCatalogLoaded();
+
+        ListingWindow<Vehicle> window = ListingWindow.ofPage(
+                new PageImpl<>(page, PageRequest.of(0, cards), CATALOG_SIZE));
+        CatalogVersion catalogVersion = new CatalogVersion();
+        ListingSearchService search = new ListingSearchService(null, null, facets, null, null, null, null,
+                null, null, catalogVersion, 1000, 60_000) {
+            @Override
+            public ListingWindow<Vehicle> searchVehicles(VehicleSearchCriteria criteria) {
+                return window;
+            }
+        };
+        assembler = new HomePageAssembler(parallel, 4, 3000, new NoTransactionManager());
+        controller = new HomeController(null, null, null, null, null, null, facets, assembler, search,
+                new RealEstateBitmapIndex(), catalogVersion);
+    }
+
+    // GET / without conditional headers; the model as the controller leaves it for the view
+    ExtendedModelMap home(MockHttpServletRequest request, MockHttpServletResponse response) {
+        ExtendedModelMap model = new ExtendedModelMap();
+        controller.home(model, new VehicleSearchCriteria(), new RealEstateSearchCriteria(), null,
+                new ServletWebRequest(request, response), request, response);
+        return model;
+    }
+
+    void close() {
+        assembler.shutdown();
+    }
+
+    // The stubbed branches don't touch a database; their transactions only have to begin and end
+    private static class NoTransactionManager extends AbstractPlatformTransactionManager {
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {}
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {}
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {}
+    }
+}
@@ -0,0 +1,83 @@
+package com.minisahibinden.benchmark;
+
+import java.io.StringWriter;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockServletContext;
+import org.thymeleaf.context.WebContext;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+import org.thymeleaf.web.IWebExchange;
+import org.thymeleaf.web.servlet.JakartaServletWebApplication;
+
+/**
+ * Thymeleaf rendering of home.html (vehicles tab) for grids of 12, 48 and 200 cards. The model
+ * is what HomeController.home produces; the engine is set up like Spring Boot's (classpath
+ * templates/, HTML mode, template cache on), so only the rendering itself is measured.
+ * Thymeleaf's expression and template caches take thousands of renders to settle, hence the
+ * long warmup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 10, time = 3)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms1g", "-Xmx1g"})
+public class HomePageRenderBenchmark {
+
+    @Param({"12", "48", "200"})
+    private int cards;
+
+    private HomePageFixture fixture;
+    private SpringTemplateEngine engine;
+    private JakartaServletWebApplication application;
+    private Map<String, Object> model;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        fixture = new HomePageFixture(cards, false);
+        model = fixture.home(new MockHttpServletRequest("GET", "/"), new MockHttpServletResponse());
+
+        ClassLoaderTemplateResolver resolver = new ClassLoaderTemplateResolver();
+        resolver.setPrefix("templates/");
+        resolver.setSuffix(".html");
+        resolver.setTemplateMode(TemplateMode.HTML);
+        resolver.setCharacterEncoding("UTF-8");
+        resolver.setCacheable(true);
+        engine = new SpringTemplateEngine();
+        engine.setTemplateResolver(resolver);
+        application = JakartaServletWebApplication.buildApplication(new MockServletContext());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        fixture.close();
+    }
+
+    @Benchmark
+    public String renderHome() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+        IWebExchange exchange = application.buildExchange(request, new MockHttpServletResponse());
+        WebContext context = new WebContext(exchange, request.getLocale(), model);
+        StringWriter html = new StringWriter(64 * 1024);
+        engine.process("home", context, html);
+        return html.toString();
+    }
+}
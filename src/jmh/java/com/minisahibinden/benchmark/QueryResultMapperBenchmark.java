@@ -0,0 +1,80 @@
+package com.minisahibinden.benchmark;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.minisahibinden.dto.CarDetailDTO;
+import com.minisahibinden.dto.UserListingStatsDTO;
+import com.minisahibinden.dto.YearStatisticsDTO;
+import com.minisahibinden.util.QueryResultMapper;
+
+/**
+ * QueryResultMapper batch mapping of already fetched native query rows, with the value types
+ * the MySQL driver returns (Integer / Long counts, BigDecimal prices and averages, Strings).
+ * Database access is not part of the measurement; RowMapperBenchmark covers fetch + decode.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms1g", "-Xmx1g"})
+public class QueryResultMapperBenchmark {
+
+    @Param({"1000"})
+    private int rows;
+
+    private List<Object[]> yearRows;
+    private List<Object[]> carRows;
+    private List<Object[]> userRows;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        yearRows = new ArrayList<>(rows);
+        carRows = new ArrayList<>(rows);
+        userRows = new ArrayList<>(rows);
+        for (int i = 1; i <= rows; i++) {
+            long count = 1 + random.nextInt(5_000);
+            BigDecimal price = BigDecimal.valueOf(50_000 + random.nextInt(4_950_000), 0).setScale(2);
+            BigDecimal total = price.multiply(BigDecimal.valueOf(count));
+            BigDecimal average = new BigDecimal(price.toPlainString() + "1234");
+            yearRows.add(new Object[] {1950 + i % 80, count, average, price, price.add(BigDecimal.TEN),
+                    total, new BigDecimal("104512.4375")});
+            carRows.add(new Object[] {i, 1995 + random.nextInt(31), "Brand" + random.nextInt(40) + " Model" + i,
+                    price, random.nextInt(400_000), 1 + random.nextInt(50), "Ayse", "Yilmaz", "user" + i + "@example.com"});
+            userRows.add(new Object[] {i, "Ayse Nur Yilmaz" + i, "user" + i + "@example.com", count, total, average});
+        }
+    }
+
+    @Benchmark
+    public List<YearStatisticsDTO> yearStatistics() {
+        return QueryResultMapper.mapToYearStatisticsList(yearRows);
+    }
+
+    @Benchmark
+    public List<CarDetailDTO> carDetails() {
+        return QueryResultMapper.mapToCarDetailList(carRows);
+    }
+
+    @Benchmark
+    public List<UserListingStatsDTO> userListingStats() {
+        return QueryResultMapper.mapToUserListingStatsList(userRows);
+    }
+}
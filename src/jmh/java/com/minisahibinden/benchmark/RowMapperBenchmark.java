@@ -0,0 +1,208 @@
+package com.minisahibinden.benchmark;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.RowMapper;
+
+import com.minisahibinden.dto.CarDetailDTO;
+import com.minisahibinden.dto.UserListingStatsDTO;
+import com.minisahibinden.dto.YearStatisticsDTO;
+import com.minisahibinden.util.QueryResultMapper;
+import com.minisahibinden.util.RowMappers;
+
+/**
+ * Decoding statistics and car detail rows into DTOs: each ResultSet row copied into an Object[] and converted
+ * by QueryResultMapper (what the native JPA queries did) versus the typed RowMappers reading
+ * the ResultSet directly. Both sides run the same query over {@code rows} pre-aggregated rows
+ * in H2 (MySQL mode), so the difference is the decoding.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms1g", "-Xmx1g"})
+public class RowMapperBenchmark {
+
+    // Same shapes as StatisticsJdbcRepository's queries
+    private static final String YEAR_SQL =
+            "SELECT model_year, car_count, avg_price, min_price, max_price, total_value, avg_km FROM YearStats";
+    private static final String USER_SQL =
+            "SELECT user_id, full_name, email, listing_count, total_value, avg_price FROM UserStats";
+    // QueryResultMapper takes the name already split, RowMappers.CAR_DETAIL splits the full name itself
+    private static final String CAR_ARRAY_SQL =
+            "SELECT car_id, model_year, model_name, price, kilometers, user_id, first_name, last_name, email FROM CarDetails";
+    private static final String CAR_SQL =
+            "SELECT car_id, model_year, model_name, price, kilometers, user_id, full_name, email FROM CarDetails";
+
+    @Param({"10000"})
+    private int rows;
+
+    private Connection connection;
+    private PreparedStatement yearQuery;
+    private PreparedStatement userQuery;
+    private PreparedStatement carArrayQuery;
+    private PreparedStatement carQuery;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        // OPTIMIZE_REUSE_RESULTS off: H2 would otherwise return the cached result of the repeated query
+        connection = DriverManager.getConnection("jdbc:h2:mem:row-mapper;MODE=MySQL;DB_CLOSE_DELAY=-1;OPTIMIZE_REUSE_RESULTS=FALSE", "sa", "");
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("DROP TABLE IF EXISTS YearStats");
+            ddl.execute("DROP TABLE IF EXISTS UserStats");
+            ddl.execute("DROP TABLE IF EXISTS CarDetails");
+            ddl.execute("CREATE TABLE YearStats (model_year INT NOT NULL, car_count BIGINT NOT NULL, " +
+                    "avg_price DECIMAL(19, 6), min_price DECIMAL(15, 2), max_price DECIMAL(15, 2), " +
+                    "total_value DECIMAL(37, 2), avg_km DECIMAL(14, 4))");
+            ddl.execute("CREATE TABLE UserStats (user_id INT NOT NULL, full_name VARCHAR(100) NOT NULL, " +
+                    "email VARCHAR(100) NOT NULL, listing_count BIGINT NOT NULL, total_value DECIMAL(37, 2), " +
+                    "avg_price DECIMAL(19, 6))");
+            ddl.execute("CREATE TABLE CarDetails (car_id INT NOT NULL, model_year INT NOT NULL, " +
+                    "model_name VARCHAR(150) NOT NULL, price DECIMAL(15, 2) NOT NULL, kilometers INT NOT NULL, " +
+                    "user_id INT NOT NULL, full_name VARCHAR(100) NOT NULL, first_name VARCHAR(100) NOT NULL, " +
+                    "last_name VARCHAR(100) NOT NULL, email VARCHAR(100) NOT NULL)");
+        }
+
+        Random random = new Random(42);
+        connection.setAutoCommit(false);
+        try (PreparedStatement year = connection.prepareStatement("INSERT INTO YearStats VALUES (?, ?, ?, ?, ?, ?, ?)");
+             PreparedStatement user = connection.prepareStatement("INSERT INTO UserStats VALUES (?, ?, ?, ?, ?, ?)");
+             PreparedStatement car = connection.prepareStatement(
+                     "INSERT INTO CarDetails VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+            for (int i = 1; i <= rows; i++) {
+                long count = 1 + random.nextInt(5_000);
+                BigDecimal min = BigDecimal.valueOf(50_000 + random.nextInt(500_000));
+                BigDecimal max = min.add(BigDecimal.valueOf(random.nextInt(4_000_000)));
+                BigDecimal total = BigDecimal.valueOf(count).multiply(min.add(max)).divide(BigDecimal.valueOf(2));
+                year.setInt(1, 1950 + i % 80);
+                year.setLong(2, count);
+                year.setBigDecimal(3, total.divide(BigDecimal.valueOf(count), 6, RoundingMode.HALF_UP));
+                year.setBigDecimal(4, min);
+                year.setBigDecimal(5, max);
+                year.setBigDecimal(6, total);
+                year.setBigDecimal(7, BigDecimal.valueOf(random.nextInt(400_000))
+                        .add(new BigDecimal("0.4375")));
+                year.addBatch();
+
+                user.setInt(1, i);
+                user.setString(2, "User" + i + " Surname" + random.nextInt(1_000));
+                user.setString(3, "user" + i + "@example.com");
+                user.setLong(4, count % 40);
+                user.setBigDecimal(5, total);
+                user.setBigDecimal(6, total.divide(BigDecimal.valueOf(count), 6, RoundingMode.HALF_UP));
+                user.addBatch();
+
+                String first = "User" + i;
+                String last = "Surname" + random.nextInt(1_000);
+                car.setInt(1, i);
+                car.setInt(2, 1950 + i % 80);
+                car.setString(3, "Model " + random.nextInt(500));
+                car.setBigDecimal(4, min);
+                car.setInt(5, random.nextInt(400_000));
+                car.setInt(6, 1 + random.nextInt(1_000));
+                car.setString(7, first + " " + last);
+                car.setString(8, first);
+                car.setString(9, last);
+                car.setString(10, "user" + i + "@example.com");
+                car.addBatch();
+            }
+            year.executeBatch();
+            user.executeBatch();
+            car.executeBatch();
+        }
+        connection.commit();
+        connection.setAutoCommit(true);
+
+        yearQuery = connection.prepareStatement(YEAR_SQL);
+        userQuery = connection.prepareStatement(USER_SQL);
+        carArrayQuery = connection.prepareStatement(CAR_ARRAY_SQL);
+        carQuery = connection.prepareStatement(CAR_SQL);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    public List<YearStatisticsDTO> yearStatisticsObjectArray() throws SQLException {
+        return QueryResultMapper.mapToYearStatisticsList(readObjectArrays(yearQuery, 7));
+    }
+
+    @Benchmark
+    public List<YearStatisticsDTO> yearStatisticsRowMapper() throws SQLException {
+        return readMapped(yearQuery, RowMappers.YEAR_STATISTICS);
+    }
+
+    @Benchmark
+    public List<UserListingStatsDTO> userStatsObjectArray() throws SQLException {
+        return QueryResultMapper.mapToUserListingStatsList(readObjectArrays(userQuery, 6));
+    }
+
+    @Benchmark
+    public List<UserListingStatsDTO> userStatsRowMapper() throws SQLException {
+        return readMapped(userQuery, RowMappers.USER_LISTING_STATS);
+    }
+
+    @Benchmark
+    public List<CarDetailDTO> carDetailsObjectArray() throws SQLException {
+        return QueryResultMapper.mapToCarDetailList(readObjectArrays(carArrayQuery, 9));
+    }
+
+    @Benchmark
+    public List<CarDetailDTO> carDetailsRowMapper() throws SQLException {
+        return readMapped(carQuery, RowMappers.CAR_DETAIL);
+    }
+
+    // What Hibernate hands a native query returning List<Object[]>: one boxed array per row
+    private static List<Object[]> readObjectArrays(PreparedStatement query, int columns) throws SQLException {
+        List<Object[]> result = new ArrayList<>();
+        try (ResultSet rs = query.executeQuery()) {
+            while (rs.next()) {
+                Object[] row = new Object[columns];
+                for (int i = 0; i < columns; i++) {
+                    row[i] = rs.getObject(i + 1);
+                }
+                result.add(row);
+            }
+        }
+        return result;
+    }
+
+    // What JdbcTemplate.query(sql, rowMapper) does per row
+    private static <T> List<T> readMapped(PreparedStatement query, RowMapper<T> mapper) throws SQLException {
+        List<T> result = new ArrayList<>();
+        try (ResultSet rs = query.executeQuery()) {
+            int rowNum = 0;
+            while (rs.next()) {
+                result.add(mapper.mapRow(rs, rowNum++));
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,198 @@
+package com.minisahibinden.benchmark;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.minisahibinden.dto.ListingCursor;
+import com.minisahibinden.util.KeysetHeap;
+import com.minisahibinden.util.VehicleColumns;
+
+/**
+ * Advanced vehicle filter, first page + total: in-memory column scan (VehicleColumns) versus the
+ * keyset SQL the repository runs (H2 in MySQL mode, same index as schema.sql).
+ * Both sides hold the same synthetic catalog of {@code rows} active vehicles.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+public class VehicleFilterBenchmark {
+
+    private static final int PAGE = 13; // page size + 1, like ListingSearchService
+
+    // Filter of the benchmark: 2010-2018 cars, 300k-1.5M TL, under 150k km
+    private static final int MIN_YEAR = 2010;
+    private static final int MAX_YEAR = 2018;
+    private static final BigDecimal MIN_PRICE = new BigDecimal("300000");
+    private static final BigDecimal MAX_PRICE = new BigDecimal("1500000");
+    private static final int MAX_KM = 150_000;
+
+    private static final String SEEK_SQL =
+            "SELECT v.listing_id FROM Vehicles v JOIN Listings l ON l.listing_id = v.listing_id " +
+            "WHERE l.category = 'Vehicle' AND l.status = 'Active' " +
+            "AND (l.listing_date < ? OR (l.listing_date = ? AND l.listing_id < ?)) " +
+            "AND (? IS NULL OR v.model_year >= ?) AND (? IS NULL OR v.model_year <= ?) " +
+            "AND (? IS NULL OR l.price >= ?) AND (? IS NULL OR l.price <= ?) " +
+            "AND (? IS NULL OR v.kilometers <= ?) " +
+            "ORDER BY l.listing_date DESC, l.listing_id DESC LIMIT " + PAGE;
+
+    private static final String COUNT_SQL =
+            "SELECT COUNT(*) FROM Vehicles v JOIN Listings l ON l.listing_id = v.listing_id " +
+            "WHERE l.category = 'Vehicle' AND l.status = 'Active' " +
+            "AND (? IS NULL OR v.model_year >= ?) AND (? IS NULL OR v.model_year <= ?) " +
+            "AND (? IS NULL OR l.price >= ?) AND (? IS NULL OR l.price <= ?) " +
+            "AND (? IS NULL OR v.kilometers <= ?)";
+
+    @Param({"1000000"})
+    private int rows;
+
+    private VehicleColumns columns;
+    private VehicleColumns.Filter filter;
+    private long startKey;
+    private Connection connection;
+    private PreparedStatement seek;
+    private PreparedStatement count;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        columns = new VehicleColumns();
+        // OPTIMIZE_REUSE_RESULTS off: H2 would otherwise return the cached result of the repeated query
+        connection = DriverManager.getConnection("jdbc:h2:mem:vehicle-filter;MODE=MySQL;DB_CLOSE_DELAY=-1;OPTIMIZE_REUSE_RESULTS=FALSE", "sa", "");
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("DROP TABLE IF EXISTS Vehicles");
+            ddl.execute("DROP TABLE IF EXISTS Listings");
+            ddl.execute("CREATE TABLE Listings (listing_id INT PRIMARY KEY, user_id INT NOT NULL, " +
+                    "price DECIMAL(15, 2) NOT NULL, listing_date DATE NOT NULL, category VARCHAR(20) NOT NULL, " +
+                    "status VARCHAR(20) NOT NULL)");
+            ddl.execute("CREATE INDEX idx_listings_seek ON Listings (category, status, listing_date, listing_id)");
+            ddl.execute("CREATE TABLE Vehicles (listing_id INT PRIMARY KEY, model_year INT NOT NULL, " +
+                    "model_name VARCHAR(150) NOT NULL, kilometers INT NOT NULL)");
+            ddl.execute("CREATE INDEX idx_vehicles_model_year ON Vehicles (model_year)");
+        }
+
+        Random random = new Random(42);
+        LocalDate firstDay = LocalDate.of(2023, 1, 1);
+        connection.setAutoCommit(false);
+        try (PreparedStatement listing = connection.prepareStatement(
+                     "INSERT INTO Listings VALUES (?, ?, ?, ?, 'Vehicle', 'Active')");
+             PreparedStatement vehicle = connection.prepareStatement(
+                     "INSERT INTO Vehicles VALUES (?, ?, ?, ?)")) {
+            for (int id = 1; id <= rows; id++) {
+                LocalDate date = firstDay.plusDays(random.nextInt(1000));
+                int year = 1995 + random.nextInt(31);
+                int km = random.nextInt(400_000);
+                BigDecimal price = BigDecimal.valueOf(50_000 + random.nextInt(4_950_000));
+                String name = "Brand" + random.nextInt(40) + " Model" + random.nextInt(25);
+
+                listing.setInt(1, id);
+                listing.setInt(2, 1 + random.nextInt(50));
+                listing.setBigDecimal(3, price);
+                listing.setDate(4, Date.valueOf(date));
+                listing.addBatch();
+                vehicle.setInt(1, id);
+                vehicle.setInt(2, year);
+                vehicle.setString(3, name);
+                vehicle.setInt(4, km);
+                vehicle.addBatch();
+                if (id % 10_000 == 0) {
+                    listing.executeBatch();
+                    vehicle.executeBatch();
+                }
+                columns.add(id, date, year, km, price, name);
+            }
+            listing.executeBatch();
+            vehicle.executeBatch();
+        }
+        connection.commit();
+        connection.setAutoCommit(true);
+
+        filter = new VehicleColumns.Filter(MIN_YEAR, MAX_YEAR, MIN_PRICE, MAX_PRICE, null, MAX_KM, null);
+        startKey = KeysetHeap.orderKey(ListingCursor.START.getListingDate(), ListingCursor.START.getListingId());
+        seek = connection.prepareStatement(SEEK_SQL);
+        count = connection.prepareStatement(COUNT_SQL);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    public void columnarFirstPageAndTotal(Blackhole blackhole) {
+        VehicleColumns.SeekResult result = columns.seek(filter, startKey, true, PAGE);
+        blackhole.consume(result.getListingIds());
+        blackhole.consume(result.getTotal());
+    }
+
+    @Benchmark
+    public void sqlFirstPage(Blackhole blackhole) throws SQLException {
+        blackhole.consume(runSeek());
+    }
+
+    @Benchmark
+    public void sqlFirstPageAndTotal(Blackhole blackhole) throws SQLException {
+        blackhole.consume(runSeek());
+        bindFilter(count, 1);
+        try (ResultSet rs = count.executeQuery()) {
+            rs.next();
+            blackhole.consume(rs.getLong(1));
+        }
+    }
+
+    private int[] runSeek() throws SQLException {
+        Date cursorDate = Date.valueOf(ListingCursor.START.getListingDate());
+        seek.setDate(1, cursorDate);
+        seek.setDate(2, cursorDate);
+        seek.setInt(3, ListingCursor.START.getListingId());
+        bindFilter(seek, 4);
+        int[] ids = new int[PAGE];
+        int n = 0;
+        try (ResultSet rs = seek.executeQuery()) {
+            while (rs.next()) {
+                ids[n++] = rs.getInt(1);
+            }
+        }
+        return ids;
+    }
+
+    // Binds the (? IS NULL OR column op ?) pairs starting at the given index
+    private static int bindFilter(PreparedStatement statement, int index) throws SQLException {
+        statement.setInt(index++, MIN_YEAR);
+        statement.setInt(index++, MIN_YEAR);
+        statement.setInt(index++, MAX_YEAR);
+        statement.setInt(index++, MAX_YEAR);
+        statement.setBigDecimal(index++, MIN_PRICE);
+        statement.setBigDecimal(index++, MIN_PRICE);
+        statement.setBigDecimal(index++, MAX_PRICE);
+        statement.setBigDecimal(index++, MAX_PRICE);
+        statement.setInt(index++, MAX_KM);
+        statement.setInt(index++, MAX_KM);
+        return index;
+    }
+}
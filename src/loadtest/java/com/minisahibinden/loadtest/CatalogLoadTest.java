@@ -0,0 +1,159 @@
+package com.minisahibinden.loadtest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.minisahibinden.MiniSahibindenApplication;
+
+/**
+ * Load test of the catalog pages: HomeController and ComplexQueryController endpoints against
+ * a synthetic catalog in H2 (MySQL mode), with the application started as in production
+ * (catalog replay, in-memory indexes, Tomcat on a random port).
+ *
+ * Only runs in the loadtest profile: mvn -Ploadtest test
+ * Settings (-D...): loadtest.listings (1000000), loadtest.users (10000), loadtest.concurrency (16),
+ * loadtest.warmup-seconds (15), loadtest.duration-seconds (60), loadtest.endpoints (comma-separated
+ * endpoint names, default all).
+ * Prints p50 / p99 latency and throughput per endpoint and writes them to
+ * target/loadtest-report.json.
+ */
+@Tag("loadtest")
+class CatalogLoadTest {
+
+    private static final String JDBC_URL =
+            "jdbc:h2:mem:loadtest;MODE=MySQL;DATABASE_TO_LOWER=FALSE;CASE_INSENSITIVE_IDENTIFIERS=TRUE;DB_CLOSE_DELAY=-1";
+
+    // Values present in data.sql, so the filtered pages aren't empty
+    private static final String[] KEYWORDS = {"Renault", "Fiat", "Volkswagen", "Ford", "Toyota", "BMW", "Hyundai"};
+    private static final String[] CITIES = {"Istanbul", "Bilecik", "Usak", "Hatay", "Samsun", "Bursa"};
+
+    @Test
+    void catalogEndpointsUnderLoad() throws Exception {
+        int listings = Integer.getInteger("loadtest.listings", 1_000_000);
+        int users = Integer.getInteger("loadtest.users", 10_000);
+        int concurrency = Integer.getInteger("loadtest.concurrency", 16);
+        Duration warmup = Duration.ofSeconds(Integer.getInteger("loadtest.warmup-seconds", 15));
+        Duration duration = Duration.ofSeconds(Integer.getInteger("loadtest.duration-seconds", 60));
+
+        long seedStart = System.nanoTime();
+        SyntheticCatalog.create(JDBC_URL, users, listings);
+        int[] vehicleIds = ids("SELECT listing_id FROM Vehicles");
+        int[] realEstateIds = ids("SELECT listing_id FROM RealEstate");
+        System.out.printf(Locale.ROOT, "Seeded %d vehicles and %d real estate listings in %.1f s%n",
+                vehicleIds.length, realEstateIds.length, (System.nanoTime() - seedStart) / 1e9);
+
+        // Command line arguments, so they override application.properties
+        try (ConfigurableApplicationContext app = new SpringApplicationBuilder(MiniSahibindenApplication.class).run(
+                "--server.port=0",
+                "--spring.datasource.url=" + JDBC_URL,
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                // The database is already built; SQL logging would dominate the latencies
+                "--spring.sql.init.mode=never",
+                "--spring.jpa.show-sql=false")) {
+            int port = ((WebServerApplicationContext) app).getWebServer().getPort();
+            LoadDriver driver = new LoadDriver(URI.create("http://localhost:" + port), concurrency);
+            List<LoadDriver.Endpoint> endpoints = endpoints(vehicleIds, realEstateIds);
+            String only = System.getProperty("loadtest.endpoints", "");
+            if (!only.isBlank()) {
+                List<String> names = Arrays.asList(only.split("\\s*,\\s*"));
+                endpoints = endpoints.stream().filter(endpoint -> names.contains(endpoint.getName())).toList();
+            }
+
+            driver.run(endpoints, warmup);
+            List<LoadDriver.EndpointResult> results = driver.run(endpoints, duration);
+
+            print(results, concurrency, listings);
+            write(results, concurrency, listings, duration);
+            long errors = results.stream().mapToLong(LoadDriver.EndpointResult::getErrors).sum();
+            assertEquals(0, errors, "requests failed or answered 5xx");
+        }
+    }
+
+    private static List<LoadDriver.Endpoint> endpoints(int[] vehicleIds, int[] realEstateIds) {
+        return List.of(
+                new LoadDriver.Endpoint("home", r -> "/"),
+                new LoadDriver.Endpoint("home-vehicle-filter", r -> "/?minYear=" + (2000 + r.nextInt(15))
+                        + "&maxPrice=" + (500_000 + r.nextInt(20) * 100_000) + "&maxKm=150000"),
+                new LoadDriver.Endpoint("home-keyword", r -> "/?keyword=" + KEYWORDS[r.nextInt(KEYWORDS.length)]),
+                new LoadDriver.Endpoint("home-good-deal", r -> "/?goodDeal=true&goodDealPage=" + r.nextInt(5)),
+                new LoadDriver.Endpoint("home-realestate", r -> "/?tab=realestate&filterCity="
+                        + CITIES[r.nextInt(CITIES.length)]),
+                new LoadDriver.Endpoint("vehicle-detail", r -> "/vehicle/" + vehicleIds[r.nextInt(vehicleIds.length)]),
+                new LoadDriver.Endpoint("realestate-detail", r -> "/realestate/"
+                        + realEstateIds[r.nextInt(realEstateIds.length)]),
+                new LoadDriver.Endpoint("queries-active-users", r -> "/queries/active-users?minListingCount="
+                        + (2 + r.nextInt(5))),
+                new LoadDriver.Endpoint("queries-above-average", r -> "/queries/above-average"),
+                new LoadDriver.Endpoint("queries-price-user-filter", r -> "/queries/price-user-filter?minPrice="
+                        + (200_000 + r.nextInt(10) * 100_000) + "&maxPrice=3000000"),
+                new LoadDriver.Endpoint("queries-top-per-year", r -> "/queries/top-per-year?topN=" + (1 + r.nextInt(5))),
+                new LoadDriver.Endpoint("queries-complex-filter", r -> "/queries/complex-filter?minYear="
+                        + (2005 + r.nextInt(10)) + "&maxKilometers=120000&sortBy=price"));
+    }
+
+    private static int[] ids(String sql) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(JDBC_URL, "sa", "");
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(sql)) {
+            int[] ids = new int[1024];
+            int n = 0;
+            while (rs.next()) {
+                if (n == ids.length) {
+                    ids = Arrays.copyOf(ids, n * 2);
+                }
+                ids[n++] = rs.getInt(1);
+            }
+            return Arrays.copyOf(ids, n);
+        }
+    }
+
+    private static void print(List<LoadDriver.EndpointResult> results, int concurrency, int listings) {
+        System.out.printf(Locale.ROOT, "%nLoad test: %d listings, %d concurrent clients%n", listings, concurrency);
+        System.out.printf(Locale.ROOT, "%-28s %9s %7s %10s %10s %10s %10s%n",
+                "endpoint", "requests", "errors", "p50 ms", "p99 ms", "max ms", "req/s");
+        for (LoadDriver.EndpointResult result : results) {
+            System.out.printf(Locale.ROOT, "%-28s %9d %7d %10.2f %10.2f %10.2f %10.1f%n",
+                    result.getName(), result.getRequests(), result.getErrors(), result.getP50Ms(),
+                    result.getP99Ms(), result.getMaxMs(), result.getThroughput());
+        }
+    }
+
+    private static void write(List<LoadDriver.EndpointResult> results, int concurrency, int listings,
+                              Duration duration) throws IOException {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("listings", listings);
+        report.put("concurrency", concurrency);
+        report.put("durationSeconds", duration.toSeconds());
+        report.put("endpoints", results);
+        Path target = Path.of("target", "loadtest-report.json");
+        Files.createDirectories(target.getParent());
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(target.toFile(), report);
+        System.out.println("Report written to " + target.toAbsolutePath());
+    }
+}
@@ -0,0 +1,191 @@
+package com.minisahibinden.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+
+/**
+ * Closed-loop HTTP load: {@code concurrency} clients each send one request at a time, picking
+ * the endpoints round-robin from a random starting point, for a fixed duration. Latency is
+ * recorded per endpoint from send to the last byte of the body.
+ */
+class LoadDriver {
+
+    /**
+     * One endpoint under load. The path function gets a random source so each request can hit
+     * a different listing / filter value.
+     */
+    static class Endpoint {
+        private final String name;
+        private final Function<ThreadLocalRandom, String> path;
+
+        Endpoint(String name, Function<ThreadLocalRandom, String> path) {
+            this.name = name;
+            this.path = path;
+        }
+
+        String getName() { return name; }
+    }
+
+    /**
+     * Latency percentiles and throughput of one endpoint over a run.
+     */
+    static class EndpointResult {
+        private final String name;
+        private final long requests;
+        private final long errors;
+        private final double p50Ms;
+        private final double p99Ms;
+        private final double maxMs;
+        private final double throughput;
+
+        EndpointResult(String name, long[] latencyNanos, long errors, double seconds) {
+            Arrays.sort(latencyNanos);
+            this.name = name;
+            this.requests = latencyNanos.length;
+            this.errors = errors;
+            this.p50Ms = percentile(latencyNanos, 0.50);
+            this.p99Ms = percentile(latencyNanos, 0.99);
+            this.maxMs = latencyNanos.length > 0 ? latencyNanos[latencyNanos.length - 1] / 1e6 : 0;
+            this.throughput = latencyNanos.length / seconds;
+        }
+
+        public String getName() { return name; }
+        public long getRequests() { return requests; }
+        // Failed connections and 5xx responses (not included in the latencies)
+        public long getErrors() { return errors; }
+        public double getP50Ms() { return p50Ms; }
+        public double getP99Ms() { return p99Ms; }
+        public double getMaxMs() { return maxMs; }
+        // Requests per second
+        public double getThroughput() { return throughput; }
+
+        // Nearest-rank percentile in milliseconds
+        private static double percentile(long[] sorted, double p) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(p * sorted.length);
+            return sorted[Math.max(0, rank - 1)] / 1e6;
+        }
+    }
+
+    private final URI baseUri;
+    private final int concurrency;
+    private final HttpClient client;
+
+    LoadDriver(URI baseUri, int concurrency) {
+        this.baseUri = baseUri;
+        this.concurrency = concurrency;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+    }
+
+    List<EndpointResult> run(List<Endpoint> endpoints, Duration duration) throws InterruptedException {
+        long deadline = System.nanoTime() + duration.toNanos();
+        Client[] clients = new Client[concurrency];
+        CountDownLatch done = new CountDownLatch(concurrency);
+        long start = System.nanoTime();
+        for (int i = 0; i < concurrency; i++) {
+            clients[i] = new Client(endpoints, deadline, done);
+            Thread thread = new Thread(clients[i], "load-client-" + (i + 1));
+            thread.setDaemon(true);
+            thread.start();
+        }
+        done.await();
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        List<EndpointResult> results = new ArrayList<>(endpoints.size());
+        for (int e = 0; e < endpoints.size(); e++) {
+            int total = 0;
+            long errors = 0;
+            for (Client client : clients) {
+                total += client.latencies[e].size;
+                errors += client.errors[e];
+            }
+            long[] merged = new long[total];
+            int offset = 0;
+            for (Client client : clients) {
+                System.arraycopy(client.latencies[e].values, 0, merged, offset, client.latencies[e].size);
+                offset += client.latencies[e].size;
+            }
+            results.add(new EndpointResult(endpoints.get(e).getName(), merged, errors, seconds));
+        }
+        return results;
+    }
+
+    // One virtual user; its recordings are only read after it finished
+    private class Client implements Runnable {
+        private final List<Endpoint> endpoints;
+        private final long deadline;
+        private final CountDownLatch done;
+        private final LongList[] latencies;
+        private final long[] errors;
+
+        Client(List<Endpoint> endpoints, long deadline, CountDownLatch done) {
+            this.endpoints = endpoints;
+            this.deadline = deadline;
+            this.done = done;
+            this.latencies = new LongList[endpoints.size()];
+            for (int i = 0; i < latencies.length; i++) {
+                latencies[i] = new LongList();
+            }
+            this.errors = new long[endpoints.size()];
+        }
+
+        @Override
+        public void run() {
+            try {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                int next = random.nextInt(endpoints.size());
+                while (System.nanoTime() < deadline) {
+                    int e = next;
+                    next = (next + 1) % endpoints.size();
+                    HttpRequest request = HttpRequest.newBuilder(baseUri.resolve(endpoints.get(e).path.apply(random)))
+                            .timeout(Duration.ofSeconds(60))
+                            .GET()
+                            .build();
+                    long start = System.nanoTime();
+                    try {
+                        HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+                        if (response.statusCode() >= 500) {
+                            errors[e]++;
+                        } else {
+                            latencies[e].add(System.nanoTime() - start);
+                        }
+                    } catch (IOException ex) {
+                        errors[e]++;
+                    }
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            } finally {
+                done.countDown();
+            }
+        }
+    }
+
+    // Growable long[] (no boxing of the recorded latencies)
+    private static class LongList {
+        private long[] values = new long[1024];
+        private int size;
+
+        void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+    }
+}
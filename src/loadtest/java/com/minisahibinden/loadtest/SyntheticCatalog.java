@@ -0,0 +1,110 @@
+package com.minisahibinden.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.stream.Collectors;
+
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+
+/**
+ * Builds the load-test database in H2 (MySQL mode): the application's schema.sql and data.sql,
+ * then the sample catalog multiplied up to the requested size.
+ *
+ * Every synthetic listing copies one of the sample listings (model, year, city, room config...)
+ * with its price, date and kilometers / area shifted a little, so value distributions follow
+ * data.sql. Rows are generated set-based with INSERT ... SELECT over SYSTEM_RANGE, in chunks.
+ */
+class SyntheticCatalog {
+
+    private static final int CHUNK = 100_000;
+
+    private SyntheticCatalog() {}
+
+    /**
+     * Creates the schema and fills it with {@code users} users and {@code listings} listings
+     * (sample rows included), and returns the highest listing id.
+     */
+    static int create(String jdbcUrl, int users, int listings) throws SQLException, IOException {
+        try (Connection connection = DriverManager.getConnection(jdbcUrl, "sa", "")) {
+            runScript(connection, "schema.sql");
+            runScript(connection, "data.sql");
+
+            try (Statement statement = connection.createStatement()) {
+                int sampleUsers = count(statement, "SELECT COUNT(*) FROM Users");
+                int sampleListings = count(statement, "SELECT COUNT(*) FROM Listings");
+                int firstId = count(statement, "SELECT MAX(listing_id) FROM Listings") + 1;
+                int extraUsers = Math.max(0, users - sampleUsers);
+                int extraListings = Math.max(0, listings - sampleListings);
+
+                // Users named after the sample users, with unique emails
+                statement.executeUpdate("INSERT INTO Users (full_name, email, phone, password) " +
+                        "SELECT u.full_name, CONCAT('loadtest', r.X, '@example.com'), u.phone, CAST(r.X AS VARCHAR) " +
+                        "FROM SYSTEM_RANGE(1, " + extraUsers + ") r " +
+                        "JOIN Users u ON u.user_id = MOD(r.X - 1, " + sampleUsers + ") + 1");
+                int userCount = count(statement, "SELECT COUNT(*) FROM Users");
+
+                for (int from = 1; from <= extraListings; from += CHUNK) {
+                    int to = Math.min(extraListings, from + CHUNK - 1);
+                    copyListings(connection, firstId, from, to, sampleListings, userCount);
+                }
+                // Keep the id sequences ahead of the rows added here, so posting and signing up still work
+                statement.executeUpdate("UPDATE IdSequences SET next_val = (SELECT MAX(user_id) + 1 FROM Users) " +
+                        "WHERE name = 'Users'");
+                statement.executeUpdate("UPDATE IdSequences SET next_val = " + (firstId + extraListings) +
+                        " WHERE name = 'Listings'");
+                return firstId + extraListings - 1;
+            }
+        }
+    }
+
+    // Synthetic listings firstId + from - 1 .. firstId + to - 1, each a shifted copy of sample listing
+    // ((n - 1) mod samples) + 1; one in twenty is marked sold
+    private static void copyListings(Connection connection, int firstId, int from, int to, int samples,
+                                     int users) throws SQLException {
+        String range = "FROM SYSTEM_RANGE(" + from + ", " + to + ") r ";
+        String template = "MOD(r.X - 1, " + samples + ") + 1";
+        try (Statement statement = connection.createStatement()) {
+            statement.executeUpdate("INSERT INTO Listings (listing_id, user_id, price, listing_date, category, status) " +
+                    "SELECT " + (firstId - 1) + " + r.X, MOD(r.X * 7919, " + users + ") + 1, " +
+                    "CAST(l.price * (85 + MOD(r.X * 104729, 31)) / 100 AS DECIMAL(15, 2)), " +
+                    "DATEADD('DAY', -MOD(r.X * 31, 730), l.listing_date), l.category, " +
+                    "CASE WHEN MOD(r.X, 20) = 0 THEN 'Sold' ELSE 'Active' END " +
+                    range + "JOIN Listings l ON l.listing_id = " + template);
+            statement.executeUpdate("INSERT INTO Vehicles (listing_id, model_year, model_name, kilometers) " +
+                    "SELECT " + (firstId - 1) + " + r.X, v.model_year, v.model_name, " +
+                    "v.kilometers * (80 + MOD(r.X * 6151, 41)) / 100 " +
+                    range + "JOIN Vehicles v ON v.listing_id = " + template);
+            statement.executeUpdate("INSERT INTO RealEstate (listing_id, seller_type, area_sqm, room_config, city, " +
+                    "district, neighborhood) " +
+                    "SELECT " + (firstId - 1) + " + r.X, e.seller_type, e.area_sqm * (90 + MOD(r.X * 3571, 21)) / 100, " +
+                    "e.room_config, e.city, e.district, e.neighborhood " +
+                    range + "JOIN RealEstate e ON e.listing_id = " + template);
+        }
+    }
+
+    // Runs one of the application's scripts, without the MySQL-only database statements
+    private static void runScript(Connection connection, String name) throws IOException {
+        String script;
+        try (InputStream in = new ClassPathResource(name).getInputStream()) {
+            script = new String(in.readAllBytes(), StandardCharsets.UTF_8).lines()
+                    .filter(line -> !line.matches("(?i)\\s*(CREATE DATABASE|USE)\\b.*"))
+                    .collect(Collectors.joining("\n"));
+        }
+        ScriptUtils.executeSqlScript(connection, new ByteArrayResource(script.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static int count(Statement statement, String sql) throws SQLException {
+        try (ResultSet rs = statement.executeQuery(sql)) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+}
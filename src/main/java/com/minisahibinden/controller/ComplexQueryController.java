@@ -1,30 +1,82 @@
 package com.minisahibinden.controller;
 
+import java.io.IOException;
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.function.Function;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.util.UriComponentsBuilder;
 
 import com.minisahibinden.entity.Vehicle;
 import com.minisahibinden.repository.VehicleRepository;
+import com.minisahibinden.service.CatalogVersion;
+import com.minisahibinden.service.FacetMetadataService;
+import com.minisahibinden.service.ListingSearchService;
+import com.minisahibinden.service.ReportExportService;
+import com.minisahibinden.util.ReportExportWriter;
 
+/**
+ * Read-only report pages over the catalog. Every page answers a conditional GET with
+ * 304 Not Modified (no query, no rendering) while the catalog version is unchanged.
+ *
+ * The vehicle reports are read one page of PAGE_SIZE rows at a time, never past the first
+ * MAX_ROWS rows, and each statement runs under the repository's report timeout.
+ * The complex filter and top-per-year reports can also be exported in full, streamed as
+ * CSV or NDJSON, as can the vehicle detail feed (every active vehicle with its seller).
+ */
 @Controller
 @RequestMapping("/queries")
 public class ComplexQueryController {
 
+    static final int PAGE_SIZE = 24;
+    // Hard cap on the rows a report can be paged through
+    static final int MAX_ROWS = 1200;
+
     private final VehicleRepository vehicleRepository;
+    private final FacetMetadataService facetMetadataService;
+    private final CatalogVersion catalogVersion;
+    private final ReportExportService reportExportService;
+    private final ListingSearchService listingSearchService;
+    // Largest topN of the top-per-year report (the K of TopVehiclesPerYearIndex)
+    private final int maxTopN;
 
-    public ComplexQueryController(VehicleRepository vehicleRepository) {
+    public ComplexQueryController(VehicleRepository vehicleRepository, FacetMetadataService facetMetadataService,
+                                  CatalogVersion catalogVersion, ReportExportService reportExportService,
+                                  ListingSearchService listingSearchService,
+                                  @Value("${minisahibinden.top-per-year.max-n:10}") int maxTopN) {
         this.vehicleRepository = vehicleRepository;
+        this.facetMetadataService = facetMetadataService;
+        this.catalogVersion = catalogVersion;
+        this.reportExportService = reportExportService;
+        this.listingSearchService = listingSearchService;
+        this.maxTopN = maxTopN;
     }
 
     @GetMapping("")
-    public String queriesHome(Model model) {
-        List<Integer> years = vehicleRepository.getDistinctYears();
+    public String queriesHome(Model model, WebRequest webRequest) {
+        if (ConditionalGet.notModified(webRequest, catalogVersion.catalogETag(null), catalogVersion.lastModified())) {
+            return null;
+        }
+        List<Integer> years = facetMetadataService.getFacets().getYears();
         model.addAttribute("years", years);
         return "queries";
     }
@@ -35,10 +87,14 @@ public class ComplexQueryController {
     @GetMapping("/active-users")
     public String findVehiclesFromActiveUsers(
             @RequestParam(name = "minListingCount", defaultValue = "2") int minListingCount,
-            Model model) {
+            @RequestParam(name = "page", defaultValue = "0") int page,
+            Model model, WebRequest webRequest) {
+        if (ConditionalGet.notModified(webRequest, catalogVersion.catalogETag(null), catalogVersion.lastModified())) {
+            return null;
+        }
         
-        List<Vehicle> vehicles = vehicleRepository.findVehiclesFromActiveUsersSQL(minListingCount);
-        model.addAttribute("vehicles", vehicles);
+        addReportPage(model, webRequest, page,
+                pageable -> vehicleRepository.findVehiclesFromActiveUsersSQL(minListingCount, pageable));
         model.addAttribute("queryName", "Vehicles from Active Sellers");
         model.addAttribute("queryDescription", 
             "Shows vehicles from sellers who have posted at least " + minListingCount + " listings");
@@ -51,10 +107,14 @@ public class ComplexQueryController {
     // COMPLEX QUERY 2: Vehicles Above Average Price
     // ---------------------------------------------------------
     @GetMapping("/above-average")
-    public String findVehiclesAboveAveragePrice(Model model) {
+    public String findVehiclesAboveAveragePrice(
+            @RequestParam(name = "page", defaultValue = "0") int page,
+            Model model, WebRequest webRequest) {
+        if (ConditionalGet.notModified(webRequest, catalogVersion.catalogETag(null), catalogVersion.lastModified())) {
+            return null;
+        }
         
-        List<Vehicle> vehicles = vehicleRepository.findVehiclesAboveAveragePriceSQL();
-        model.addAttribute("vehicles", vehicles);
+        addReportPage(model, webRequest, page, vehicleRepository::findVehiclesAboveAveragePriceSQL);
         model.addAttribute("queryName", "Vehicles Above Average Price");
         model.addAttribute("queryDescription", 
             "Shows vehicles where the price is above the overall average price");
@@ -70,16 +130,23 @@ public class ComplexQueryController {
             @RequestParam(name = "minPrice", required = false) BigDecimal minPrice,
             @RequestParam(name = "maxPrice", required = false) BigDecimal maxPrice,
             @RequestParam(name = "userNamePattern", required = false) String userNamePattern,
-            Model model) {
+            @RequestParam(name = "page", defaultValue = "0") int page,
+            Model model, WebRequest webRequest) {
+        if (ConditionalGet.notModified(webRequest, catalogVersion.catalogETag(null), catalogVersion.lastModified())) {
+            return null;
+        }
         
         // Set default values if not provided
         if (minPrice == null) minPrice = BigDecimal.ZERO;
         if (maxPrice == null) maxPrice = new BigDecimal("10000000");
         if (userNamePattern == null || userNamePattern.isEmpty()) userNamePattern = "";
         
-        List<Vehicle> vehicles = vehicleRepository.findVehiclesByPriceAndUserSQL(minPrice, maxPrice, userNamePattern);
+        BigDecimal min = minPrice;
+        BigDecimal max = maxPrice;
+        String pattern = userNamePattern;
+        addReportPage(model, webRequest, page,
+                pageable -> vehicleRepository.findVehiclesByPriceAndUserSQL(min, max, pattern, pageable));
         
-        model.addAttribute("vehicles", vehicles);
         model.addAttribute("queryName", "Vehicles by Price Range and Seller");
         model.addAttribute("queryDescription", 
             "Shows vehicles within price range, posted by sellers matching name pattern");
@@ -96,14 +163,24 @@ public class ComplexQueryController {
     @GetMapping("/top-per-year")
     public String findTopVehiclesPerYear(
             @RequestParam(name = "topN", defaultValue = "3") int topN,
-            Model model) {
+            @RequestParam(name = "page", defaultValue = "0") int page,
+            Model model, WebRequest webRequest) {
+        if (ConditionalGet.notModified(webRequest, catalogVersion.catalogETag(null), catalogVersion.lastModified())) {
+            return null;
+        }
         
-        List<Vehicle> vehicles = vehicleRepository.findTopVehiclesPerYearSQL(topN);
-        model.addAttribute("vehicles", vehicles);
+        // Capped at the in-memory index's K; the page says so when the request asked for more
+        if (topN > maxTopN) {
+            model.addAttribute("requestedTopN", topN);
+        }
+        topN = Math.max(1, Math.min(topN, maxTopN));
+        int n = topN;
+        addReportPage(model, webRequest, page, pageable -> listingSearchService.topVehiclesPerYear(n, pageable));
         model.addAttribute("queryName", "Top " + topN + " Vehicles Per Year");
         model.addAttribute("queryDescription", 
             "Shows the top " + topN + " vehicles per model year ranked by price");
         model.addAttribute("topN", topN);
+        addExportUrls(model, webRequest);
         
         return "query-results";
     }
@@ -120,19 +197,25 @@ public class ComplexQueryController {
             @RequestParam(name = "maxKilometers", required = false) Integer maxKilometers,
             @RequestParam(name = "keyword", required = false) String keyword,
             @RequestParam(name = "sortBy", defaultValue = "price") String sortBy,
-            Model model) {
+            @RequestParam(name = "page", defaultValue = "0") int page,
+            Model model, WebRequest webRequest) {
+        if (ConditionalGet.notModified(webRequest, catalogVersion.catalogETag(null), catalogVersion.lastModified())) {
+            return null;
+        }
         
         // Set default values
         if (minPrice == null) minPrice = BigDecimal.ZERO;
         if (maxPrice == null) maxPrice = new BigDecimal("10000000");
         if (keyword == null) keyword = "";
         
-        List<Vehicle> vehicles = vehicleRepository.findVehiclesWithComplexFilterSQL(
-            minYear, maxYear, minPrice, maxPrice, maxKilometers, keyword, sortBy);
+        BigDecimal min = minPrice;
+        BigDecimal max = maxPrice;
+        String kw = keyword;
+        addReportPage(model, webRequest, page, pageable -> vehicleRepository.findVehiclesWithComplexFilterSQL(
+            minYear, maxYear, min, max, maxKilometers, kw, sortBy, pageable));
         
-        List<Integer> years = vehicleRepository.getDistinctYears();
+        List<Integer> years = facetMetadataService.getFacets().getYears();
         
-        model.addAttribute("vehicles", vehicles);
         model.addAttribute("years", years);
         model.addAttribute("queryName", "Complex Multi-Condition Filter");
         model.addAttribute("queryDescription", 
@@ -144,10 +227,140 @@ public class ComplexQueryController {
         model.addAttribute("maxKilometers", maxKilometers);
         model.addAttribute("keyword", keyword);
         model.addAttribute("sortBy", sortBy);
+        addExportUrls(model, webRequest);
         
         return "query-results";
     }
-}
 
+    // ---------------------------------------------------------
+    // EXPORTS: the full result of a report, streamed from the database cursor
+    // ---------------------------------------------------------
+    @GetMapping("/top-per-year/export")
+    public void exportTopVehiclesPerYear(
+            @RequestParam(name = "topN", defaultValue = "3") int topN,
+            @RequestParam(name = "format", defaultValue = "csv") String format,
+            WebRequest webRequest, HttpServletResponse response) throws IOException {
+        ReportExportWriter.Format exportFormat = exportFormat(format);
+        if (ConditionalGet.notModified(webRequest, catalogVersion.catalogETag(null), catalogVersion.lastModified())) {
+            return;
+        }
+
+        topN = Math.max(1, Math.min(topN, maxTopN));
+        startExport(response, "top-per-year", exportFormat);
+        reportExportService.exportTopPerYear(topN, exportFormat, response.getWriter());
+    }
 
+    @GetMapping("/complex-filter/export")
+    public void exportVehiclesWithComplexFilter(
+            @RequestParam(name = "minYear", required = false) Integer minYear,
+            @RequestParam(name = "maxYear", required = false) Integer maxYear,
+            @RequestParam(name = "minPrice", required = false) BigDecimal minPrice,
+            @RequestParam(name = "maxPrice", required = false) BigDecimal maxPrice,
+            @RequestParam(name = "maxKilometers", required = false) Integer maxKilometers,
+            @RequestParam(name = "keyword", required = false) String keyword,
+            @RequestParam(name = "sortBy", defaultValue = "price") String sortBy,
+            @RequestParam(name = "format", defaultValue = "csv") String format,
+            WebRequest webRequest, HttpServletResponse response) throws IOException {
+        ReportExportWriter.Format exportFormat = exportFormat(format);
+        if (ConditionalGet.notModified(webRequest, catalogVersion.catalogETag(null), catalogVersion.lastModified())) {
+            return;
+        }
 
+        // Same defaults as the report page
+        if (minPrice == null) minPrice = BigDecimal.ZERO;
+        if (maxPrice == null) maxPrice = new BigDecimal("10000000");
+        if (keyword == null) keyword = "";
+
+        startExport(response, "complex-filter", exportFormat);
+        reportExportService.exportComplexFilter(minYear, maxYear, minPrice, maxPrice, maxKilometers, keyword, sortBy,
+                exportFormat, response.getWriter());
+    }
+
+    @GetMapping("/vehicle-details/export")
+    public void exportVehicleDetails(
+            @RequestParam(name = "format", defaultValue = "ndjson") String format,
+            WebRequest webRequest, HttpServletResponse response) throws IOException {
+        ReportExportWriter.Format exportFormat = exportFormat(format);
+        if (ConditionalGet.notModified(webRequest, catalogVersion.catalogETag(null), catalogVersion.lastModified())) {
+            return;
+        }
+
+        startExport(response, "vehicle-details", exportFormat);
+        reportExportService.exportVehicleDetails(exportFormat, response.getWriter());
+    }
+
+    /**
+     * Runs one page of a report query and adds the paging attributes of query-results.html.
+     * Requests past MAX_ROWS get the last allowed page. A statement cancelled by the timeout
+     * renders an empty page with a notice instead of an error page.
+     */
+    private void addReportPage(Model model, WebRequest webRequest, int page,
+                               Function<Pageable, Slice<Vehicle>> query) {
+        int lastPage = MAX_ROWS / PAGE_SIZE - 1;
+        page = Math.max(0, Math.min(page, lastPage));
+        List<Vehicle> vehicles = List.of();
+        boolean more = false;
+        boolean timedOut = false;
+        try {
+            Slice<Vehicle> slice = query.apply(PageRequest.of(page, PAGE_SIZE));
+            vehicles = slice.getContent();
+            more = slice.hasNext();
+        } catch (QueryTimeoutException e) {
+            timedOut = true;
+            if (webRequest instanceof ServletWebRequest servletRequest && servletRequest.getResponse() != null) {
+                // Degraded page: don't let the client keep it and revalidate it with the ETag
+                servletRequest.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, "no-store");
+            }
+        }
+
+        model.addAttribute("vehicles", vehicles);
+        model.addAttribute("queryTimedOut", timedOut);
+        model.addAttribute("firstRow", page * PAGE_SIZE + 1);
+        model.addAttribute("rowCapReached", more && page == lastPage);
+        model.addAttribute("maxRows", MAX_ROWS);
+        model.addAttribute("previousPageUrl", page > 0 ? pageUrl(webRequest, page - 1) : null);
+        model.addAttribute("nextPageUrl", more && page < lastPage ? pageUrl(webRequest, page + 1) : null);
+    }
+
+    // Current report URL with the other query parameters kept and page replaced
+    private static String pageUrl(WebRequest webRequest, int page) {
+        return currentUrl(webRequest)
+                .replaceQueryParam("page", page)
+                .build(true)
+                .toUriString();
+    }
+
+    // Export links of a report page: its parameters without the page, one link per format
+    private static void addExportUrls(Model model, WebRequest webRequest) {
+        for (ReportExportWriter.Format format : ReportExportWriter.Format.values()) {
+            model.addAttribute(format.getExtension() + "ExportUrl", currentUrl(webRequest)
+                    .path("/export")
+                    .replaceQueryParam("page")
+                    .replaceQueryParam("format", format.getExtension())
+                    .build(true)
+                    .toUriString());
+        }
+    }
+
+    private static UriComponentsBuilder currentUrl(WebRequest webRequest) {
+        HttpServletRequest request = ((ServletWebRequest) webRequest).getRequest();
+        return UriComponentsBuilder.fromPath(request.getRequestURI()).query(request.getQueryString());
+    }
+
+    private static ReportExportWriter.Format exportFormat(String name) {
+        ReportExportWriter.Format format = ReportExportWriter.Format.of(name);
+        if (format == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown export format: " + name);
+        }
+        return format;
+    }
+
+    private static void startExport(HttpServletResponse response, String report, ReportExportWriter.Format format) {
+        response.setContentType(format.getContentType());
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename(report + "." + format.getExtension())
+                .build()
+                .toString());
+    }
+}
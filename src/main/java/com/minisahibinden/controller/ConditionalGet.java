@@ -0,0 +1,26 @@
+package com.minisahibinden.controller;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * Conditional GET handling shared by the page controllers.
+ */
+final class ConditionalGet {
+
+    private ConditionalGet() {}
+
+    /**
+     * Sets the validators on the response and returns true when the client's copy is still current,
+     * in which case the handler returns null and Spring answers 304 without rendering.
+     * "no-cache" makes browsers revalidate on every use instead of guessing a freshness lifetime
+     * from Last-Modified.
+     */
+    static boolean notModified(WebRequest webRequest, String etag, long lastModified) {
+        if (webRequest instanceof ServletWebRequest servletRequest && servletRequest.getResponse() != null) {
+            servletRequest.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+        }
+        return webRequest.checkNotModified(etag, lastModified);
+    }
+}
@@ -1,25 +1,32 @@
 package com.minisahibinden.controller;
 
 import java.math.BigDecimal;
-import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Random;
 
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.bind.annotation.SessionAttribute;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
-
-import com.minisahibinden.entity.Listing;
+import org.springframework.web.servlet.support.RequestContextUtils;
+
+import com.minisahibinden.dto.FacetMetadataDTO;
+import com.minisahibinden.dto.ListingCardDTO;
+import com.minisahibinden.dto.ListingWindow;
+import com.minisahibinden.dto.RealEstateFacetCountsDTO;
+import com.minisahibinden.dto.RealEstateSearchCriteria;
+import com.minisahibinden.dto.VehicleSearchCriteria;
 import com.minisahibinden.entity.RealEstate;
 import com.minisahibinden.entity.User;
 import com.minisahibinden.entity.Vehicle;
@@ -28,19 +35,31 @@ import com.minisahibinden.repository.ListingRepository;
 import com.minisahibinden.repository.RealEstateRepository;
 import com.minisahibinden.repository.UserRepository;
 import com.minisahibinden.repository.VehicleRepository;
-
+import com.minisahibinden.service.CatalogService;
+import com.minisahibinden.service.CatalogVersion;
+import com.minisahibinden.service.FacetMetadataService;
+import com.minisahibinden.service.HomePageAssembler;
+import com.minisahibinden.service.ListingSearchService;
+import com.minisahibinden.service.RealEstateBitmapIndex;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.servlet.http.HttpSession;
 
 @Controller
 public class HomeController {
 
-    private static final int PAGE_SIZE = 12; // Show 12 items per page for better performance
-
     private final VehicleRepository vehicleRepository;
     private final RealEstateRepository realEstateRepository;
     private final ListingRepository listingRepository;
     private final UserRepository userRepository;
     private final FavoriteRepository favoriteRepository;
+    private final CatalogService catalogService;
+    private final FacetMetadataService facetMetadataService;
+    private final HomePageAssembler homePageAssembler;
+    private final ListingSearchService listingSearchService;
+    private final RealEstateBitmapIndex realEstateBitmapIndex;
+    private final CatalogVersion catalogVersion;
 
     // All 81 cities of Turkey
     private static final List<String> TURKEY_CITIES = Arrays.asList(
@@ -56,160 +75,183 @@ public class HomeController {
 
     public HomeController(VehicleRepository vehicleRepository, RealEstateRepository realEstateRepository,
                          ListingRepository listingRepository, UserRepository userRepository,
-                         FavoriteRepository favoriteRepository) {
+                         FavoriteRepository favoriteRepository, CatalogService catalogService,
+                         FacetMetadataService facetMetadataService, HomePageAssembler homePageAssembler,
+                         ListingSearchService listingSearchService, RealEstateBitmapIndex realEstateBitmapIndex,
+                         CatalogVersion catalogVersion) {
         this.vehicleRepository = vehicleRepository;
         this.realEstateRepository = realEstateRepository;
         this.listingRepository = listingRepository;
         this.userRepository = userRepository;
         this.favoriteRepository = favoriteRepository;
+        this.catalogService = catalogService;
+        this.facetMetadataService = facetMetadataService;
+        this.homePageAssembler = homePageAssembler;
+        this.listingSearchService = listingSearchService;
+        this.realEstateBitmapIndex = realEstateBitmapIndex;
+        this.catalogVersion = catalogVersion;
     }
 
     @GetMapping("/")
     public String home(Model model,
-                       @RequestParam(name = "keyword", required = false) String keyword,
-                       @RequestParam(name = "year", required = false) Integer year,
-                       @RequestParam(name = "city", required = false) String city,
-                       @RequestParam(name = "roomConfig", required = false) String roomConfig,
-                       @RequestParam(name = "vehiclePage", defaultValue = "0") int vehiclePage,
-                       @RequestParam(name = "realestatePage", defaultValue = "0") int realestatePage,
-                       @RequestParam(name = "tab", required = false) String tab,
-                       // "Good deal" mode (vehicles)
-                       @RequestParam(name = "goodDeal", required = false, defaultValue = "false") boolean goodDeal,
-                       @RequestParam(name = "goodDealPage", defaultValue = "0") int goodDealPage,
-                       // Vehicle filter parameters
-                       @RequestParam(name = "minYear", required = false) Integer minYear,
-                       @RequestParam(name = "maxYear", required = false) Integer maxYear,
-                       @RequestParam(name = "minPrice", required = false) BigDecimal minPrice,
-                       @RequestParam(name = "maxPrice", required = false) BigDecimal maxPrice,
-                       @RequestParam(name = "minKm", required = false) Integer minKm,
-                       @RequestParam(name = "maxKm", required = false) Integer maxKm,
-                       @RequestParam(name = "modelName", required = false) String modelName,
-                       // Real Estate filter parameters
-                       @RequestParam(name = "filterCity", required = false) String filterCity,
-                       @RequestParam(name = "filterRoomConfig", required = false) String filterRoomConfig,
-                       @RequestParam(name = "filterSellerType", required = false) String filterSellerType,
-                       @RequestParam(name = "minPriceRe", required = false) BigDecimal minPriceRe,
-                       @RequestParam(name = "maxPriceRe", required = false) BigDecimal maxPriceRe,
-                       @RequestParam(name = "minArea", required = false) Integer minArea,
-                       @RequestParam(name = "maxArea", required = false) Integer maxArea,
-                       // "Good deal" mode (real estate)
-                       @RequestParam(name = "goodDealRe", required = false, defaultValue = "false") boolean goodDealRe,
-                       @RequestParam(name = "goodDealRePage", defaultValue = "0") int goodDealRePage) {
-
-        Pageable vehiclePageable = PageRequest.of(vehiclePage, PAGE_SIZE);
-        Pageable goodDealPageable = PageRequest.of(goodDealPage, PAGE_SIZE);
-        Pageable realestatePageable = PageRequest.of(realestatePage, PAGE_SIZE);
-        Pageable goodDealRePageable = PageRequest.of(goodDealRePage, PAGE_SIZE);
-
-        // Vehicle filters
-        List<Integer> years = vehicleRepository.getDistinctYears();
-        Page<Vehicle> vehiclesPage;
-
-        // Check if any advanced filter is applied
-        boolean hasAdvancedFilter = minYear != null || maxYear != null || 
-                                    minPrice != null || maxPrice != null || 
-                                    minKm != null || maxKm != null ||
-                                    (modelName != null && !modelName.isEmpty());
-
-        // "Good deal" mode should also show the "Filters applied" badge
-        if (goodDeal && !"realestate".equals(tab)) {
-            vehiclesPage = vehicleRepository.findGoodDealVehiclesPaged(goodDealPageable);
-            hasAdvancedFilter = true;
-        } else if (hasAdvancedFilter) {
-            // Use advanced filter with all parameters
-            vehiclesPage = vehicleRepository.filterVehiclesPaged(
-                    minYear, maxYear, minPrice, maxPrice, minKm, maxKm, modelName, vehiclePageable);
-        } else if (keyword != null && !keyword.isEmpty() && !"realestate".equals(tab)) {
-            vehiclesPage = vehicleRepository.searchByModelNamePaged(keyword, vehiclePageable);
-        } else if (year != null) {
-            vehiclesPage = vehicleRepository.filterByYearPaged(year, vehiclePageable);
-        } else {
-            vehiclesPage = vehicleRepository.findAllActivePaged(vehiclePageable);
+                       @ModelAttribute("vehicleSearch") VehicleSearchCriteria vehicleSearch,
+                       @ModelAttribute("realEstateSearch") RealEstateSearchCriteria realEstateSearch,
+                       @SessionAttribute(name = "loggedInUserId", required = false) Integer userId,
+                       WebRequest webRequest, HttpServletRequest request, HttpServletResponse response) {
+
+        // Same catalog version and same user as the client's copy: 304 without querying or
+        // rendering. ETag only, since a date can't tell a login apart. Pages carrying a one-time
+        // flash message are always rendered.
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+        Map<String, ?> flash = RequestContextUtils.getInputFlashMap(request);
+        if ((flash == null || flash.isEmpty()) && webRequest.checkNotModified(catalogVersion.catalogETag(userId))) {
+            return null;
         }
 
-        // Get filter ranges for the UI
-        Object[] filterRanges = vehicleRepository.getFilterRanges();
-        if (filterRanges != null && filterRanges.length > 0) {
-            Object[] ranges = (Object[]) filterRanges[0];
-            model.addAttribute("yearMin", ranges[0]);
-            model.addAttribute("yearMax", ranges[1]);
-            model.addAttribute("priceMin", ranges[2]);
-            model.addAttribute("priceMax", ranges[3]);
-            model.addAttribute("kmMin", ranges[4]);
-            model.addAttribute("kmMax", ranges[5]);
+        // Determine active tab
+        String activeTab = "vehicles";
+        if ("realestate".equals(realEstateSearch.getTab()) || realEstateSearch.getCity() != null
+                || realEstateSearch.getRoomConfig() != null
+                || realEstateSearch.hasAdvancedFilter() || realEstateSearch.isGoodDealMode()) {
+            activeTab = "realestate";
         }
-
-        // Get distinct model names for filter
-        List<String> modelNames = vehicleRepository.getDistinctModelNames();
-        model.addAttribute("modelNames", modelNames);
-
-        // RealEstate filters
-        List<String> cities = realEstateRepository.getDistinctCitiesFromDb();
-        List<String> roomConfigs = realEstateRepository.getDistinctRoomConfigs();
-        List<String> sellerTypes = realEstateRepository.getDistinctSellerTypes();
-        Page<RealEstate> realEstatesPage;
-
-        // Check if any real estate advanced filter is applied
-        boolean hasReAdvancedFilter = (filterCity != null && !filterCity.isEmpty()) ||
-                                      (filterRoomConfig != null && !filterRoomConfig.isEmpty()) ||
-                                      (filterSellerType != null && !filterSellerType.isEmpty()) ||
-                                      minPriceRe != null || maxPriceRe != null ||
-                                      minArea != null || maxArea != null;
-
-        if (goodDealRe && "realestate".equals(tab)) {
-            realEstatesPage = realEstateRepository.findGoodDealRealEstatePaged(goodDealRePageable);
-            hasReAdvancedFilter = true;
-        } else if (hasReAdvancedFilter) {
-            // Use advanced filter with all parameters
-            realEstatesPage = realEstateRepository.filterRealEstatePaged(
-                    filterCity, filterRoomConfig, filterSellerType,
-                    minPriceRe, maxPriceRe, minArea, maxArea, realestatePageable);
-        } else if (keyword != null && !keyword.isEmpty() && "realestate".equals(tab)) {
-            realEstatesPage = realEstateRepository.searchByLocationPaged(keyword, realestatePageable);
-        } else if (city != null && !city.isEmpty()) {
-            realEstatesPage = realEstateRepository.findByCityPaged(city, realestatePageable);
-        } else if (roomConfig != null && !roomConfig.isEmpty()) {
-            realEstatesPage = realEstateRepository.findByRoomConfigPaged(roomConfig, realestatePageable);
+        boolean vehiclesActive = "vehicles".equals(activeTab);
+
+        // Only the visible tab is queried; the other one is fetched from
+        // /fragments/... when the user opens it. The remaining branches don't depend
+        // on each other, so they are assembled concurrently in parallel mode.
+        HomePageAssembler.Assembly assembly = homePageAssembler.begin();
+
+        // Filter metadata (dropdown values, ranges) comes from memory
+        HomePageAssembler.Branch<FacetMetadataDTO> facetsBranch = assembly.fork("facets",
+                facetMetadataService::getFacets, FacetMetadataDTO::empty);
+        HomePageAssembler.Branch<ListingWindow<Vehicle>> vehiclesBranch = vehiclesActive
+                ? assembly.fork("vehicles", () -> listingSearchService.searchVehicles(vehicleSearch),
+                        () -> listingSearchService.emptyVehiclePage(vehicleSearch))
+                : null;
+        HomePageAssembler.Branch<ListingWindow<RealEstate>> realEstatesBranch = vehiclesActive
+                ? null
+                : assembly.fork("realestate", () -> listingSearchService.searchRealEstate(realEstateSearch),
+                        () -> listingSearchService.emptyRealEstatePage(realEstateSearch));
+
+        FacetMetadataDTO facets = assembly.join(facetsBranch);
+        if (vehiclesActive) {
+            ListingWindow<Vehicle> vehicles = assembly.join(vehiclesBranch);
+            addVehicleTabAttributes(model, facets, vehicleSearch, vehicles, vehiclesBranch.isTimedOut());
+            // Keyset pages of a filtered grid aren't counted; the badge then shows the catalog total
+            model.addAttribute("vehicleCount", vehicles.getTotalElements() >= 0
+                    ? vehicles.getTotalElements() : facets.getVehicleCount());
+            model.addAttribute("realEstateCount", facets.getRealEstateCount());
         } else {
-            realEstatesPage = realEstateRepository.findAllActivePaged(realestatePageable);
+            ListingWindow<RealEstate> realEstates = assembly.join(realEstatesBranch);
+            addRealEstateTabAttributes(model, facets, realEstateSearch, realEstates, realEstatesBranch.isTimedOut());
+            model.addAttribute("vehicleCount", facets.getVehicleCount());
+            // Keyset pages of a filtered grid aren't counted; the badge then shows the catalog total
+            model.addAttribute("realEstateCount", realEstates.getTotalElements() >= 0
+                    ? realEstates.getTotalElements() : facets.getRealEstateCount());
+        }
+        response.setHeader("Server-Timing", assembly.serverTiming());
+        boolean timedOut = facetsBranch.isTimedOut() || (vehiclesActive ? vehiclesBranch : realEstatesBranch).isTimedOut();
+        if (timedOut) {
+            // Degraded page: don't let the client keep it and revalidate it with the ETag
+            response.setHeader(HttpHeaders.CACHE_CONTROL, "no-store");
         }
 
-        // Get real estate filter ranges for the UI
-        Object[] reFilterRanges = realEstateRepository.getRealEstateFilterRanges();
-        if (reFilterRanges != null && reFilterRanges.length > 0) {
-            Object[] reRanges = (Object[]) reFilterRanges[0];
-            model.addAttribute("rePriceMin", reRanges[0]);
-            model.addAttribute("rePriceMax", reRanges[1]);
-            model.addAttribute("areaMin", reRanges[2]);
-            model.addAttribute("areaMax", reRanges[3]);
+        model.addAttribute("activeTab", activeTab);
+        return "home";
+    }
+
+    // Vehicle tab body, loaded on demand when the tab isn't the one rendered with the page
+    @GetMapping("/fragments/vehicles")
+    public String vehiclesFragment(Model model,
+                                   @ModelAttribute("vehicleSearch") VehicleSearchCriteria vehicleSearch,
+                                   @SessionAttribute(name = "loggedInUserId", required = false) Integer userId,
+                                   WebRequest webRequest, HttpServletResponse response) {
+        // The favorite buttons depend on the logged-in user, so validated like the home page
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+        if (webRequest.checkNotModified(catalogVersion.catalogETag(userId))) {
+            return null;
         }
+        ListingWindow<Vehicle> vehicles = listingSearchService.searchVehicles(vehicleSearch);
+        addVehicleTabAttributes(model, facetMetadataService.getFacets(), vehicleSearch, vehicles, false);
+        return "fragments/vehicles-tab :: vehiclesTab";
+    }
 
-        // Determine active tab
-        String activeTab = "vehicles";
-        if ("realestate".equals(tab) || city != null || roomConfig != null || hasReAdvancedFilter) {
-            activeTab = "realestate";
+    // Real estate tab body, loaded on demand when the tab isn't the one rendered with the page
+    @GetMapping("/fragments/realestate")
+    public String realEstateFragment(Model model,
+                                     @ModelAttribute("realEstateSearch") RealEstateSearchCriteria realEstateSearch,
+                                     @SessionAttribute(name = "loggedInUserId", required = false) Integer userId,
+                                     WebRequest webRequest, HttpServletResponse response) {
+        // The favorite buttons depend on the logged-in user, so validated like the home page
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+        if (webRequest.checkNotModified(catalogVersion.catalogETag(userId))) {
+            return null;
         }
+        ListingWindow<RealEstate> realEstates = listingSearchService.searchRealEstate(realEstateSearch);
+        addRealEstateTabAttributes(model, facetMetadataService.getFacets(), realEstateSearch, realEstates, false);
+        return "fragments/realestate-tab :: realEstateTab";
+    }
 
-        // Add to model
-        model.addAttribute("years", years);
-        model.addAttribute("vehicles", vehiclesPage.getContent());
-        model.addAttribute("vehiclesPage", vehiclesPage);
-        model.addAttribute("cities", cities);
-        model.addAttribute("roomConfigs", roomConfigs);
-        model.addAttribute("sellerTypes", sellerTypes);
-        model.addAttribute("realEstates", realEstatesPage.getContent());
-        model.addAttribute("realEstatesPage", realEstatesPage);
-        model.addAttribute("activeTab", activeTab);
-        model.addAttribute("hasAdvancedFilter", hasAdvancedFilter);
-        model.addAttribute("hasReAdvancedFilter", hasReAdvancedFilter);
-        model.addAttribute("goodDeal", goodDeal);
-        model.addAttribute("goodDealRe", goodDealRe);
+    private void addVehicleTabAttributes(Model model, FacetMetadataDTO facets, VehicleSearchCriteria search,
+                                         ListingWindow<Vehicle> vehicles, boolean timedOut) {
+        // Filter ranges for the UI
+        model.addAttribute("years", facets.getYears());
+        model.addAttribute("yearMin", facets.getYearMin());
+        model.addAttribute("yearMax", facets.getYearMax());
+        model.addAttribute("priceMin", facets.getPriceMin());
+        model.addAttribute("priceMax", facets.getPriceMax());
+        model.addAttribute("kmMin", facets.getKmMin());
+        model.addAttribute("kmMax", facets.getKmMax());
+        model.addAttribute("modelNames", facets.getModelNames());
+
+        model.addAttribute("vehicles", vehicles.getContent());
+        // Numbered navigation uses vehiclesPage (null in keyset mode), Newer / Older uses vehicleWindow
+        model.addAttribute("vehiclesPage", vehicles.getPage());
+        model.addAttribute("vehicleWindow", vehicles);
+        // "Good deal" mode should also show the "Filters applied" badge
+        model.addAttribute("hasAdvancedFilter", search.hasAdvancedFilter() || search.isGoodDealMode());
+        model.addAttribute("goodDeal", search.isGoodDealMode());
+        model.addAttribute("vehiclePage", search.getVehiclePage());
+        model.addAttribute("goodDealPage", search.getGoodDealPage());
+        model.addAttribute("vehiclesTimedOut", timedOut);
+    }
 
-        return "home";
+    private void addRealEstateTabAttributes(Model model, FacetMetadataDTO facets, RealEstateSearchCriteria search,
+                                            ListingWindow<RealEstate> realEstates, boolean timedOut) {
+        // Filter values and ranges for the UI
+        model.addAttribute("cities", facets.getCities());
+        model.addAttribute("roomConfigs", facets.getRoomConfigs());
+        model.addAttribute("sellerTypes", facets.getSellerTypes());
+        model.addAttribute("rePriceMin", facets.getRePriceMin());
+        model.addAttribute("rePriceMax", facets.getRePriceMax());
+        model.addAttribute("areaMin", facets.getAreaMin());
+        model.addAttribute("areaMax", facets.getAreaMax());
+        // Result count next to each dropdown option, from the bitmap index once it is loaded
+        model.addAttribute("reFacetCounts", realEstateBitmapIndex.isReady()
+                ? realEstateBitmapIndex.facetCounts(search.getFilterCity(), search.getFilterRoomConfig(),
+                        search.getFilterSellerType(), search.getMinPriceRe(), search.getMaxPriceRe(),
+                        search.getMinArea(), search.getMaxArea())
+                : RealEstateFacetCountsDTO.empty());
+
+        model.addAttribute("realEstates", realEstates.getContent());
+        // Numbered navigation uses realEstatesPage (null in keyset mode), Newer / Older uses realEstateWindow
+        model.addAttribute("realEstatesPage", realEstates.getPage());
+        model.addAttribute("realEstateWindow", realEstates);
+        // "Good deal" mode should also show the "Filters applied" badge
+        model.addAttribute("hasReAdvancedFilter", search.hasAdvancedFilter() || search.isGoodDealMode());
+        model.addAttribute("goodDealRe", search.isGoodDealMode());
+        model.addAttribute("realestatePage", search.getRealestatePage());
+        model.addAttribute("goodDealRePage", search.getGoodDealRePage());
+        model.addAttribute("realEstatesTimedOut", timedOut);
     }
 
     @GetMapping("/vehicle/{id}")
-    public String vehicleDetail(@PathVariable Integer id, Model model) {
+    public String vehicleDetail(@PathVariable Integer id, Model model, WebRequest webRequest) {
+        // The page only changes when this listing is written
+        if (ConditionalGet.notModified(webRequest, catalogVersion.listingETag(id), catalogVersion.lastModified(id))) {
+            return null;
+        }
         Vehicle vehicle = vehicleRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Invalid vehicle Id:" + id));
         model.addAttribute("vehicle", vehicle);
@@ -217,7 +259,11 @@ public class HomeController {
     }
 
     @GetMapping("/realestate/{id}")
-    public String realEstateDetail(@PathVariable Integer id, Model model) {
+    public String realEstateDetail(@PathVariable Integer id, Model model, WebRequest webRequest) {
+        // The page only changes when this listing is written
+        if (ConditionalGet.notModified(webRequest, catalogVersion.listingETag(id), catalogVersion.lastModified(id))) {
+            return null;
+        }
         RealEstate realEstate = realEstateRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Invalid real estate Id:" + id));
         model.addAttribute("realEstate", realEstate);
@@ -246,12 +292,7 @@ public class HomeController {
             redirectAttributes.addFlashAttribute("error", "You must be logged in to post an ad.");
             return "redirect:/login";
         }
-        // Create listing
-        Listing listing = new Listing(user, price, LocalDate.now(), Listing.Category.Vehicle);
-        listing = listingRepository.save(listing);
-        // Create vehicle
-        Vehicle vehicle = new Vehicle(listing, modelYear, modelName, kilometers);
-        vehicleRepository.save(vehicle);
+        catalogService.postVehicle(user, modelName, modelYear, price, kilometers);
         redirectAttributes.addFlashAttribute("success", "Vehicle ad posted successfully!");
         return "redirect:/post";
     }
@@ -271,13 +312,8 @@ public class HomeController {
             redirectAttributes.addFlashAttribute("error", "You must be logged in to post an ad.");
             return "redirect:/login";
         }
-        // Create listing
-        Listing listing = new Listing(user, price, LocalDate.now(), Listing.Category.RealEstate);
-        listing = listingRepository.save(listing);
-        // Create real estate
-        RealEstate realEstate = new RealEstate(listing, sellerType, areaSqm, roomConfig,
-                city, district, neighborhood != null ? neighborhood : "Unknown");
-        realEstateRepository.save(realEstate);
+        catalogService.postRealEstate(user, city, district, neighborhood != null ? neighborhood : "Unknown",
+                areaSqm, roomConfig, price, sellerType);
         redirectAttributes.addFlashAttribute("success", "Real estate ad posted successfully!");
         return "redirect:/post";
     }
@@ -293,7 +329,7 @@ public class HomeController {
 
         // Fetch ads belonging to the logged-in user
         try {
-            List<Listing> userAds = listingRepository.findByUserId(user.getUserId());
+            List<ListingCardDTO> userAds = listingRepository.findCardsByUserId(user.getUserId());
             model.addAttribute("myAds", userAds);
         } catch (Exception e) {
             redirectAttributes.addFlashAttribute("error", "An error occurred while fetching your ads.");
@@ -311,8 +347,7 @@ public class HomeController {
             return "redirect:/login";
         }
 
-        int updated = listingRepository.softDeleteByIdAndUserId(id, currentUser.getUserId());
-        if (updated == 1) {
+        if (catalogService.deleteListing(id, currentUser.getUserId())) {
             redirectAttributes.addFlashAttribute("success", "Ad deleted successfully.");
         } else {
             // either listing doesn't exist or it's not owned by this user (or already deleted)
@@ -367,7 +402,7 @@ public class HomeController {
             return "redirect:/login";
         }
 
-        model.addAttribute("favorites", favoriteRepository.findFavoriteListingsByUserId(user.getUserId()));
+        model.addAttribute("favorites", favoriteRepository.findFavoriteCardsByUserId(user.getUserId()));
         return "my-favorites";
     }
 
@@ -0,0 +1,29 @@
+package com.minisahibinden.controller;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.minisahibinden.service.ListingSearchService;
+import com.minisahibinden.util.VersionedLruCache;
+
+/**
+ * Internal metrics for operators, only mapped with the "ops" profile active
+ * (e.g. {@code --spring.profiles.active=ops}).
+ */
+@RestController
+@Profile("ops")
+public class OpsController {
+
+    private final ListingSearchService listingSearchService;
+
+    public OpsController(ListingSearchService listingSearchService) {
+        this.listingSearchService = listingSearchService;
+    }
+
+    // Hit ratio and size of the search result cache (JSON)
+    @GetMapping("/search-cache/stats")
+    public VersionedLruCache.Stats searchCacheStats() {
+        return listingSearchService.cacheStats();
+    }
+}
@@ -7,6 +7,8 @@ import java.math.BigDecimal;
  */
 public class CityStatisticsDTO {
     private String city;
+    // Null in per-city rows (all room configs together)
+    private String roomConfig;
     private Long listingCount;
     private BigDecimal avgPrice;
     private BigDecimal minPrice;
@@ -29,6 +31,9 @@ public class CityStatisticsDTO {
     public String getCity() { return city; }
     public void setCity(String city) { this.city = city; }
     
+    public String getRoomConfig() { return roomConfig; }
+    public void setRoomConfig(String roomConfig) { this.roomConfig = roomConfig; }
+
     public Long getListingCount() { return listingCount; }
     public void setListingCount(Long listingCount) { this.listingCount = listingCount; }
     
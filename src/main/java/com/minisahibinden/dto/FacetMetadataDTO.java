@@ -0,0 +1,82 @@
+package com.minisahibinden.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Filter metadata shown on the home page (dropdown values and min/max ranges).
+ * Instances are immutable snapshots and may be shared between requests.
+ */
+public class FacetMetadataDTO {
+    // Vehicles
+    private final List<Integer> years;
+    private final Integer yearMin;
+    private final Integer yearMax;
+    private final BigDecimal priceMin;
+    private final BigDecimal priceMax;
+    private final Integer kmMin;
+    private final Integer kmMax;
+    private final List<String> modelNames;
+    private final long vehicleCount;
+
+    // Real estate
+    private final List<String> cities;
+    private final List<String> roomConfigs;
+    private final List<String> sellerTypes;
+    private final BigDecimal rePriceMin;
+    private final BigDecimal rePriceMax;
+    private final Integer areaMin;
+    private final Integer areaMax;
+    private final long realEstateCount;
+
+    public FacetMetadataDTO(List<Integer> years, Integer yearMin, Integer yearMax,
+                            BigDecimal priceMin, BigDecimal priceMax, Integer kmMin, Integer kmMax,
+                            List<String> modelNames, long vehicleCount,
+                            List<String> cities, List<String> roomConfigs, List<String> sellerTypes,
+                            BigDecimal rePriceMin, BigDecimal rePriceMax, Integer areaMin, Integer areaMax,
+                            long realEstateCount) {
+        this.years = List.copyOf(years);
+        this.yearMin = yearMin;
+        this.yearMax = yearMax;
+        this.priceMin = priceMin;
+        this.priceMax = priceMax;
+        this.kmMin = kmMin;
+        this.kmMax = kmMax;
+        this.modelNames = List.copyOf(modelNames);
+        this.vehicleCount = vehicleCount;
+        this.cities = List.copyOf(cities);
+        this.roomConfigs = List.copyOf(roomConfigs);
+        this.sellerTypes = List.copyOf(sellerTypes);
+        this.rePriceMin = rePriceMin;
+        this.rePriceMax = rePriceMax;
+        this.areaMin = areaMin;
+        this.areaMax = areaMax;
+        this.realEstateCount = realEstateCount;
+    }
+
+    // No values at all (used when the metadata can't be loaded in time)
+    public static FacetMetadataDTO empty() {
+        return new FacetMetadataDTO(List.of(), null, null, null, null, null, null, List.of(), 0,
+                List.of(), List.of(), List.of(), null, null, null, null, 0);
+    }
+
+    // Getters
+    public List<Integer> getYears() { return years; }
+    public Integer getYearMin() { return yearMin; }
+    public Integer getYearMax() { return yearMax; }
+    public BigDecimal getPriceMin() { return priceMin; }
+    public BigDecimal getPriceMax() { return priceMax; }
+    public Integer getKmMin() { return kmMin; }
+    public Integer getKmMax() { return kmMax; }
+    public List<String> getModelNames() { return modelNames; }
+    public long getVehicleCount() { return vehicleCount; }
+
+    public List<String> getCities() { return cities; }
+    public List<String> getRoomConfigs() { return roomConfigs; }
+    public List<String> getSellerTypes() { return sellerTypes; }
+    public BigDecimal getRePriceMin() { return rePriceMin; }
+    public BigDecimal getRePriceMax() { return rePriceMax; }
+    public Integer getAreaMin() { return areaMin; }
+    public Integer getAreaMax() { return areaMax; }
+    public long getRealEstateCount() { return realEstateCount; }
+}
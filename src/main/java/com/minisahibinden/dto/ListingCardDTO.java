@@ -0,0 +1,80 @@
+package com.minisahibinden.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import com.minisahibinden.entity.Listing;
+
+/**
+ * One row of the "My Ads" / "My Favorites" tables. Loaded with a single JPQL constructor
+ * query (listing LEFT JOIN vehicle / real estate), so a list of cards costs one statement
+ * instead of one per listing for the mapped-by OneToOne sides.
+ */
+public class ListingCardDTO {
+    private Integer listingId;
+    private BigDecimal price;
+    private LocalDate listingDate;
+    private Listing.Category category;
+    private Listing.Status status;
+    // Vehicle columns (null for real estate)
+    private Integer modelYear;
+    private String modelName;
+    // Real estate columns (null for vehicles)
+    private String city;
+    private String district;
+
+    public ListingCardDTO() {}
+
+    public ListingCardDTO(Integer listingId, BigDecimal price, LocalDate listingDate,
+                          Listing.Category category, Listing.Status status,
+                          Integer modelYear, String modelName, String city, String district) {
+        this.listingId = listingId;
+        this.price = price;
+        this.listingDate = listingDate;
+        this.category = category;
+        this.status = status;
+        this.modelYear = modelYear;
+        this.modelName = modelName;
+        this.city = city;
+        this.district = district;
+    }
+
+    // Same title as Listing.getDisplayTitle()
+    public String getDisplayTitle() {
+        if (category == Listing.Category.Vehicle && modelName != null) {
+            return modelYear + " " + modelName;
+        }
+        if (category == Listing.Category.RealEstate && city != null) {
+            return city + ", " + district;
+        }
+        return "Listing #" + listingId;
+    }
+
+    // Getters and Setters
+    public Integer getListingId() { return listingId; }
+    public void setListingId(Integer listingId) { this.listingId = listingId; }
+
+    public BigDecimal getPrice() { return price; }
+    public void setPrice(BigDecimal price) { this.price = price; }
+
+    public LocalDate getListingDate() { return listingDate; }
+    public void setListingDate(LocalDate listingDate) { this.listingDate = listingDate; }
+
+    public Listing.Category getCategory() { return category; }
+    public void setCategory(Listing.Category category) { this.category = category; }
+
+    public Listing.Status getStatus() { return status; }
+    public void setStatus(Listing.Status status) { this.status = status; }
+
+    public Integer getModelYear() { return modelYear; }
+    public void setModelYear(Integer modelYear) { this.modelYear = modelYear; }
+
+    public String getModelName() { return modelName; }
+    public void setModelName(String modelName) { this.modelName = modelName; }
+
+    public String getCity() { return city; }
+    public void setCity(String city) { this.city = city; }
+
+    public String getDistrict() { return district; }
+    public void setDistrict(String district) { this.district = district; }
+}
@@ -0,0 +1,49 @@
+package com.minisahibinden.dto;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Keyset pagination position in the (listing_date DESC, listing_id DESC) order of the grids.
+ * Travels in URLs as "yyyy-MM-dd_listingId", e.g. "2025-05-15_1234".
+ */
+public class ListingCursor {
+
+    // Sorts before every real listing, i.e. "start from the newest"
+    public static final ListingCursor START = new ListingCursor(LocalDate.of(9999, 12, 31), Integer.MAX_VALUE);
+
+    private final LocalDate listingDate;
+    private final Integer listingId;
+
+    public ListingCursor(LocalDate listingDate, Integer listingId) {
+        this.listingDate = listingDate;
+        this.listingId = listingId;
+    }
+
+    /**
+     * Returns null for a missing or malformed cursor (treated as "first page").
+     */
+    public static ListingCursor parse(String value) {
+        if (value == null || value.isEmpty()) {
+            return null;
+        }
+        int separator = value.indexOf('_');
+        if (separator < 0) {
+            return null;
+        }
+        try {
+            return new ListingCursor(LocalDate.parse(value.substring(0, separator)),
+                    Integer.valueOf(value.substring(separator + 1)));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            return null;
+        }
+    }
+
+    public LocalDate getListingDate() { return listingDate; }
+    public Integer getListingId() { return listingId; }
+
+    @Override
+    public String toString() {
+        return listingDate + "_" + listingId;
+    }
+}
@@ -0,0 +1,53 @@
+package com.minisahibinden.dto;
+
+import java.util.List;
+
+import org.springframework.data.domain.Page;
+
+/**
+ * One screen of a listing grid. Either an offset page (numbered navigation, used by the
+ * price-ordered modes) or a keyset window with newer/older cursors (newest-first modes).
+ */
+public class ListingWindow<T> {
+    private final List<T> content;
+    private final Page<T> page;
+    private final String previousCursor;
+    private final String nextCursor;
+    private final long totalElements;
+
+    private ListingWindow(List<T> content, Page<T> page, String previousCursor, String nextCursor,
+                          long totalElements) {
+        this.content = content;
+        this.page = page;
+        this.previousCursor = previousCursor;
+        this.nextCursor = nextCursor;
+        this.totalElements = totalElements;
+    }
+
+    public static <T> ListingWindow<T> ofPage(Page<T> page) {
+        return new ListingWindow<>(page.getContent(), page, null, null, page.getTotalElements());
+    }
+
+    // totalElements is -1 when the total isn't known without a COUNT query
+    public static <T> ListingWindow<T> ofKeyset(List<T> content, ListingCursor previousCursor,
+                                                ListingCursor nextCursor, long totalElements) {
+        return new ListingWindow<>(content, null,
+                previousCursor != null ? previousCursor.toString() : null,
+                nextCursor != null ? nextCursor.toString() : null,
+                totalElements);
+    }
+
+    public List<T> getContent() { return content; }
+
+    // Null in keyset mode
+    public Page<T> getPage() { return page; }
+
+    public boolean isKeyset() { return page == null; }
+
+    public String getPreviousCursor() { return previousCursor; }
+    public String getNextCursor() { return nextCursor; }
+    public boolean isHasPrevious() { return previousCursor != null; }
+    public boolean isHasNext() { return nextCursor != null; }
+
+    public long getTotalElements() { return totalElements; }
+}
@@ -0,0 +1,31 @@
+package com.minisahibinden.dto;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Result counts per dropdown option of the real estate filter (city / room config / seller type).
+ * Keys are case-insensitive. Options missing from a map have no count to show.
+ */
+public class RealEstateFacetCountsDTO {
+    private final Map<String, Long> cityCounts;
+    private final Map<String, Long> roomConfigCounts;
+    private final Map<String, Long> sellerTypeCounts;
+
+    public RealEstateFacetCountsDTO(Map<String, Long> cityCounts, Map<String, Long> roomConfigCounts,
+                                    Map<String, Long> sellerTypeCounts) {
+        this.cityCounts = cityCounts;
+        this.roomConfigCounts = roomConfigCounts;
+        this.sellerTypeCounts = sellerTypeCounts;
+    }
+
+    // No counts (before the bitmap index is loaded)
+    public static RealEstateFacetCountsDTO empty() {
+        return new RealEstateFacetCountsDTO(new TreeMap<>(), new TreeMap<>(), new TreeMap<>());
+    }
+
+    // Getters
+    public Map<String, Long> getCityCounts() { return cityCounts; }
+    public Map<String, Long> getRoomConfigCounts() { return roomConfigCounts; }
+    public Map<String, Long> getSellerTypeCounts() { return sellerTypeCounts; }
+}
@@ -0,0 +1,99 @@
+package com.minisahibinden.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Real estate grid search parameters, bound from the home page query string
+ */
+public class RealEstateSearchCriteria {
+    private String tab;
+    private String keyword;
+    // Quick filters
+    private String city;
+    private String roomConfig;
+    // "Good deal" mode
+    private Boolean goodDealRe = false;
+    private Integer goodDealRePage = 0;
+    private Integer realestatePage = 0;
+    // Keyset cursors ("date_id") for the newest-first grid; set by the Newer / Older links
+    private String realestateAfter;
+    private String realestateBefore;
+    // Advanced filter
+    private String filterCity;
+    private String filterRoomConfig;
+    private String filterSellerType;
+    private BigDecimal minPriceRe;
+    private BigDecimal maxPriceRe;
+    private Integer minArea;
+    private Integer maxArea;
+
+    public RealEstateSearchCriteria() {}
+
+    // Check if any real estate advanced filter is applied
+    public boolean hasAdvancedFilter() {
+        return (filterCity != null && !filterCity.isEmpty()) ||
+               (filterRoomConfig != null && !filterRoomConfig.isEmpty()) ||
+               (filterSellerType != null && !filterSellerType.isEmpty()) ||
+               minPriceRe != null || maxPriceRe != null ||
+               minArea != null || maxArea != null;
+    }
+
+    // Good deal mode only applies while the real estate tab is the target
+    public boolean isGoodDealMode() {
+        return goodDealRe && "realestate".equals(tab);
+    }
+
+    // Header search box targets real estate only when that tab is selected
+    public boolean hasKeywordSearch() {
+        return keyword != null && !keyword.isEmpty() && "realestate".equals(tab);
+    }
+
+    // Getters and Setters (empty query parameters bind as null and fall back to defaults)
+    public String getTab() { return tab; }
+    public void setTab(String tab) { this.tab = tab; }
+
+    public String getKeyword() { return keyword; }
+    public void setKeyword(String keyword) { this.keyword = keyword; }
+
+    public String getCity() { return city; }
+    public void setCity(String city) { this.city = city; }
+
+    public String getRoomConfig() { return roomConfig; }
+    public void setRoomConfig(String roomConfig) { this.roomConfig = roomConfig; }
+
+    public Boolean getGoodDealRe() { return goodDealRe; }
+    public void setGoodDealRe(Boolean goodDealRe) { this.goodDealRe = goodDealRe != null && goodDealRe; }
+
+    public Integer getGoodDealRePage() { return goodDealRePage; }
+    public void setGoodDealRePage(Integer goodDealRePage) { this.goodDealRePage = goodDealRePage == null ? 0 : Math.max(0, goodDealRePage); }
+
+    public Integer getRealestatePage() { return realestatePage; }
+    public void setRealestatePage(Integer realestatePage) { this.realestatePage = realestatePage == null ? 0 : Math.max(0, realestatePage); }
+
+    public String getRealestateAfter() { return realestateAfter; }
+    public void setRealestateAfter(String realestateAfter) { this.realestateAfter = realestateAfter; }
+
+    public String getRealestateBefore() { return realestateBefore; }
+    public void setRealestateBefore(String realestateBefore) { this.realestateBefore = realestateBefore; }
+
+    public String getFilterCity() { return filterCity; }
+    public void setFilterCity(String filterCity) { this.filterCity = filterCity; }
+
+    public String getFilterRoomConfig() { return filterRoomConfig; }
+    public void setFilterRoomConfig(String filterRoomConfig) { this.filterRoomConfig = filterRoomConfig; }
+
+    public String getFilterSellerType() { return filterSellerType; }
+    public void setFilterSellerType(String filterSellerType) { this.filterSellerType = filterSellerType; }
+
+    public BigDecimal getMinPriceRe() { return minPriceRe; }
+    public void setMinPriceRe(BigDecimal minPriceRe) { this.minPriceRe = minPriceRe; }
+
+    public BigDecimal getMaxPriceRe() { return maxPriceRe; }
+    public void setMaxPriceRe(BigDecimal maxPriceRe) { this.maxPriceRe = maxPriceRe; }
+
+    public Integer getMinArea() { return minArea; }
+    public void setMinArea(Integer minArea) { this.minArea = minArea; }
+
+    public Integer getMaxArea() { return maxArea; }
+    public void setMaxArea(Integer maxArea) { this.maxArea = maxArea; }
+}
@@ -0,0 +1,71 @@
+package com.minisahibinden.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import com.minisahibinden.entity.Listing;
+
+/**
+ * Flat real estate listing row (no entity graph) used to build and maintain
+ * the in-memory catalog structures
+ */
+public class RealEstateSummaryDTO {
+    private Integer listingId;
+    private Integer userId;
+    private BigDecimal price;
+    private LocalDate listingDate;
+    private Listing.Status status;
+    private String sellerType;
+    private Integer areaSqm;
+    private String roomConfig;
+    private String city;
+    private String district;
+
+    public RealEstateSummaryDTO() {}
+
+    public RealEstateSummaryDTO(Integer listingId, Integer userId, BigDecimal price, LocalDate listingDate,
+                                Listing.Status status, String sellerType, Integer areaSqm, String roomConfig,
+                                String city, String district) {
+        this.listingId = listingId;
+        this.userId = userId;
+        this.price = price;
+        this.listingDate = listingDate;
+        this.status = status;
+        this.sellerType = sellerType;
+        this.areaSqm = areaSqm;
+        this.roomConfig = roomConfig;
+        this.city = city;
+        this.district = district;
+    }
+
+    // Getters and Setters
+    public Integer getListingId() { return listingId; }
+    public void setListingId(Integer listingId) { this.listingId = listingId; }
+
+    public Integer getUserId() { return userId; }
+    public void setUserId(Integer userId) { this.userId = userId; }
+
+    public BigDecimal getPrice() { return price; }
+    public void setPrice(BigDecimal price) { this.price = price; }
+
+    public LocalDate getListingDate() { return listingDate; }
+    public void setListingDate(LocalDate listingDate) { this.listingDate = listingDate; }
+
+    public Listing.Status getStatus() { return status; }
+    public void setStatus(Listing.Status status) { this.status = status; }
+
+    public String getSellerType() { return sellerType; }
+    public void setSellerType(String sellerType) { this.sellerType = sellerType; }
+
+    public Integer getAreaSqm() { return areaSqm; }
+    public void setAreaSqm(Integer areaSqm) { this.areaSqm = areaSqm; }
+
+    public String getRoomConfig() { return roomConfig; }
+    public void setRoomConfig(String roomConfig) { this.roomConfig = roomConfig; }
+
+    public String getCity() { return city; }
+    public void setCity(String city) { this.city = city; }
+
+    public String getDistrict() { return district; }
+    public void setDistrict(String district) { this.district = district; }
+}
@@ -0,0 +1,93 @@
+package com.minisahibinden.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Vehicle grid search parameters, bound from the home page query string
+ */
+public class VehicleSearchCriteria {
+    private String tab;
+    private String keyword;
+    private Integer year;
+    // "Good deal" mode
+    private Boolean goodDeal = false;
+    private Integer goodDealPage = 0;
+    private Integer vehiclePage = 0;
+    // Keyset cursors ("date_id") for the newest-first grid; set by the Newer / Older links
+    private String vehicleAfter;
+    private String vehicleBefore;
+    // Advanced filter
+    private Integer minYear;
+    private Integer maxYear;
+    private BigDecimal minPrice;
+    private BigDecimal maxPrice;
+    private Integer minKm;
+    private Integer maxKm;
+    private String modelName;
+
+    public VehicleSearchCriteria() {}
+
+    // Check if any advanced filter is applied
+    public boolean hasAdvancedFilter() {
+        return minYear != null || maxYear != null ||
+               minPrice != null || maxPrice != null ||
+               minKm != null || maxKm != null ||
+               (modelName != null && !modelName.isEmpty());
+    }
+
+    // Good deal mode only applies while the vehicle tab is the target
+    public boolean isGoodDealMode() {
+        return goodDeal && !"realestate".equals(tab);
+    }
+
+    // Header search box targets vehicles unless the real estate tab is selected
+    public boolean hasKeywordSearch() {
+        return keyword != null && !keyword.isEmpty() && !"realestate".equals(tab);
+    }
+
+    // Getters and Setters (empty query parameters bind as null and fall back to defaults)
+    public String getTab() { return tab; }
+    public void setTab(String tab) { this.tab = tab; }
+
+    public String getKeyword() { return keyword; }
+    public void setKeyword(String keyword) { this.keyword = keyword; }
+
+    public Integer getYear() { return year; }
+    public void setYear(Integer year) { this.year = year; }
+
+    public Boolean getGoodDeal() { return goodDeal; }
+    public void setGoodDeal(Boolean goodDeal) { this.goodDeal = goodDeal != null && goodDeal; }
+
+    public Integer getGoodDealPage() { return goodDealPage; }
+    public void setGoodDealPage(Integer goodDealPage) { this.goodDealPage = goodDealPage == null ? 0 : Math.max(0, goodDealPage); }
+
+    public Integer getVehiclePage() { return vehiclePage; }
+    public void setVehiclePage(Integer vehiclePage) { this.vehiclePage = vehiclePage == null ? 0 : Math.max(0, vehiclePage); }
+
+    public String getVehicleAfter() { return vehicleAfter; }
+    public void setVehicleAfter(String vehicleAfter) { this.vehicleAfter = vehicleAfter; }
+
+    public String getVehicleBefore() { return vehicleBefore; }
+    public void setVehicleBefore(String vehicleBefore) { this.vehicleBefore = vehicleBefore; }
+
+    public Integer getMinYear() { return minYear; }
+    public void setMinYear(Integer minYear) { this.minYear = minYear; }
+
+    public Integer getMaxYear() { return maxYear; }
+    public void setMaxYear(Integer maxYear) { this.maxYear = maxYear; }
+
+    public BigDecimal getMinPrice() { return minPrice; }
+    public void setMinPrice(BigDecimal minPrice) { this.minPrice = minPrice; }
+
+    public BigDecimal getMaxPrice() { return maxPrice; }
+    public void setMaxPrice(BigDecimal maxPrice) { this.maxPrice = maxPrice; }
+
+    public Integer getMinKm() { return minKm; }
+    public void setMinKm(Integer minKm) { this.minKm = minKm; }
+
+    public Integer getMaxKm() { return maxKm; }
+    public void setMaxKm(Integer maxKm) { this.maxKm = maxKm; }
+
+    public String getModelName() { return modelName; }
+    public void setModelName(String modelName) { this.modelName = modelName; }
+}
@@ -0,0 +1,60 @@
+package com.minisahibinden.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import com.minisahibinden.entity.Listing;
+
+/**
+ * Flat vehicle listing row (no entity graph) used to build and maintain
+ * the in-memory catalog structures
+ */
+public class VehicleSummaryDTO {
+    private Integer listingId;
+    private Integer userId;
+    private BigDecimal price;
+    private LocalDate listingDate;
+    private Listing.Status status;
+    private Integer modelYear;
+    private String modelName;
+    private Integer kilometers;
+
+    public VehicleSummaryDTO() {}
+
+    public VehicleSummaryDTO(Integer listingId, Integer userId, BigDecimal price, LocalDate listingDate,
+                             Listing.Status status, Integer modelYear, String modelName, Integer kilometers) {
+        this.listingId = listingId;
+        this.userId = userId;
+        this.price = price;
+        this.listingDate = listingDate;
+        this.status = status;
+        this.modelYear = modelYear;
+        this.modelName = modelName;
+        this.kilometers = kilometers;
+    }
+
+    // Getters and Setters
+    public Integer getListingId() { return listingId; }
+    public void setListingId(Integer listingId) { this.listingId = listingId; }
+
+    public Integer getUserId() { return userId; }
+    public void setUserId(Integer userId) { this.userId = userId; }
+
+    public BigDecimal getPrice() { return price; }
+    public void setPrice(BigDecimal price) { this.price = price; }
+
+    public LocalDate getListingDate() { return listingDate; }
+    public void setListingDate(LocalDate listingDate) { this.listingDate = listingDate; }
+
+    public Listing.Status getStatus() { return status; }
+    public void setStatus(Listing.Status status) { this.status = status; }
+
+    public Integer getModelYear() { return modelYear; }
+    public void setModelYear(Integer modelYear) { this.modelYear = modelYear; }
+
+    public String getModelName() { return modelName; }
+    public void setModelName(String modelName) { this.modelName = modelName; }
+
+    public Integer getKilometers() { return kilometers; }
+    public void setKilometers(Integer kilometers) { this.kilometers = kilometers; }
+}
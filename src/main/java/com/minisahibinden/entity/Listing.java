@@ -19,6 +19,7 @@ import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.OneToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
 
 @Entity
 @Table(name = "Listings")
@@ -33,7 +34,10 @@ public class Listing {
     }
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Blocks of 50 ids from IdSequences instead of IDENTITY, so Hibernate can batch the inserts
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "listing_ids")
+    @TableGenerator(name = "listing_ids", table = "IdSequences", pkColumnName = "name", valueColumnName = "next_val",
+            pkColumnValue = "Listings", allocationSize = 50)
     @Column(name = "listing_id")
     private Integer listingId;
 
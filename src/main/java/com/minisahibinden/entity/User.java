@@ -12,13 +12,17 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
 
 @Entity
 @Table(name = "Users")
 public class User {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Blocks of 50 ids from IdSequences instead of IDENTITY, so Hibernate can batch the inserts
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "user_ids")
+    @TableGenerator(name = "user_ids", table = "IdSequences", pkColumnName = "name", valueColumnName = "next_val",
+            pkColumnValue = "Users", allocationSize = 50)
     @Column(name = "user_id")
     private Integer userId;
 
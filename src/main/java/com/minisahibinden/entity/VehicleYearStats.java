@@ -0,0 +1,39 @@
+package com.minisahibinden.entity;
+
+import java.math.BigDecimal;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * Running price sum and count of the ACTIVE vehicles per model year.
+ * Maintained by VehicleYearStatsService; average = priceSum / activeCount.
+ */
+@Entity
+@Table(name = "VehicleYearStats")
+public class VehicleYearStats {
+
+    @Id
+    @Column(name = "model_year")
+    private Integer modelYear;
+
+    @Column(name = "price_sum", nullable = false, precision = 20, scale = 2)
+    private BigDecimal priceSum;
+
+    @Column(name = "active_count", nullable = false)
+    private Long activeCount;
+
+    public VehicleYearStats() {}
+
+    // Getters and Setters
+    public Integer getModelYear() { return modelYear; }
+    public void setModelYear(Integer modelYear) { this.modelYear = modelYear; }
+
+    public BigDecimal getPriceSum() { return priceSum; }
+    public void setPriceSum(BigDecimal priceSum) { this.priceSum = priceSum; }
+
+    public Long getActiveCount() { return activeCount; }
+    public void setActiveCount(Long activeCount) { this.activeCount = activeCount; }
+}
@@ -9,16 +9,13 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.minisahibinden.dto.ListingCardDTO;
 import com.minisahibinden.entity.Favorite;
 import com.minisahibinden.entity.Favorite.FavoriteId;
 
 @Repository
 public interface FavoriteRepository extends JpaRepository<Favorite, FavoriteId> {
 
-    // Find favorites by user 
-    @Query(value = "SELECT * FROM Favorites WHERE user_id = :userId ORDER BY added_at DESC", nativeQuery = true)
-    List<Favorite> findByUserId(@Param("userId") Integer userId);
-
     // Check if the Listing is already added to favorites
     @Query(value = "SELECT COUNT(*) FROM Favorites WHERE user_id = :userId AND listing_id = :listingId", nativeQuery = true)
     int existsFavorite(@Param("userId") Integer userId, @Param("listingId") Integer listingId);
@@ -33,11 +30,14 @@ public interface FavoriteRepository extends JpaRepository<Favorite, FavoriteId>
     @Query(value = "DELETE FROM Favorites WHERE user_id = :userId AND listing_id = :listingId", nativeQuery = true)
     int removeFavorite(@Param("userId") Integer userId, @Param("listingId") Integer listingId);
 
-    @Query(value = """
-            SELECT l.* FROM Listings l
-            INNER JOIN Favorites f ON f.listing_id = l.listing_id
-            WHERE f.user_id = :userId AND l.status <> 'Deleted'
-            ORDER BY f.added_at DESC
-            """, nativeQuery = true)
-    List<com.minisahibinden.entity.Listing> findFavoriteListingsByUserId(@Param("userId") Integer userId);
+    // "My Favorites" rows in one statement (no per-listing select for the vehicle / real estate side)
+    @Query("SELECT new com.minisahibinden.dto.ListingCardDTO(l.listingId, l.price, l.listingDate, l.category, l.status, " +
+            "v.modelYear, v.modelName, r.city, r.district) " +
+            "FROM Favorite f " +
+            "JOIN f.listing l " +
+            "LEFT JOIN l.vehicle v " +
+            "LEFT JOIN l.realEstate r " +
+            "WHERE f.id.userId = :userId AND l.status <> 'Deleted' " +
+            "ORDER BY f.addedAt DESC")
+    List<ListingCardDTO> findFavoriteCardsByUserId(@Param("userId") Integer userId);
 }
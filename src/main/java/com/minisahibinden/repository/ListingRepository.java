@@ -9,6 +9,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.minisahibinden.dto.ListingCardDTO;
 import com.minisahibinden.entity.Listing;
 
 @Repository
@@ -18,9 +19,15 @@ public interface ListingRepository extends JpaRepository<Listing, Integer> {
     @Query(value = "SELECT * FROM Listings WHERE status = 'Active' ORDER BY listing_date DESC", nativeQuery = true)
     List<Listing> findAllActive();
 
-    // Find listings by user (excluding deleted)
-    @Query(value = "SELECT * FROM Listings WHERE user_id = :userId AND status <> 'Deleted' ORDER BY listing_date DESC", nativeQuery = true)
-    List<Listing> findByUserId(@Param("userId") Integer userId);
+    // "My Ads" rows in one statement (no per-listing select for the vehicle / real estate side)
+    @Query("SELECT new com.minisahibinden.dto.ListingCardDTO(l.listingId, l.price, l.listingDate, l.category, l.status, " +
+            "v.modelYear, v.modelName, r.city, r.district) " +
+            "FROM Listing l " +
+            "LEFT JOIN l.vehicle v " +
+            "LEFT JOIN l.realEstate r " +
+            "WHERE l.user.userId = :userId AND l.status <> 'Deleted' " +
+            "ORDER BY l.listingDate DESC")
+    List<ListingCardDTO> findCardsByUserId(@Param("userId") Integer userId);
 
     // Count by category
     @Query(value = "SELECT COUNT(*) FROM Listings WHERE category = :category AND status = 'Active'", nativeQuery = true)
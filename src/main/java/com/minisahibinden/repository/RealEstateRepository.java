@@ -1,7 +1,9 @@
 package com.minisahibinden.repository;
 
 import java.util.List;
+import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -9,19 +11,18 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.minisahibinden.dto.RealEstateSummaryDTO;
 import com.minisahibinden.entity.RealEstate;
 
 @Repository
 public interface RealEstateRepository extends JpaRepository<RealEstate, Integer> {
 
-    // Get all real estate with listing info (active only) - with pagination
-    @Query(value = "SELECT r FROM RealEstate r " +
-            "JOIN r.listing l " +
-            "JOIN l.user " +
-            "WHERE l.status = 'Active' " +
-            "ORDER BY l.listingDate DESC",
-            countQuery = "SELECT COUNT(r) FROM RealEstate r JOIN r.listing l WHERE l.status = 'Active'")
-    Page<RealEstate> findAllActivePaged(Pageable pageable);
+    // Page of real estate by listing id (ids come from the in-memory per-city price sets)
+    @Query("SELECT r FROM RealEstate r " +
+            "JOIN FETCH r.listing l " +
+            "JOIN FETCH l.user " +
+            "WHERE l.status = 'Active' AND r.listingId IN :listingIds")
+    List<RealEstate> findActiveByListingIds(@Param("listingIds") java.util.Collection<Integer> listingIds);
 
     // Filter by city - with pagination
     @Query(value = "SELECT r FROM RealEstate r " +
@@ -74,14 +75,17 @@ public interface RealEstateRepository extends JpaRepository<RealEstate, Integer>
     long countActive();
 
     // =====================================================
-    // FILTER QUERIES WITH PAGINATION
+    // KEYSET (SEEK) PAGINATION - newest first by (listingDate, listingId)
+    // No OFFSET and no COUNT: every page is an index range scan from the cursor.
+    // Filters are optional (NULL = not applied), so the same queries serve the plain grid.
     // =====================================================
 
-    // Advanced filter with pagination - supports all filter combinations
-    @Query(value = "SELECT r FROM RealEstate r " +
+    // Next page: rows after the cursor in (listingDate DESC, listingId DESC) order
+    @Query("SELECT r FROM RealEstate r " +
             "JOIN r.listing l " +
             "JOIN l.user " +
-            "WHERE l.status = 'Active' " +
+            "WHERE l.category = 'RealEstate' AND l.status = 'Active' " +
+            "AND (l.listingDate < :cursorDate OR (l.listingDate = :cursorDate AND l.listingId < :cursorId)) " +
             "AND (:filterCity IS NULL OR :filterCity = '' OR r.city = :filterCity) " +
             "AND (:filterRoomConfig IS NULL OR :filterRoomConfig = '' OR r.roomConfig = :filterRoomConfig) " +
             "AND (:filterSellerType IS NULL OR :filterSellerType = '' OR r.sellerType = :filterSellerType) " +
@@ -89,17 +93,10 @@ public interface RealEstateRepository extends JpaRepository<RealEstate, Integer>
             "AND (:maxPriceRe IS NULL OR l.price <= :maxPriceRe) " +
             "AND (:minArea IS NULL OR r.areaSqm >= :minArea) " +
             "AND (:maxArea IS NULL OR r.areaSqm <= :maxArea) " +
-            "ORDER BY l.listingDate DESC",
-            countQuery = "SELECT COUNT(r) FROM RealEstate r JOIN r.listing l " +
-                    "WHERE l.status = 'Active' " +
-                    "AND (:filterCity IS NULL OR :filterCity = '' OR r.city = :filterCity) " +
-                    "AND (:filterRoomConfig IS NULL OR :filterRoomConfig = '' OR r.roomConfig = :filterRoomConfig) " +
-                    "AND (:filterSellerType IS NULL OR :filterSellerType = '' OR r.sellerType = :filterSellerType) " +
-                    "AND (:minPriceRe IS NULL OR l.price >= :minPriceRe) " +
-                    "AND (:maxPriceRe IS NULL OR l.price <= :maxPriceRe) " +
-                    "AND (:minArea IS NULL OR r.areaSqm >= :minArea) " +
-                    "AND (:maxArea IS NULL OR r.areaSqm <= :maxArea)")
-    Page<RealEstate> filterRealEstatePaged(
+            "ORDER BY l.listingDate DESC, l.listingId DESC")
+    List<RealEstate> findActiveOlderThan(
+            @Param("cursorDate") java.time.LocalDate cursorDate,
+            @Param("cursorId") Integer cursorId,
             @Param("filterCity") String filterCity,
             @Param("filterRoomConfig") String filterRoomConfig,
             @Param("filterSellerType") String filterSellerType,
@@ -107,9 +104,36 @@ public interface RealEstateRepository extends JpaRepository<RealEstate, Integer>
             @Param("maxPriceRe") java.math.BigDecimal maxPriceRe,
             @Param("minArea") Integer minArea,
             @Param("maxArea") Integer maxArea,
-            Pageable pageable);
+            Limit limit);
 
-    // "Get a good deal": cheapest ACTIVE real estate per city (paged)
+    // Previous page: rows before the cursor, nearest first (caller reverses them)
+    @Query("SELECT r FROM RealEstate r " +
+            "JOIN r.listing l " +
+            "JOIN l.user " +
+            "WHERE l.category = 'RealEstate' AND l.status = 'Active' " +
+            "AND (l.listingDate > :cursorDate OR (l.listingDate = :cursorDate AND l.listingId > :cursorId)) " +
+            "AND (:filterCity IS NULL OR :filterCity = '' OR r.city = :filterCity) " +
+            "AND (:filterRoomConfig IS NULL OR :filterRoomConfig = '' OR r.roomConfig = :filterRoomConfig) " +
+            "AND (:filterSellerType IS NULL OR :filterSellerType = '' OR r.sellerType = :filterSellerType) " +
+            "AND (:minPriceRe IS NULL OR l.price >= :minPriceRe) " +
+            "AND (:maxPriceRe IS NULL OR l.price <= :maxPriceRe) " +
+            "AND (:minArea IS NULL OR r.areaSqm >= :minArea) " +
+            "AND (:maxArea IS NULL OR r.areaSqm <= :maxArea) " +
+            "ORDER BY l.listingDate ASC, l.listingId ASC")
+    List<RealEstate> findActiveNewerThan(
+            @Param("cursorDate") java.time.LocalDate cursorDate,
+            @Param("cursorId") Integer cursorId,
+            @Param("filterCity") String filterCity,
+            @Param("filterRoomConfig") String filterRoomConfig,
+            @Param("filterSellerType") String filterSellerType,
+            @Param("minPriceRe") java.math.BigDecimal minPriceRe,
+            @Param("maxPriceRe") java.math.BigDecimal maxPriceRe,
+            @Param("minArea") Integer minArea,
+            @Param("maxArea") Integer maxArea,
+            Limit limit);
+
+    // "Get a good deal": cheapest ACTIVE real estate per city (paged).
+    // Served from CheapestPerCityService once the catalog is loaded; this query covers startup.
     @Query(
         value = "SELECT r.* " +
                 "FROM RealEstate r " +
@@ -155,4 +179,25 @@ public interface RealEstateRepository extends JpaRepository<RealEstate, Integer>
             "WHERE l.status = 'Active' " +
             "ORDER BY r.city", nativeQuery = true)
     List<String> getDistinctCitiesFromDb();
+
+    // =====================================================
+    // SUMMARY ROWS FOR IN-MEMORY CATALOG STRUCTURES
+    // =====================================================
+
+    // Active real estate as flat rows, read in listing_id order (keyset batches)
+    @Query(value = "SELECT new com.minisahibinden.dto.RealEstateSummaryDTO(" +
+            "l.listingId, l.user.userId, l.price, l.listingDate, l.status, " +
+            "r.sellerType, r.areaSqm, r.roomConfig, r.city, r.district) " +
+            "FROM RealEstate r JOIN r.listing l " +
+            "WHERE l.status = 'Active' AND l.listingId > :afterId " +
+            "ORDER BY l.listingId")
+    List<RealEstateSummaryDTO> findActiveSummariesAfter(@Param("afterId") Integer afterId, Limit limit);
+
+    // Single real estate as a flat row (any status)
+    @Query(value = "SELECT new com.minisahibinden.dto.RealEstateSummaryDTO(" +
+            "l.listingId, l.user.userId, l.price, l.listingDate, l.status, " +
+            "r.sellerType, r.areaSqm, r.roomConfig, r.city, r.district) " +
+            "FROM RealEstate r JOIN r.listing l " +
+            "WHERE l.listingId = :listingId")
+    Optional<RealEstateSummaryDTO> findSummaryByListingId(@Param("listingId") Integer listingId);
 }
@@ -0,0 +1,51 @@
+package com.minisahibinden.repository;
+
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.minisahibinden.dto.UserListingStatsDTO;
+import com.minisahibinden.dto.YearStatisticsDTO;
+import com.minisahibinden.util.RowMappers;
+
+/**
+ * Aggregate queries read with JdbcTemplate and the typed RowMappers instead of native JPA
+ * queries returning Object[]. The column lists match the mappers' documented order.
+ */
+@Repository
+public class StatisticsJdbcRepository {
+
+    // Count, average / min / max / total price and average kilometers per model year
+    private static final String YEAR_STATISTICS_SQL =
+            "SELECT v.model_year, COUNT(*), AVG(l.price), MIN(l.price), MAX(l.price), SUM(l.price), AVG(v.kilometers) " +
+            "FROM Vehicles v " +
+            "INNER JOIN Listings l ON v.listing_id = l.listing_id " +
+            "WHERE l.status = 'Active' " +
+            "GROUP BY v.model_year " +
+            "ORDER BY v.model_year DESC";
+
+    // Top 10 users by total value of their active listings
+    private static final String TOP_USERS_BY_LISTING_VALUE_SQL =
+            "SELECT u.user_id, u.full_name, u.email, " +
+            "COUNT(l.listing_id), COALESCE(SUM(l.price), 0) AS totalValue, COALESCE(AVG(l.price), 0) " +
+            "FROM Users u " +
+            "LEFT JOIN Listings l ON u.user_id = l.user_id AND l.status = 'Active' " +
+            "GROUP BY u.user_id, u.full_name, u.email " +
+            "ORDER BY totalValue DESC " +
+            "LIMIT 10";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public StatisticsJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public List<YearStatisticsDTO> getYearStatistics() {
+        return jdbcTemplate.query(YEAR_STATISTICS_SQL, RowMappers.YEAR_STATISTICS);
+    }
+
+    public List<UserListingStatsDTO> getTopUsersByListingValue() {
+        return jdbcTemplate.query(TOP_USERS_BY_LISTING_VALUE_SQL, RowMappers.USER_LISTING_STATS);
+    }
+}
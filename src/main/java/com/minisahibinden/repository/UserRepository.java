@@ -18,23 +18,6 @@ public interface UserRepository extends JpaRepository<User, Integer> {
     // Find by email and password for login
     Optional<User> findByEmailAndPassword(String email, String password);
 
-    // ---------------------------------------------------------
-    // COMPLEX QUERY: Top Users by Total Listing Value
-    // ---------------------------------------------------------
-    @Query(value = "SELECT " +
-            "u.user_id AS userId, " +
-            "u.full_name AS fullName, " +
-            "u.email, " +
-            "COUNT(l.listing_id) AS listingCount, " +
-            "COALESCE(SUM(l.price), 0) AS totalValue, " +
-            "COALESCE(AVG(l.price), 0) AS averagePrice " +
-            "FROM Users u " +
-            "LEFT JOIN Listings l ON u.user_id = l.user_id AND l.status = 'Active' " +
-            "GROUP BY u.user_id, u.full_name, u.email " +
-            "ORDER BY totalValue DESC " +
-            "LIMIT 10", nativeQuery = true)
-    List<Object[]> getTopUsersByListingValue();
-
     // ---------------------------------------------------------
     // COMPLEX QUERY: Users with listing stats by category
     // ---------------------------------------------------------
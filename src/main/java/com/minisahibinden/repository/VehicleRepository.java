@@ -1,29 +1,58 @@
 package com.minisahibinden.repository;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
+import jakarta.persistence.QueryHint;
+
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.minisahibinden.dto.VehicleDetailDTO;
+import com.minisahibinden.dto.VehicleSummaryDTO;
 import com.minisahibinden.entity.Vehicle;
 
 @Repository
 public interface VehicleRepository extends JpaRepository<Vehicle, Integer> {
 
-    // Get all vehicles with listing info (active only) - with pagination
-    @Query(value = "SELECT v FROM Vehicle v " +
-            "JOIN v.listing l " +
-            "JOIN l.user " +
+    // Statement timeout of the /queries reports (ms); the driver cancels the statement server-side
+    String REPORT_QUERY_TIMEOUT_MS = "5000";
+    // Exports read their rows through a streaming cursor (useCursorFetch on the JDBC URL) this many
+    // rows at a time; the timeout covers executing the statement, not reading it
+    String EXPORT_FETCH_SIZE = "500";
+    String EXPORT_QUERY_TIMEOUT_MS = "30000";
+
+    // Page of vehicles by listing id (ids come from the in-memory model name index)
+    @Query("SELECT v FROM Vehicle v " +
+            "JOIN FETCH v.listing l " +
+            "JOIN FETCH l.user " +
+            "WHERE l.status = 'Active' AND v.listingId IN :listingIds")
+    List<Vehicle> findActiveByListingIds(@Param("listingIds") java.util.Collection<Integer> listingIds);
+
+    // Vehicles in a price / km range, most expensive first; null bounds are open and the limit is
+    // applied by the database
+    @Query("SELECT v FROM Vehicle v " +
+            "JOIN FETCH v.listing l " +
+            "JOIN FETCH l.user " +
             "WHERE l.status = 'Active' " +
-            "ORDER BY l.listingDate DESC",
-            countQuery = "SELECT COUNT(v) FROM Vehicle v JOIN v.listing l WHERE l.status = 'Active'")
-    Page<Vehicle> findAllActivePaged(Pageable pageable);
+            "AND (:minPrice IS NULL OR l.price >= :minPrice) AND (:maxPrice IS NULL OR l.price <= :maxPrice) " +
+            "AND (:minKm IS NULL OR v.kilometers >= :minKm) AND (:maxKm IS NULL OR v.kilometers <= :maxKm) " +
+            "ORDER BY l.price DESC, l.listingId DESC")
+    List<Vehicle> findActiveInRange(@Param("minPrice") java.math.BigDecimal minPrice,
+                                    @Param("maxPrice") java.math.BigDecimal maxPrice,
+                                    @Param("minKm") Integer minKm,
+                                    @Param("maxKm") Integer maxKm,
+                                    Limit limit);
 
-    // Search vehicles by model name - with pagination
+    // Search vehicles by model name - with pagination (used until the model name index is loaded)
     @Query(value = "SELECT v FROM Vehicle v " +
             "JOIN v.listing l " +
             "JOIN l.user " +
@@ -58,6 +87,8 @@ public interface VehicleRepository extends JpaRepository<Vehicle, Integer> {
 
     // =====================================================
     // COMPLEX QUERIES
+    // Report queries are read one Slice at a time (LIMIT size + 1, no COUNT) and ordered with
+    // listing_id as tie-breaker so consecutive pages neither repeat nor skip rows.
     // =====================================================
 
     // COMPLEX QUERY 1: Vehicles from active sellers (users with multiple listings)
@@ -66,16 +97,18 @@ public interface VehicleRepository extends JpaRepository<Vehicle, Integer> {
             "INNER JOIN Users u ON l.user_id = u.user_id " +
             "WHERE l.status = 'Active' AND u.user_id IN (" +
             "  SELECT user_id FROM Listings WHERE status = 'Active' GROUP BY user_id HAVING COUNT(*) >= :minListingCount" +
-            ") ORDER BY l.price DESC", nativeQuery = true)
-    List<Vehicle> findVehiclesFromActiveUsersSQL(@Param("minListingCount") int minListingCount);
+            ") ORDER BY l.price DESC, l.listing_id DESC", nativeQuery = true)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.query.timeout", value = REPORT_QUERY_TIMEOUT_MS))
+    Slice<Vehicle> findVehiclesFromActiveUsersSQL(@Param("minListingCount") int minListingCount, Pageable pageable);
 
     // COMPLEX QUERY 2: Vehicles above average price
     @Query(value = "SELECT v.* FROM Vehicles v " +
             "INNER JOIN Listings l ON v.listing_id = l.listing_id " +
             "WHERE l.status = 'Active' AND l.price > (" +
             "  SELECT AVG(price) FROM Listings WHERE category = 'Vehicle' AND status = 'Active'" +
-            ") ORDER BY l.price DESC", nativeQuery = true)
-    List<Vehicle> findVehiclesAboveAveragePriceSQL();
+            ") ORDER BY l.price DESC, l.listing_id DESC", nativeQuery = true)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.query.timeout", value = REPORT_QUERY_TIMEOUT_MS))
+    Slice<Vehicle> findVehiclesAboveAveragePriceSQL(Pageable pageable);
 
     // COMPLEX QUERY 3: Vehicles by price range and user name pattern
     @Query(value = "SELECT v.* FROM Vehicles v " +
@@ -84,23 +117,26 @@ public interface VehicleRepository extends JpaRepository<Vehicle, Integer> {
             "WHERE l.status = 'Active' " +
             "AND l.price BETWEEN :minPrice AND :maxPrice " +
             "AND u.full_name LIKE CONCAT('%', :userNamePattern, '%') " +
-            "ORDER BY l.price DESC", nativeQuery = true)
-    List<Vehicle> findVehiclesByPriceAndUserSQL(@Param("minPrice") java.math.BigDecimal minPrice,
-                                                 @Param("maxPrice") java.math.BigDecimal maxPrice,
-                                                 @Param("userNamePattern") String userNamePattern);
+            "ORDER BY l.price DESC, l.listing_id DESC", nativeQuery = true)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.query.timeout", value = REPORT_QUERY_TIMEOUT_MS))
+    Slice<Vehicle> findVehiclesByPriceAndUserSQL(@Param("minPrice") java.math.BigDecimal minPrice,
+                                                  @Param("maxPrice") java.math.BigDecimal maxPrice,
+                                                  @Param("userNamePattern") String userNamePattern,
+                                                  Pageable pageable);
 
     // COMPLEX QUERY 4: Top N vehicles per year by price
     @Query(value = "SELECT v.* FROM (" +
             "  SELECT v.*, l.price, l.status, " +
-            "  ROW_NUMBER() OVER (PARTITION BY v.model_year ORDER BY l.price DESC) as rn " +
+            "  ROW_NUMBER() OVER (PARTITION BY v.model_year ORDER BY l.price DESC, l.listing_id DESC) as rn " +
             "  FROM Vehicles v " +
             "  INNER JOIN Listings l ON v.listing_id = l.listing_id " +
             "  WHERE l.status = 'Active'" +
             ") ranked " +
             "INNER JOIN Vehicles v ON ranked.listing_id = v.listing_id " +
             "WHERE ranked.rn <= :topN " +
-            "ORDER BY ranked.model_year DESC, ranked.price DESC", nativeQuery = true)
-    List<Vehicle> findTopVehiclesPerYearSQL(@Param("topN") int topN);
+            "ORDER BY ranked.model_year DESC, ranked.price DESC, ranked.listing_id DESC", nativeQuery = true)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.query.timeout", value = REPORT_QUERY_TIMEOUT_MS))
+    Slice<Vehicle> findTopVehiclesPerYearSQL(@Param("topN") int topN, Pageable pageable);
 
     //not used
     // COMPLEX QUERY 5: Complex multi-condition filter with sorting
@@ -115,62 +151,156 @@ public interface VehicleRepository extends JpaRepository<Vehicle, Integer> {
             "ORDER BY " +
             "  CASE WHEN :sortBy = 'price' THEN l.price END DESC, " +
             "  CASE WHEN :sortBy = 'year' THEN v.model_year END DESC, " +
-            "  CASE WHEN :sortBy = 'km' THEN v.kilometers END ASC", nativeQuery = true)
-    List<Vehicle> findVehiclesWithComplexFilterSQL(@Param("minYear") Integer minYear,
-                                                    @Param("maxYear") Integer maxYear,
-                                                    @Param("minPrice") java.math.BigDecimal minPrice,
-                                                    @Param("maxPrice") java.math.BigDecimal maxPrice,
-                                                    @Param("maxKilometers") Integer maxKilometers,
-                                                    @Param("keyword") String keyword,
-                                                    @Param("sortBy") String sortBy);
-
-    // Get year statistics (count, avg, min, max price per year)
-    @Query(value = "SELECT v.model_year, COUNT(*) as count, " +
-            "AVG(l.price) as avg_price, MIN(l.price) as min_price, MAX(l.price) as max_price " +
+            "  CASE WHEN :sortBy = 'km' THEN v.kilometers END ASC, " +
+            "  l.listing_id DESC", nativeQuery = true)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.query.timeout", value = REPORT_QUERY_TIMEOUT_MS))
+    Slice<Vehicle> findVehiclesWithComplexFilterSQL(@Param("minYear") Integer minYear,
+                                                     @Param("maxYear") Integer maxYear,
+                                                     @Param("minPrice") java.math.BigDecimal minPrice,
+                                                     @Param("maxPrice") java.math.BigDecimal maxPrice,
+                                                     @Param("maxKilometers") Integer maxKilometers,
+                                                     @Param("keyword") String keyword,
+                                                     @Param("sortBy") String sortBy,
+                                                     Pageable pageable);
+
+    // =====================================================
+    // EXPORTS (same filters and order as the reports, no paging)
+    // Rows: listing_id, model_year, model_name, price, kilometers, listing_date, seller full name.
+    // Plain rows rather than entities, so nothing accumulates in the persistence context while
+    // the stream is read; the caller must consume it inside a transaction and close it.
+    // =====================================================
+
+    @Query(value = "SELECT l.listing_id, v.model_year, v.model_name, l.price, v.kilometers, l.listing_date, u.full_name " +
             "FROM Vehicles v " +
             "INNER JOIN Listings l ON v.listing_id = l.listing_id " +
+            "INNER JOIN Users u ON l.user_id = u.user_id " +
             "WHERE l.status = 'Active' " +
-            "GROUP BY v.model_year " +
-            "ORDER BY v.model_year DESC", nativeQuery = true)
-    List<Object[]> getYearStatistics();
+            "AND (:minYear IS NULL OR v.model_year >= :minYear) " +
+            "AND (:maxYear IS NULL OR v.model_year <= :maxYear) " +
+            "AND l.price BETWEEN :minPrice AND :maxPrice " +
+            "AND (:maxKilometers IS NULL OR v.kilometers <= :maxKilometers) " +
+            "AND (:keyword IS NULL OR :keyword = '' OR v.model_name LIKE CONCAT('%', :keyword, '%')) " +
+            "ORDER BY " +
+            "  CASE WHEN :sortBy = 'price' THEN l.price END DESC, " +
+            "  CASE WHEN :sortBy = 'year' THEN v.model_year END DESC, " +
+            "  CASE WHEN :sortBy = 'km' THEN v.kilometers END ASC, " +
+            "  l.listing_id DESC", nativeQuery = true)
+    @QueryHints({
+            @QueryHint(name = "org.hibernate.fetchSize", value = EXPORT_FETCH_SIZE),
+            @QueryHint(name = "org.hibernate.readOnly", value = "true"),
+            @QueryHint(name = "jakarta.persistence.query.timeout", value = EXPORT_QUERY_TIMEOUT_MS)
+    })
+    Stream<Object[]> streamVehiclesWithComplexFilterSQL(@Param("minYear") Integer minYear,
+                                                        @Param("maxYear") Integer maxYear,
+                                                        @Param("minPrice") java.math.BigDecimal minPrice,
+                                                        @Param("maxPrice") java.math.BigDecimal maxPrice,
+                                                        @Param("maxKilometers") Integer maxKilometers,
+                                                        @Param("keyword") String keyword,
+                                                        @Param("sortBy") String sortBy);
+
+    @Query(value = "SELECT ranked.listing_id, ranked.model_year, ranked.model_name, ranked.price, ranked.kilometers, " +
+            "ranked.listing_date, u.full_name FROM (" +
+            "  SELECT v.listing_id, v.model_year, v.model_name, v.kilometers, l.price, l.listing_date, l.user_id, " +
+            "  ROW_NUMBER() OVER (PARTITION BY v.model_year ORDER BY l.price DESC, l.listing_id DESC) as rn " +
+            "  FROM Vehicles v " +
+            "  INNER JOIN Listings l ON v.listing_id = l.listing_id " +
+            "  WHERE l.status = 'Active'" +
+            ") ranked " +
+            "INNER JOIN Users u ON ranked.user_id = u.user_id " +
+            "WHERE ranked.rn <= :topN " +
+            "ORDER BY ranked.model_year DESC, ranked.price DESC, ranked.listing_id DESC", nativeQuery = true)
+    @QueryHints({
+            @QueryHint(name = "org.hibernate.fetchSize", value = EXPORT_FETCH_SIZE),
+            @QueryHint(name = "org.hibernate.readOnly", value = "true"),
+            @QueryHint(name = "jakarta.persistence.query.timeout", value = EXPORT_QUERY_TIMEOUT_MS)
+    })
+    Stream<Object[]> streamTopVehiclesPerYearSQL(@Param("topN") int topN);
 
     // =====================================================
-    // FILTER QUERIES WITH PAGINATION
+    // KEYSET (SEEK) PAGINATION - newest first by (listingDate, listingId)
+    // No OFFSET and no COUNT: every page is an index range scan from the cursor.
+    // Filters are optional (NULL = not applied), so the same queries serve the plain grid.
+    // The model name substring filter is resolved to exact names by ModelNameSearchService;
+    // anyModelName = true switches it off (modelNames must still be a non-empty list).
     // =====================================================
 
-    // Advanced filter with pagination - supports all filter combinations
-    @Query(value = "SELECT v FROM Vehicle v " +
+    // Next page: rows after the cursor in (listingDate DESC, listingId DESC) order
+    @Query("SELECT v FROM Vehicle v " +
             "JOIN v.listing l " +
             "JOIN l.user " +
-            "WHERE l.status = 'Active' " +
+            "WHERE l.category = 'Vehicle' AND l.status = 'Active' " +
+            "AND (l.listingDate < :cursorDate OR (l.listingDate = :cursorDate AND l.listingId < :cursorId)) " +
             "AND (:minYear IS NULL OR v.modelYear >= :minYear) " +
             "AND (:maxYear IS NULL OR v.modelYear <= :maxYear) " +
             "AND (:minPrice IS NULL OR l.price >= :minPrice) " +
             "AND (:maxPrice IS NULL OR l.price <= :maxPrice) " +
             "AND (:minKm IS NULL OR v.kilometers >= :minKm) " +
             "AND (:maxKm IS NULL OR v.kilometers <= :maxKm) " +
-            "AND (:modelName IS NULL OR :modelName = '' OR LOWER(v.modelName) LIKE LOWER(CONCAT('%', :modelName, '%'))) " +
-            "ORDER BY l.listingDate DESC",
-            countQuery = "SELECT COUNT(v) FROM Vehicle v JOIN v.listing l " +
-                    "WHERE l.status = 'Active' " +
-                    "AND (:minYear IS NULL OR v.modelYear >= :minYear) " +
-                    "AND (:maxYear IS NULL OR v.modelYear <= :maxYear) " +
-                    "AND (:minPrice IS NULL OR l.price >= :minPrice) " +
-                    "AND (:maxPrice IS NULL OR l.price <= :maxPrice) " +
-                    "AND (:minKm IS NULL OR v.kilometers >= :minKm) " +
-                    "AND (:maxKm IS NULL OR v.kilometers <= :maxKm) " +
-                    "AND (:modelName IS NULL OR :modelName = '' OR LOWER(v.modelName) LIKE LOWER(CONCAT('%', :modelName, '%')))") 
-    Page<Vehicle> filterVehiclesPaged(
+            "AND (:anyModelName = true OR v.modelName IN :modelNames) " +
+            "ORDER BY l.listingDate DESC, l.listingId DESC")
+    List<Vehicle> findActiveOlderThan(
+            @Param("cursorDate") java.time.LocalDate cursorDate,
+            @Param("cursorId") Integer cursorId,
             @Param("minYear") Integer minYear,
             @Param("maxYear") Integer maxYear,
             @Param("minPrice") java.math.BigDecimal minPrice,
             @Param("maxPrice") java.math.BigDecimal maxPrice,
             @Param("minKm") Integer minKm,
             @Param("maxKm") Integer maxKm,
-            @Param("modelName") String modelName,
-            Pageable pageable);
+            @Param("anyModelName") boolean anyModelName,
+            @Param("modelNames") java.util.Collection<String> modelNames,
+            Limit limit);
 
-    // "Get a good deal": vehicles priced below the ACTIVE average for the same model year (paged)
+    // Previous page: rows before the cursor, nearest first (caller reverses them)
+    @Query("SELECT v FROM Vehicle v " +
+            "JOIN v.listing l " +
+            "JOIN l.user " +
+            "WHERE l.category = 'Vehicle' AND l.status = 'Active' " +
+            "AND (l.listingDate > :cursorDate OR (l.listingDate = :cursorDate AND l.listingId > :cursorId)) " +
+            "AND (:minYear IS NULL OR v.modelYear >= :minYear) " +
+            "AND (:maxYear IS NULL OR v.modelYear <= :maxYear) " +
+            "AND (:minPrice IS NULL OR l.price >= :minPrice) " +
+            "AND (:maxPrice IS NULL OR l.price <= :maxPrice) " +
+            "AND (:minKm IS NULL OR v.kilometers >= :minKm) " +
+            "AND (:maxKm IS NULL OR v.kilometers <= :maxKm) " +
+            "AND (:anyModelName = true OR v.modelName IN :modelNames) " +
+            "ORDER BY l.listingDate ASC, l.listingId ASC")
+    List<Vehicle> findActiveNewerThan(
+            @Param("cursorDate") java.time.LocalDate cursorDate,
+            @Param("cursorId") Integer cursorId,
+            @Param("minYear") Integer minYear,
+            @Param("maxYear") Integer maxYear,
+            @Param("minPrice") java.math.BigDecimal minPrice,
+            @Param("maxPrice") java.math.BigDecimal maxPrice,
+            @Param("minKm") Integer minKm,
+            @Param("maxKm") Integer maxKm,
+            @Param("anyModelName") boolean anyModelName,
+            @Param("modelNames") java.util.Collection<String> modelNames,
+            Limit limit);
+
+    // "Get a good deal": vehicles priced below the ACTIVE average for the same model year (paged).
+    // The per-year sum / count comes from the maintained VehicleYearStats table, so each row is
+    // one comparison against a tiny joined row: price < sum / count  <=>  price * count < sum.
+    @Query(
+        value = "SELECT v.* " +
+                "FROM Vehicles v " +
+                "JOIN Listings l ON l.listing_id = v.listing_id " +
+                "JOIN VehicleYearStats s ON s.model_year = v.model_year " +
+                "WHERE l.status = 'Active' " +
+                "  AND l.price * s.active_count < s.price_sum " +
+                "ORDER BY l.price ASC",
+        countQuery = "SELECT COUNT(*) " +
+                     "FROM Vehicles v " +
+                     "JOIN Listings l ON l.listing_id = v.listing_id " +
+                     "JOIN VehicleYearStats s ON s.model_year = v.model_year " +
+                     "WHERE l.status = 'Active' " +
+                     "  AND l.price * s.active_count < s.price_sum",
+        nativeQuery = true
+    )
+    Page<Vehicle> findGoodDealVehiclesPaged(Pageable pageable);
+
+    // Same result computing the averages with a correlated subquery per row;
+    // only used during startup, before VehicleYearStats has been rebuilt
     @Query(
         value = "SELECT v.* " +
                 "FROM Vehicles v " +
@@ -197,7 +327,7 @@ public interface VehicleRepository extends JpaRepository<Vehicle, Integer> {
                      "  )",
         nativeQuery = true
     )
-    Page<Vehicle> findGoodDealVehiclesPaged(Pageable pageable);
+    Page<Vehicle> findGoodDealVehiclesByAveragePaged(Pageable pageable);
 
     // Get min and max values for filter ranges
     @Query(value = "SELECT MIN(v.model_year), MAX(v.model_year), " +
@@ -214,4 +344,40 @@ public interface VehicleRepository extends JpaRepository<Vehicle, Integer> {
             "WHERE l.status = 'Active' " +
             "ORDER BY v.model_name", nativeQuery = true)
     List<String> getDistinctModelNames();
+
+    // =====================================================
+    // SUMMARY ROWS FOR IN-MEMORY CATALOG STRUCTURES
+    // =====================================================
+
+    // Active vehicles as flat rows, read in listing_id order (keyset batches)
+    @Query(value = "SELECT new com.minisahibinden.dto.VehicleSummaryDTO(" +
+            "l.listingId, l.user.userId, l.price, l.listingDate, l.status, v.modelYear, v.modelName, v.kilometers) " +
+            "FROM Vehicle v JOIN v.listing l " +
+            "WHERE l.status = 'Active' AND l.listingId > :afterId " +
+            "ORDER BY l.listingId")
+    List<VehicleSummaryDTO> findActiveSummariesAfter(@Param("afterId") Integer afterId, Limit limit);
+
+    // Active vehicles joined with their seller as flat detail rows (no entities), in listing_id
+    // order (keyset batches)
+    @Query(value = "SELECT new com.minisahibinden.dto.VehicleDetailDTO(" +
+            "l.listingId, v.modelYear, v.modelName, l.price, v.kilometers, u.userId, u.fullName, u.email) " +
+            "FROM Vehicle v JOIN v.listing l JOIN l.user u " +
+            "WHERE l.status = 'Active' AND l.listingId > :afterId " +
+            "ORDER BY l.listingId")
+    List<VehicleDetailDTO> findActiveDetailsAfter(@Param("afterId") Integer afterId, Limit limit);
+
+    // Most expensive active vehicles of one model year (refills TopVehiclesPerYearIndex)
+    @Query(value = "SELECT new com.minisahibinden.dto.VehicleSummaryDTO(" +
+            "l.listingId, l.user.userId, l.price, l.listingDate, l.status, v.modelYear, v.modelName, v.kilometers) " +
+            "FROM Vehicle v JOIN v.listing l " +
+            "WHERE l.status = 'Active' AND v.modelYear = :modelYear " +
+            "ORDER BY l.price DESC, l.listingId DESC")
+    List<VehicleSummaryDTO> findTopActiveSummariesByYear(@Param("modelYear") Integer modelYear, Limit limit);
+
+    // Single vehicle as a flat row (any status)
+    @Query(value = "SELECT new com.minisahibinden.dto.VehicleSummaryDTO(" +
+            "l.listingId, l.user.userId, l.price, l.listingDate, l.status, v.modelYear, v.modelName, v.kilometers) " +
+            "FROM Vehicle v JOIN v.listing l " +
+            "WHERE l.listingId = :listingId")
+    Optional<VehicleSummaryDTO> findSummaryByListingId(@Param("listingId") Integer listingId);
 }
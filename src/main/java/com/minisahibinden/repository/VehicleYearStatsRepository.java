@@ -0,0 +1,44 @@
+package com.minisahibinden.repository;
+
+import java.math.BigDecimal;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.minisahibinden.entity.VehicleYearStats;
+
+@Repository
+public interface VehicleYearStatsRepository extends JpaRepository<VehicleYearStats, Integer> {
+
+    // One more active vehicle for the year
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO VehicleYearStats (model_year, price_sum, active_count) VALUES (:modelYear, :price, 1) " +
+            "ON DUPLICATE KEY UPDATE price_sum = price_sum + :price, active_count = active_count + 1", nativeQuery = true)
+    int addActive(@Param("modelYear") Integer modelYear, @Param("price") BigDecimal price);
+
+    // An active vehicle of the year was deleted or sold
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE VehicleYearStats SET price_sum = price_sum - :price, active_count = active_count - 1 " +
+            "WHERE model_year = :modelYear", nativeQuery = true)
+    int removeActive(@Param("modelYear") Integer modelYear, @Param("price") BigDecimal price);
+
+    // Full rebuild (run together with recomputeAll in one transaction)
+    @Modifying
+    @Query(value = "DELETE FROM VehicleYearStats", nativeQuery = true)
+    int clear();
+
+    @Modifying
+    @Query(value = "INSERT INTO VehicleYearStats (model_year, price_sum, active_count) " +
+            "SELECT v.model_year, SUM(l.price), COUNT(*) " +
+            "FROM Vehicles v " +
+            "JOIN Listings l ON l.listing_id = v.listing_id " +
+            "WHERE l.status = 'Active' " +
+            "GROUP BY v.model_year", nativeQuery = true)
+    int recomputeAll();
+}
@@ -0,0 +1,26 @@
+package com.minisahibinden.service;
+
+import com.minisahibinden.dto.RealEstateSummaryDTO;
+import com.minisahibinden.dto.VehicleSummaryDTO;
+
+/**
+ * Callback for in-memory structures that mirror the active catalog.
+ * CatalogService replays every active listing through the "added" callbacks on startup,
+ * then calls onCatalogLoaded(); after that each post/delete is delivered as it happens.
+ * Callbacks are invoked one at a time (never concurrently with each other).
+ */
+public interface CatalogChangeListener {
+
+    default void onVehicleAdded(VehicleSummaryDTO vehicle) {}
+
+    // Vehicle left the active catalog (deleted or sold); status holds the new value
+    default void onVehicleRemoved(VehicleSummaryDTO vehicle) {}
+
+    default void onRealEstateAdded(RealEstateSummaryDTO realEstate) {}
+
+    // Real estate left the active catalog (deleted or sold); status holds the new value
+    default void onRealEstateRemoved(RealEstateSummaryDTO realEstate) {}
+
+    // Startup replay finished, the listener now mirrors the database
+    default void onCatalogLoaded() {}
+}
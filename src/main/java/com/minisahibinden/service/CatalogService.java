@@ -0,0 +1,220 @@
+package com.minisahibinden.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.minisahibinden.dto.RealEstateSummaryDTO;
+import com.minisahibinden.dto.VehicleSummaryDTO;
+import com.minisahibinden.entity.Listing;
+import com.minisahibinden.entity.RealEstate;
+import com.minisahibinden.entity.User;
+import com.minisahibinden.entity.Vehicle;
+import com.minisahibinden.repository.ListingRepository;
+import com.minisahibinden.repository.RealEstateRepository;
+import com.minisahibinden.repository.VehicleRepository;
+
+/**
+ * Single entry point for catalog writes (post / delete ads).
+ * Every change is forwarded to the registered CatalogChangeListeners so the
+ * in-memory structures stay in sync with the Listings table, then CatalogVersion is bumped.
+ * A new listing and its vehicle / real estate row are written in one transaction (one batched
+ * flush at commit, the listing id coming from IdSequences); listeners only hear about committed rows.
+ * A listener that fails on a change is logged and skipped: the others still get it and the
+ * version is bumped regardless.
+ */
+@Service
+public class CatalogService {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogService.class);
+
+    private static final int LOAD_BATCH_SIZE = 1000;
+
+    private final ListingRepository listingRepository;
+    private final VehicleRepository vehicleRepository;
+    private final RealEstateRepository realEstateRepository;
+    private final List<CatalogChangeListener> listeners;
+    private final CatalogVersion catalogVersion;
+    private final VehicleYearStatsService vehicleYearStatsService;
+    private final TransactionTemplate transactionTemplate;
+
+    // Serializes writes with the startup replay, so a listing is never delivered twice
+    private final Object writeLock = new Object();
+
+    public CatalogService(ListingRepository listingRepository, VehicleRepository vehicleRepository,
+                          RealEstateRepository realEstateRepository, List<CatalogChangeListener> listeners,
+                          CatalogVersion catalogVersion, VehicleYearStatsService vehicleYearStatsService,
+                          PlatformTransactionManager transactionManager) {
+        this.listingRepository = listingRepository;
+        this.vehicleRepository = vehicleRepository;
+        this.realEstateRepository = realEstateRepository;
+        this.listeners = listeners;
+        this.catalogVersion = catalogVersion;
+        this.vehicleYearStatsService = vehicleYearStatsService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public Vehicle postVehicle(User user, String modelName, Integer modelYear, BigDecimal price, Integer kilometers) {
+        synchronized (writeLock) {
+            Vehicle vehicle = transactionTemplate.execute(status -> {
+                // Create listing
+                Listing created = listingRepository.save(
+                        new Listing(user, price, LocalDate.now(), Listing.Category.Vehicle));
+                // Create vehicle, and count it in its year's stats in the same transaction
+                Vehicle saved = vehicleRepository.save(new Vehicle(created, modelYear, modelName, kilometers));
+                vehicleYearStatsService.vehicleAdded(modelYear, created.getPrice());
+                return saved;
+            });
+            Listing listing = vehicle.getListing();
+
+            VehicleSummaryDTO summary = new VehicleSummaryDTO(listing.getListingId(), user.getUserId(),
+                    listing.getPrice(), listing.getListingDate(), listing.getStatus(),
+                    modelYear, modelName, kilometers);
+            try {
+                notifyListeners("post", listing.getListingId(), listener -> listener.onVehicleAdded(summary));
+            } finally {
+                catalogVersion.bump(listing.getListingId());
+            }
+            return vehicle;
+        }
+    }
+
+    public RealEstate postRealEstate(User user, String city, String district, String neighborhood, Integer areaSqm,
+                                     String roomConfig, BigDecimal price, String sellerType) {
+        synchronized (writeLock) {
+            RealEstate realEstate = transactionTemplate.execute(status -> {
+                // Create listing
+                Listing created = listingRepository.save(
+                        new Listing(user, price, LocalDate.now(), Listing.Category.RealEstate));
+                // Create real estate
+                return realEstateRepository.save(new RealEstate(created, sellerType, areaSqm, roomConfig,
+                        city, district, neighborhood));
+            });
+            Listing listing = realEstate.getListing();
+
+            RealEstateSummaryDTO summary = new RealEstateSummaryDTO(listing.getListingId(), user.getUserId(),
+                    listing.getPrice(), listing.getListingDate(), listing.getStatus(),
+                    sellerType, areaSqm, roomConfig, city, district);
+            try {
+                notifyListeners("post", listing.getListingId(), listener -> listener.onRealEstateAdded(summary));
+            } finally {
+                catalogVersion.bump(listing.getListingId());
+            }
+            return realEstate;
+        }
+    }
+
+    /**
+     * Soft-deletes a listing owned by the given user.
+     * Returns false if the listing doesn't exist, isn't owned by the user or is already deleted.
+     */
+    public boolean deleteListing(Integer listingId, Integer userId) {
+        synchronized (writeLock) {
+            // Read the row first so listeners know what left the catalog
+            Optional<VehicleSummaryDTO> vehicle = vehicleRepository.findSummaryByListingId(listingId);
+            Optional<RealEstateSummaryDTO> realEstate = vehicle.isPresent()
+                    ? Optional.empty()
+                    : realEstateRepository.findSummaryByListingId(listingId);
+
+            boolean deleted = transactionTemplate.execute(status -> {
+                if (listingRepository.softDeleteByIdAndUserId(listingId, userId) != 1) {
+                    return false;
+                }
+                // Same transaction as the status change
+                if (vehicle.isPresent() && vehicle.get().getStatus() == Listing.Status.Active) {
+                    vehicleYearStatsService.vehicleRemoved(vehicle.get().getModelYear(), vehicle.get().getPrice());
+                }
+                return true;
+            });
+            if (!deleted) {
+                return false;
+            }
+
+            try {
+                // Only active listings are mirrored in memory
+                if (vehicle.isPresent() && vehicle.get().getStatus() == Listing.Status.Active) {
+                    VehicleSummaryDTO removed = vehicle.get();
+                    removed.setStatus(Listing.Status.Deleted);
+                    notifyListeners("delete", listingId, listener -> listener.onVehicleRemoved(removed));
+                } else if (realEstate.isPresent() && realEstate.get().getStatus() == Listing.Status.Active) {
+                    RealEstateSummaryDTO removed = realEstate.get();
+                    removed.setStatus(Listing.Status.Deleted);
+                    notifyListeners("delete", listingId, listener -> listener.onRealEstateRemoved(removed));
+                }
+            } finally {
+                catalogVersion.bump(listingId);
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Replays all active listings into the listeners once the application
+     * (including data.sql and DataSeeder) is up.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadCatalog() {
+        synchronized (writeLock) {
+            long start = System.currentTimeMillis();
+            int vehicles = 0;
+            int realEstates = 0;
+
+            Integer afterId = 0;
+            List<VehicleSummaryDTO> vehicleBatch;
+            do {
+                vehicleBatch = vehicleRepository.findActiveSummariesAfter(afterId, Limit.of(LOAD_BATCH_SIZE));
+                for (VehicleSummaryDTO vehicle : vehicleBatch) {
+                    for (CatalogChangeListener listener : listeners) {
+                        listener.onVehicleAdded(vehicle);
+                    }
+                    afterId = vehicle.getListingId();
+                }
+                vehicles += vehicleBatch.size();
+            } while (vehicleBatch.size() == LOAD_BATCH_SIZE);
+
+            afterId = 0;
+            List<RealEstateSummaryDTO> realEstateBatch;
+            do {
+                realEstateBatch = realEstateRepository.findActiveSummariesAfter(afterId, Limit.of(LOAD_BATCH_SIZE));
+                for (RealEstateSummaryDTO realEstate : realEstateBatch) {
+                    for (CatalogChangeListener listener : listeners) {
+                        listener.onRealEstateAdded(realEstate);
+                    }
+                    afterId = realEstate.getListingId();
+                }
+                realEstates += realEstateBatch.size();
+            } while (realEstateBatch.size() == LOAD_BATCH_SIZE);
+
+            for (CatalogChangeListener listener : listeners) {
+                listener.onCatalogLoaded();
+            }
+            // Results computed from SQL during startup are replaced by the in-memory ones
+            catalogVersion.bump();
+            System.out.println("In-memory catalog loaded: " + vehicles + " vehicles, "
+                    + realEstates + " real estate (" + (System.currentTimeMillis() - start) + " ms)");
+        }
+    }
+
+    // Each listener on its own: the row is already committed, so one failure mustn't hold back the rest
+    private void notifyListeners(String change, int listingId, Consumer<CatalogChangeListener> callback) {
+        for (CatalogChangeListener listener : listeners) {
+            try {
+                callback.accept(listener);
+            } catch (RuntimeException e) {
+                log.error("{} failed to apply the {} of listing {}; it is stale until the next restart",
+                        listener.getClass().getName(), change, listingId, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.minisahibinden.service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.stereotype.Service;
+
+/**
+ * Global version number of the catalog. CatalogService bumps it after every listing write
+ * (once the database and all listeners have been updated) and after the startup replay,
+ * so anything computed under an older version may be stale.
+ *
+ * Also the source of the pages' ETags / Last-Modified dates: catalog pages change with the
+ * global version, a detail page only when its own listing was written.
+ */
+@Service
+public class CatalogVersion {
+
+    private final AtomicLong version = new AtomicLong();
+    // Versions restart with the process; the boot id keeps an earlier run's ETags from matching
+    private final long bootTime = System.currentTimeMillis();
+    private final String bootId = Long.toString(bootTime, 36);
+    private volatile long lastModified = bootTime;
+    // Listing id -> time of its last write since startup, for the most recently written listings only
+    private static final int MAX_TRACKED_LISTINGS = 10_000;
+    private final Map<Integer, Long> listingLastModified = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, Long> eldest) {
+            if (size() > MAX_TRACKED_LISTINGS) {
+                evictedUpTo = Math.max(evictedUpTo, eldest.getValue());
+                return true;
+            }
+            return false;
+        }
+    };
+    // Latest write time among the entries dropped from listingLastModified (startup if none)
+    private long evictedUpTo = bootTime;
+
+    public long current() {
+        return version.get();
+    }
+
+    public long bump() {
+        lastModified = System.currentTimeMillis();
+        return version.incrementAndGet();
+    }
+
+    // Write that touched a single listing
+    public long bump(int listingId) {
+        synchronized (listingLastModified) {
+            listingLastModified.put(listingId, System.currentTimeMillis());
+        }
+        return bump();
+    }
+
+    // Time of the last catalog write (startup if none)
+    public long lastModified() {
+        return lastModified;
+    }
+
+    /**
+     * Time of the listing's last write (startup if none). For a listing no longer tracked, the latest
+     * time any untracked listing was written: never earlier than its real last write, so a stale
+     * copy is never confirmed.
+     */
+    public long lastModified(int listingId) {
+        synchronized (listingLastModified) {
+            Long written = listingLastModified.get(listingId);
+            return written != null ? written : evictedUpTo;
+        }
+    }
+
+    /**
+     * Weak ETag of a page built from the whole catalog. userId distinguishes pages that
+     * render the logged-in user (null = the same page for everyone).
+     */
+    public String catalogETag(Integer userId) {
+        return "W/\"" + bootId + "-" + current() + (userId != null ? "-u" + userId : "") + "\"";
+    }
+
+    // Weak ETag of a listing's detail page
+    public String listingETag(int listingId) {
+        return "W/\"" + bootId + "-l" + listingId + "-" + lastModified(listingId) + "\"";
+    }
+}
@@ -0,0 +1,141 @@
+package com.minisahibinden.service;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import com.minisahibinden.dto.RealEstateSummaryDTO;
+import com.minisahibinden.util.PricedListing;
+
+/**
+ * Active real estate listings per city, each city's set ordered by price (cheapest first).
+ * Serves the real estate "good deal" mode (cheapest listing of every city) and
+ * "cheapest K in a city" without the correlated MIN(price) subquery.
+ *
+ * Cities are compared case-insensitively, like the MySQL collation the SQL version relied on.
+ */
+@Service
+public class CheapestPerCityService implements CatalogChangeListener {
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TreeMap<String, TreeSet<PricedListing>> listingsByCity = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+    private volatile boolean loaded;
+
+    // False during startup, before the catalog has been replayed
+    public boolean isReady() {
+        return loaded;
+    }
+
+    /**
+     * Good deal page: the cheapest listing(s) of each city (all of them when several share
+     * the minimum price), cities in alphabetical order. Total = number of such listings.
+     */
+    public Page<Integer> goodDealListingIds(Pageable pageable) {
+        lock.readLock().lock();
+        try {
+            List<Integer> ids = new ArrayList<>(pageable.getPageSize());
+            long offset = pageable.getOffset();
+            long position = 0;
+            for (TreeSet<PricedListing> listings : listingsByCity.values()) {
+                PricedListing cheapest = listings.first();
+                for (PricedListing listing : listings) {
+                    if (listing.getPrice().compareTo(cheapest.getPrice()) != 0) {
+                        break;
+                    }
+                    if (position >= offset && ids.size() < pageable.getPageSize()) {
+                        ids.add(listing.getListingId());
+                    }
+                    position++;
+                }
+            }
+            return new PageImpl<>(ids, pageable, position);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Up to k cheapest active listing ids in the city, cheapest first
+    public List<Integer> cheapestInCity(String city, int k) {
+        lock.readLock().lock();
+        try {
+            List<Integer> ids = new ArrayList<>();
+            TreeSet<PricedListing> listings = city != null ? listingsByCity.get(city) : null;
+            if (listings == null) {
+                return ids;
+            }
+            Iterator<PricedListing> iterator = listings.iterator();
+            while (iterator.hasNext() && ids.size() < k) {
+                ids.add(iterator.next().getListingId());
+            }
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // City -> up to k cheapest active listing ids, cities in alphabetical order
+    public Map<String, List<Integer>> cheapestPerCity(int k) {
+        lock.readLock().lock();
+        try {
+            Map<String, List<Integer>> result = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+            for (Map.Entry<String, TreeSet<PricedListing>> entry : listingsByCity.entrySet()) {
+                List<Integer> ids = new ArrayList<>(Math.min(k, entry.getValue().size()));
+                for (PricedListing listing : entry.getValue()) {
+                    if (ids.size() >= k) break;
+                    ids.add(listing.getListingId());
+                }
+                result.put(entry.getKey(), ids);
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void onRealEstateAdded(RealEstateSummaryDTO realEstate) {
+        if (realEstate.getCity() == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            listingsByCity.computeIfAbsent(realEstate.getCity(), c -> new TreeSet<>(PricedListing.PRICE_ASC))
+                    .add(new PricedListing(realEstate.getPrice(), realEstate.getListingId()));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onRealEstateRemoved(RealEstateSummaryDTO realEstate) {
+        if (realEstate.getCity() == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            TreeSet<PricedListing> listings = listingsByCity.get(realEstate.getCity());
+            if (listings != null) {
+                listings.remove(new PricedListing(realEstate.getPrice(), realEstate.getListingId()));
+                if (listings.isEmpty()) {
+                    listingsByCity.remove(realEstate.getCity());
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onCatalogLoaded() {
+        loaded = true;
+    }
+}
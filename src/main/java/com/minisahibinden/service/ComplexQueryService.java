@@ -1,30 +1,46 @@
 package com.minisahibinden.service;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
+import com.minisahibinden.dto.CityStatisticsDTO;
 import com.minisahibinden.dto.UserListingStatsDTO;
 import com.minisahibinden.dto.VehicleDetailDTO;
 import com.minisahibinden.dto.YearStatisticsDTO;
+import com.minisahibinden.entity.Listing;
 import com.minisahibinden.entity.Vehicle;
-import com.minisahibinden.repository.UserRepository;
+import com.minisahibinden.repository.StatisticsJdbcRepository;
 import com.minisahibinden.repository.VehicleRepository;
-import com.minisahibinden.util.QueryResultMapper;
 
 /**
- * Service class demonstrating usage of complex SQL queries for vehicle listings
+ * Service class demonstrating usage of complex SQL queries for vehicle listings.
+ * Year / city / room config statistics are read from the ListingStatsCube once the catalog
+ * is loaded, instead of a GROUP BY over all listings.
  */
 @Service
 public class ComplexQueryService {
 
+    private static final int DETAIL_BATCH_SIZE = 1000;
+
     private final VehicleRepository vehicleRepository;
-    private final UserRepository userRepository;
+    private final StatisticsJdbcRepository statisticsJdbcRepository;
+    private final ListingStatsCube listingStatsCube;
+    private final VehicleColumnStore vehicleColumnStore;
 
-    public ComplexQueryService(VehicleRepository vehicleRepository, UserRepository userRepository) {
+    public ComplexQueryService(VehicleRepository vehicleRepository, StatisticsJdbcRepository statisticsJdbcRepository,
+                               ListingStatsCube listingStatsCube, VehicleColumnStore vehicleColumnStore) {
         this.vehicleRepository = vehicleRepository;
-        this.userRepository = userRepository;
+        this.statisticsJdbcRepository = statisticsJdbcRepository;
+        this.listingStatsCube = listingStatsCube;
+        this.vehicleColumnStore = vehicleColumnStore;
     }
 
     /**
@@ -32,28 +48,73 @@ public class ComplexQueryService {
      * Returns statistics for each model year including count, average, min, max prices
      */
     public List<YearStatisticsDTO> getYearStatistics() {
-        List<Object[]> results = vehicleRepository.getYearStatistics();
-        return QueryResultMapper.mapToYearStatisticsList(results);
+        if (listingStatsCube.isReady()) {
+            return listingStatsCube.vehicleYearStatistics();
+        }
+        return statisticsJdbcRepository.getYearStatistics();
     }
 
     /**
      * COMPLEX QUERY 2: Get vehicles with full user details
-     * Returns complete vehicle information with joined user data
+     * One batch of active vehicles joined with their seller, in listing id order after
+     * afterListingId (0 for the first batch; pass the last row's id for the next one).
+     * Rows are projected straight into the DTO, no Vehicle / Listing / User entities are loaded.
+     */
+    public List<VehicleDetailDTO> getVehiclesWithFullDetails(int afterListingId, int batchSize) {
+        return vehicleRepository.findActiveDetailsAfter(afterListingId, Limit.of(batchSize));
+    }
+
+    /**
+     * Every active vehicle with its seller, handed to the consumer batch by batch so only one
+     * batch is in memory at a time. Returns the number of rows.
      */
-    public List<VehicleDetailDTO> getVehiclesWithFullDetails() {
-        // For this we'll need to add a query to VehicleRepository
-        // For now return empty list
-        return List.of();
+    public long forEachVehicleWithFullDetails(Consumer<VehicleDetailDTO> consumer) {
+        long count = 0;
+        int afterId = 0;
+        List<VehicleDetailDTO> batch;
+        do {
+            batch = getVehiclesWithFullDetails(afterId, DETAIL_BATCH_SIZE);
+            for (VehicleDetailDTO row : batch) {
+                consumer.accept(row);
+                afterId = row.getListingId();
+            }
+            count += batch.size();
+        } while (batch.size() == DETAIL_BATCH_SIZE);
+        return count;
     }
 
     /**
      * COMPLEX QUERY 3: Find vehicles in price and km range
-     * Returns vehicles within a price range and km range
+     * Returns up to limit vehicles within a price range and km range (null bounds are open),
+     * most expensive first. The in-memory column store picks the ids with a bounded heap and only
+     * those rows are loaded; SQL with the limit pushed down until the store is loaded.
      */
     public List<Vehicle> findVehiclesInRange(BigDecimal minPrice, BigDecimal maxPrice,
                                               Integer minKm, Integer maxKm, int limit) {
-        return vehicleRepository.findVehiclesWithComplexFilterSQL(
-            null, null, minPrice, maxPrice, maxKm, "", "price");
+        if (limit <= 0) {
+            return List.of();
+        }
+        if (!vehicleColumnStore.isReady()) {
+            return vehicleRepository.findActiveInRange(minPrice, maxPrice, minKm, maxKm, Limit.of(limit));
+        }
+        int[] ids = vehicleColumnStore.mostExpensive(minPrice, maxPrice, minKm, maxKm, limit);
+        List<Integer> idList = new ArrayList<>(ids.length);
+        for (int id : ids) {
+            idList.add(id);
+        }
+        Map<Integer, Vehicle> byId = new HashMap<>();
+        for (Vehicle vehicle : vehicleRepository.findActiveByListingIds(idList)) {
+            byId.put(vehicle.getListingId(), vehicle);
+        }
+        // Keep the heap's order; a vehicle deleted in between is skipped
+        List<Vehicle> vehicles = new ArrayList<>(ids.length);
+        for (int id : ids) {
+            Vehicle vehicle = byId.get(id);
+            if (vehicle != null) {
+                vehicles.add(vehicle);
+            }
+        }
+        return vehicles;
     }
 
     /**
@@ -61,8 +122,50 @@ public class ComplexQueryService {
      * Returns model years where average vehicle price exceeds the overall average
      */
     public List<YearStatisticsDTO> getYearsWithAboveAveragePrices() {
-        List<Object[]> results = vehicleRepository.getYearStatistics();
-        return QueryResultMapper.mapToYearStatisticsList(results);
+        List<YearStatisticsDTO> allYears;
+        BigDecimal overallAverage;
+        if (listingStatsCube.isReady()) {
+            allYears = listingStatsCube.vehicleYearStatistics();
+            overallAverage = listingStatsCube.averagePrice(Listing.Category.Vehicle);
+        } else {
+            allYears = statisticsJdbcRepository.getYearStatistics();
+            overallAverage = overallAverage(allYears);
+        }
+        List<YearStatisticsDTO> years = new ArrayList<>();
+        for (YearStatisticsDTO year : allYears) {
+            if (year.getAveragePrice() != null && year.getAveragePrice().compareTo(overallAverage) > 0) {
+                years.add(year);
+            }
+        }
+        return years;
+    }
+
+    // Average price over all the groups' vehicles, from their totals
+    private static BigDecimal overallAverage(List<YearStatisticsDTO> years) {
+        BigDecimal total = BigDecimal.ZERO;
+        long count = 0;
+        for (YearStatisticsDTO year : years) {
+            if (year.getTotalValue() != null) {
+                total = total.add(year.getTotalValue());
+            }
+            count += year.getCarCount();
+        }
+        return count > 0 ? total.divide(BigDecimal.valueOf(count), 2, RoundingMode.HALF_UP) : BigDecimal.ZERO;
+    }
+
+    /**
+     * Real estate statistics per city (count, average / min / max price, average area),
+     * cities in alphabetical order
+     */
+    public List<CityStatisticsDTO> getCityStatistics() {
+        return listingStatsCube.cityStatistics();
+    }
+
+    /**
+     * Real estate statistics per room config within one city
+     */
+    public List<CityStatisticsDTO> getRoomConfigStatistics(String city) {
+        return listingStatsCube.roomConfigStatistics(city);
     }
 
     /**
@@ -70,8 +173,7 @@ public class ComplexQueryService {
      * Returns users ranked by their total listing value and count
      */
     public List<UserListingStatsDTO> getTopUsersByListingValue() {
-        List<Object[]> results = userRepository.getTopUsersByListingValue();
-        return QueryResultMapper.mapToUserListingStatsList(results);
+        return statisticsJdbcRepository.getTopUsersByListingValue();
     }
 }
 
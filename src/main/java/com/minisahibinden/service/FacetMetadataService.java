@@ -0,0 +1,242 @@
+package com.minisahibinden.service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.TreeMap;
+
+import org.springframework.stereotype.Service;
+
+import com.minisahibinden.dto.FacetMetadataDTO;
+import com.minisahibinden.dto.RealEstateSummaryDTO;
+import com.minisahibinden.dto.VehicleSummaryDTO;
+import com.minisahibinden.repository.RealEstateRepository;
+import com.minisahibinden.repository.VehicleRepository;
+
+/**
+ * Keeps the home page filter metadata (distinct years / model names / cities / room configs /
+ * seller types and the min-max ranges) in memory, so rendering "/" doesn't run
+ * seven DISTINCT / aggregate scans per request.
+ *
+ * Distinct values are tracked with a per-value counter, so adds and removes are O(log n).
+ * Min/max ranges are widened on add; removing the current extreme marks the range stale and
+ * it is re-read from the database (one aggregate query) the next time the facets are requested.
+ */
+@Service
+public class FacetMetadataService implements CatalogChangeListener {
+
+    private final VehicleRepository vehicleRepository;
+    private final RealEstateRepository realEstateRepository;
+
+    // Value -> number of active listings having that value
+    private final TreeMap<Integer, Integer> yearCounts = new TreeMap<>(Comparator.reverseOrder());
+    private final TreeMap<String, Integer> modelNameCounts = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+    private final TreeMap<String, Integer> cityCounts = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+    private final TreeMap<String, Integer> roomConfigCounts = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+    private final TreeMap<String, Integer> sellerTypeCounts = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+
+    private final MinMax<BigDecimal> vehiclePrice = new MinMax<>();
+    private final MinMax<Integer> kilometers = new MinMax<>();
+    private final MinMax<BigDecimal> realEstatePrice = new MinMax<>();
+    private final MinMax<Integer> area = new MinMax<>();
+
+    private long vehicleCount;
+    private long realEstateCount;
+    private boolean loaded;
+
+    // Rebuilt lazily after a change; null means "dirty"
+    private volatile FacetMetadataDTO snapshot;
+
+    public FacetMetadataService(VehicleRepository vehicleRepository, RealEstateRepository realEstateRepository) {
+        this.vehicleRepository = vehicleRepository;
+        this.realEstateRepository = realEstateRepository;
+    }
+
+    /**
+     * Returns the current filter metadata. Served from memory once the catalog is loaded;
+     * before that (during startup) it falls back to the database queries.
+     */
+    public FacetMetadataDTO getFacets() {
+        FacetMetadataDTO current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            if (!loaded) {
+                return loadFromDatabase();
+            }
+            if (snapshot == null) {
+                snapshot = buildSnapshot();
+            }
+            return snapshot;
+        }
+    }
+
+    @Override
+    public synchronized void onVehicleAdded(VehicleSummaryDTO vehicle) {
+        increment(yearCounts, vehicle.getModelYear());
+        increment(modelNameCounts, vehicle.getModelName());
+        vehiclePrice.add(vehicle.getPrice());
+        kilometers.add(vehicle.getKilometers());
+        vehicleCount++;
+        snapshot = null;
+    }
+
+    @Override
+    public synchronized void onVehicleRemoved(VehicleSummaryDTO vehicle) {
+        decrement(yearCounts, vehicle.getModelYear());
+        decrement(modelNameCounts, vehicle.getModelName());
+        vehiclePrice.remove(vehicle.getPrice());
+        kilometers.remove(vehicle.getKilometers());
+        vehicleCount--;
+        snapshot = null;
+    }
+
+    @Override
+    public synchronized void onRealEstateAdded(RealEstateSummaryDTO realEstate) {
+        increment(cityCounts, realEstate.getCity());
+        increment(roomConfigCounts, realEstate.getRoomConfig());
+        increment(sellerTypeCounts, realEstate.getSellerType());
+        realEstatePrice.add(realEstate.getPrice());
+        area.add(realEstate.getAreaSqm());
+        realEstateCount++;
+        snapshot = null;
+    }
+
+    @Override
+    public synchronized void onRealEstateRemoved(RealEstateSummaryDTO realEstate) {
+        decrement(cityCounts, realEstate.getCity());
+        decrement(roomConfigCounts, realEstate.getRoomConfig());
+        decrement(sellerTypeCounts, realEstate.getSellerType());
+        realEstatePrice.remove(realEstate.getPrice());
+        area.remove(realEstate.getAreaSqm());
+        realEstateCount--;
+        snapshot = null;
+    }
+
+    @Override
+    public synchronized void onCatalogLoaded() {
+        loaded = true;
+        snapshot = null;
+    }
+
+    // Caller holds the lock
+    private FacetMetadataDTO buildSnapshot() {
+        if (vehiclePrice.stale || kilometers.stale) {
+            Object[] ranges = firstRow(vehicleRepository.getFilterRanges());
+            if (ranges != null) {
+                vehiclePrice.reset(toBigDecimal(ranges[2]), toBigDecimal(ranges[3]));
+                kilometers.reset(toInteger(ranges[4]), toInteger(ranges[5]));
+            }
+        }
+        if (realEstatePrice.stale || area.stale) {
+            Object[] ranges = firstRow(realEstateRepository.getRealEstateFilterRanges());
+            if (ranges != null) {
+                realEstatePrice.reset(toBigDecimal(ranges[0]), toBigDecimal(ranges[1]));
+                area.reset(toInteger(ranges[2]), toInteger(ranges[3]));
+            }
+        }
+
+        List<Integer> years = new ArrayList<>(yearCounts.keySet());
+        Integer yearMin = yearCounts.isEmpty() ? null : yearCounts.lastKey();
+        Integer yearMax = yearCounts.isEmpty() ? null : yearCounts.firstKey();
+
+        return new FacetMetadataDTO(years, yearMin, yearMax,
+                vehiclePrice.min, vehiclePrice.max, kilometers.min, kilometers.max,
+                new ArrayList<>(modelNameCounts.keySet()), vehicleCount,
+                new ArrayList<>(cityCounts.keySet()), new ArrayList<>(roomConfigCounts.keySet()),
+                new ArrayList<>(sellerTypeCounts.keySet()),
+                realEstatePrice.min, realEstatePrice.max, area.min, area.max, realEstateCount);
+    }
+
+    // Same data as the in-memory snapshot, straight from MySQL
+    private FacetMetadataDTO loadFromDatabase() {
+        Object[] vehicleRanges = firstRow(vehicleRepository.getFilterRanges());
+        Object[] reRanges = firstRow(realEstateRepository.getRealEstateFilterRanges());
+        List<Integer> years = vehicleRepository.getDistinctYears();
+
+        return new FacetMetadataDTO(years,
+                vehicleRanges != null ? toInteger(vehicleRanges[0]) : null,
+                vehicleRanges != null ? toInteger(vehicleRanges[1]) : null,
+                vehicleRanges != null ? toBigDecimal(vehicleRanges[2]) : null,
+                vehicleRanges != null ? toBigDecimal(vehicleRanges[3]) : null,
+                vehicleRanges != null ? toInteger(vehicleRanges[4]) : null,
+                vehicleRanges != null ? toInteger(vehicleRanges[5]) : null,
+                withoutNulls(vehicleRepository.getDistinctModelNames()),
+                vehicleRepository.countActive(),
+                withoutNulls(realEstateRepository.getDistinctCitiesFromDb()),
+                withoutNulls(realEstateRepository.getDistinctRoomConfigs()),
+                withoutNulls(realEstateRepository.getDistinctSellerTypes()),
+                reRanges != null ? toBigDecimal(reRanges[0]) : null,
+                reRanges != null ? toBigDecimal(reRanges[1]) : null,
+                reRanges != null ? toInteger(reRanges[2]) : null,
+                reRanges != null ? toInteger(reRanges[3]) : null,
+                realEstateRepository.countActive());
+    }
+
+    private static <K> void increment(TreeMap<K, Integer> counts, K key) {
+        if (key != null) {
+            counts.merge(key, 1, Integer::sum);
+        }
+    }
+
+    private static <K> void decrement(TreeMap<K, Integer> counts, K key) {
+        if (key != null) {
+            counts.computeIfPresent(key, (k, count) -> count > 1 ? count - 1 : null);
+        }
+    }
+
+    // Range queries return a single row wrapped in an outer array
+    private static Object[] firstRow(Object[] result) {
+        if (result == null || result.length == 0) {
+            return null;
+        }
+        return result[0] instanceof Object[] ? (Object[]) result[0] : result;
+    }
+
+    private static List<String> withoutNulls(List<String> values) {
+        return values.stream().filter(Objects::nonNull).toList();
+    }
+
+    private static Integer toInteger(Object value) {
+        return value == null ? null : ((Number) value).intValue();
+    }
+
+    private static BigDecimal toBigDecimal(Object value) {
+        if (value == null) {
+            return null;
+        }
+        return value instanceof BigDecimal ? (BigDecimal) value : new BigDecimal(value.toString());
+    }
+
+    /**
+     * Min/max of a column over the active listings. A removal that hits the current
+     * extreme can't be resolved locally, so the range is flagged stale instead.
+     */
+    private static class MinMax<T extends Comparable<T>> {
+        private T min;
+        private T max;
+        private boolean stale;
+
+        void add(T value) {
+            if (value == null) return;
+            if (min == null || value.compareTo(min) < 0) min = value;
+            if (max == null || value.compareTo(max) > 0) max = value;
+        }
+
+        void remove(T value) {
+            if (value == null) return;
+            if ((min != null && value.compareTo(min) == 0) || (max != null && value.compareTo(max) == 0)) {
+                stale = true;
+            }
+        }
+
+        void reset(T newMin, T newMax) {
+            min = newMin;
+            max = newMax;
+            stale = false;
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.minisahibinden.service;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Runs the independent parts of the home page (vehicle grid, real estate grid, filter metadata)
+ * as "branches". In parallel mode every branch is submitted to a dedicated bounded executor and
+ * page latency becomes the slowest branch instead of their sum; otherwise branches run inline
+ * on the request thread as before.
+ *
+ * Each branch is timed, and a branch that doesn't finish within the configured timeout of its
+ * fork is replaced by its fallback value so one slow query can't hold the whole page. Each
+ * branch runs in a read-only transaction with the same timeout (whole seconds), which Spring
+ * applies as the statement timeout of the branch's queries: the query of an abandoned branch
+ * is cancelled in the database, freeing the thread and its connection.
+ */
+@Service
+public class HomePageAssembler {
+
+    private static final Logger log = LoggerFactory.getLogger(HomePageAssembler.class);
+
+    private final boolean parallel;
+    private final long branchTimeoutMs;
+    private final ThreadPoolExecutor executor;
+    private final TransactionTemplate branchTransaction;
+
+    public HomePageAssembler(@Value("${minisahibinden.home.parallel:true}") boolean parallel,
+                             @Value("${minisahibinden.home.threads:8}") int threads,
+                             @Value("${minisahibinden.home.branch-timeout-ms:3000}") long branchTimeoutMs,
+                             PlatformTransactionManager transactionManager) {
+        this.parallel = parallel;
+        this.branchTimeoutMs = branchTimeoutMs;
+        this.branchTransaction = new TransactionTemplate(transactionManager);
+        this.branchTransaction.setReadOnly(true);
+        // Rounded up: a timeout under a second would otherwise be none at all
+        this.branchTransaction.setTimeout((int) Math.max(1, (branchTimeoutMs + 999) / 1000));
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        // Bounded queue; when it is full the request thread runs the branch itself
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(threads * 16),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "home-assembly-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    public Assembly begin() {
+        return new Assembly();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * One page render. Not thread-safe: fork and join from the request thread only.
+     */
+    public class Assembly {
+
+        private final long startNanos = System.nanoTime();
+        private final Map<String, Long> branchNanos = new LinkedHashMap<>();
+
+        /**
+         * Starts a branch. The fallback is used when the branch times out (parallel mode only).
+         */
+        public <T> Branch<T> fork(String name, Supplier<T> task, Supplier<T> fallback) {
+            Branch<T> branch = new Branch<>(name, fallback, System.nanoTime() + branchTimeoutMs * 1_000_000);
+            if (parallel) {
+                branch.future = CompletableFuture.supplyAsync(() -> timed(branch, task), executor);
+            } else {
+                branch.future = CompletableFuture.completedFuture(timed(branch, task));
+            }
+            return branch;
+        }
+
+        /**
+         * Waits for the branch until its deadline (fork time + timeout), so joining several
+         * branches never waits longer than the timeout in total.
+         */
+        public <T> T join(Branch<T> branch) {
+            try {
+                long remainingNanos = Math.max(0, branch.deadlineNanos - System.nanoTime());
+                return branch.future.get(remainingNanos, TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                branch.timedOut = true;
+                log.warn("Home page branch '{}' timed out after {} ms", branch.name, branchTimeoutMs);
+                return branch.fallback.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while assembling the home page", e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException runtimeException) {
+                    throw runtimeException;
+                }
+                throw new IllegalStateException(e.getCause());
+            } finally {
+                branchNanos.putIfAbsent(branch.name, branch.elapsedNanos);
+            }
+        }
+
+        /**
+         * Latency breakdown in Server-Timing header format, e.g.
+         * "vehicles;dur=12.4, realestate;dur=8.1, total;dur=13.0".
+         * A timed out branch is reported with its timeout and a "timeout" description.
+         */
+        public String serverTiming() {
+            StringBuilder header = new StringBuilder();
+            for (Map.Entry<String, Long> entry : branchNanos.entrySet()) {
+                long nanos = entry.getValue();
+                if (nanos < 0) {
+                    header.append(entry.getKey()).append(";desc=\"timeout\";dur=").append(branchTimeoutMs);
+                } else {
+                    header.append(entry.getKey()).append(";dur=").append(millis(nanos));
+                }
+                header.append(", ");
+            }
+            header.append("total;dur=").append(millis(System.nanoTime() - startNanos));
+            return header.toString();
+        }
+
+        private <T> T timed(Branch<T> branch, Supplier<T> task) {
+            long start = System.nanoTime();
+            try {
+                return branchTransaction.execute(status -> task.get());
+            } finally {
+                branch.elapsedNanos = System.nanoTime() - start;
+            }
+        }
+
+        private String millis(long nanos) {
+            return String.format(Locale.ROOT, "%.1f", nanos / 1_000_000.0);
+        }
+    }
+
+    public static class Branch<T> {
+        private final String name;
+        private final Supplier<T> fallback;
+        private final long deadlineNanos;
+        private CompletableFuture<T> future;
+        // -1 until the branch finished
+        private volatile long elapsedNanos = -1;
+        private boolean timedOut;
+
+        private Branch(String name, Supplier<T> fallback, long deadlineNanos) {
+            this.name = name;
+            this.fallback = fallback;
+            this.deadlineNanos = deadlineNanos;
+        }
+
+        public boolean isTimedOut() { return timedOut; }
+    }
+}
@@ -0,0 +1,398 @@
+package com.minisahibinden.service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Service;
+
+import com.minisahibinden.dto.ListingCursor;
+import com.minisahibinden.dto.ListingWindow;
+import com.minisahibinden.dto.RealEstateSearchCriteria;
+import com.minisahibinden.dto.VehicleSearchCriteria;
+import com.minisahibinden.entity.RealEstate;
+import com.minisahibinden.entity.Vehicle;
+import com.minisahibinden.repository.RealEstateRepository;
+import com.minisahibinden.repository.VehicleRepository;
+import com.minisahibinden.util.VehicleColumns;
+import com.minisahibinden.util.VersionedLruCache;
+
+/**
+ * Picks the query for the vehicle / real estate grids from the search parameters.
+ * Shared by the full home page and the per-tab fragment endpoints.
+ *
+ * The newest-first grids (plain browsing and the advanced filter) use keyset pagination on
+ * (listingDate, listingId), so a deep page costs the same as the first one. The price-ordered
+ * modes (good deal, keyword, year, city, room) keep numbered offset pages.
+ *
+ * Results are cached per canonical search for the current CatalogVersion (bounded LRU with a
+ * TTL), so repeated popular filter combinations skip both the scan and the row loading.
+ */
+@Service
+public class ListingSearchService {
+
+    public static final int PAGE_SIZE = 12; // Show 12 items per page for better performance
+
+    private final VehicleRepository vehicleRepository;
+    private final RealEstateRepository realEstateRepository;
+    private final FacetMetadataService facetMetadataService;
+    private final ModelNameSearchService modelNameSearchService;
+    private final VehicleYearStatsService vehicleYearStatsService;
+    private final CheapestPerCityService cheapestPerCityService;
+    private final VehicleColumnStore vehicleColumnStore;
+    private final RealEstateBitmapIndex realEstateBitmapIndex;
+    private final TopVehiclesPerYearIndex topVehiclesPerYearIndex;
+    private final CatalogVersion catalogVersion;
+    // Search results keyed on the canonical parameters, valid for one catalog version
+    private final VersionedLruCache<String, ListingWindow<?>> resultCache;
+
+    public ListingSearchService(VehicleRepository vehicleRepository, RealEstateRepository realEstateRepository,
+                                FacetMetadataService facetMetadataService,
+                                ModelNameSearchService modelNameSearchService,
+                                VehicleYearStatsService vehicleYearStatsService,
+                                CheapestPerCityService cheapestPerCityService,
+                                VehicleColumnStore vehicleColumnStore,
+                                RealEstateBitmapIndex realEstateBitmapIndex,
+                                TopVehiclesPerYearIndex topVehiclesPerYearIndex,
+                                CatalogVersion catalogVersion,
+                                @Value("${minisahibinden.search-cache.max-entries:1000}") int cacheMaxEntries,
+                                @Value("${minisahibinden.search-cache.ttl-ms:60000}") long cacheTtlMs) {
+        this.vehicleRepository = vehicleRepository;
+        this.realEstateRepository = realEstateRepository;
+        this.facetMetadataService = facetMetadataService;
+        this.modelNameSearchService = modelNameSearchService;
+        this.vehicleYearStatsService = vehicleYearStatsService;
+        this.cheapestPerCityService = cheapestPerCityService;
+        this.vehicleColumnStore = vehicleColumnStore;
+        this.realEstateBitmapIndex = realEstateBitmapIndex;
+        this.topVehiclesPerYearIndex = topVehiclesPerYearIndex;
+        this.catalogVersion = catalogVersion;
+        this.resultCache = new VersionedLruCache<>(cacheMaxEntries, cacheTtlMs);
+    }
+
+    public ListingWindow<Vehicle> searchVehicles(VehicleSearchCriteria criteria) {
+        return cached(vehicleCacheKey(criteria), () -> findVehicles(criteria));
+    }
+
+    public ListingWindow<RealEstate> searchRealEstate(RealEstateSearchCriteria criteria) {
+        return cached(realEstateCacheKey(criteria), () -> findRealEstate(criteria));
+    }
+
+    public VersionedLruCache.Stats cacheStats() {
+        return resultCache.stats();
+    }
+
+    private ListingWindow<Vehicle> findVehicles(VehicleSearchCriteria criteria) {
+        Pageable vehiclePageable = PageRequest.of(criteria.getVehiclePage(), PAGE_SIZE);
+
+        if (criteria.isGoodDealMode()) {
+            Pageable goodDealPageable = PageRequest.of(criteria.getGoodDealPage(), PAGE_SIZE);
+            // Per-year averages come from VehicleYearStats once it has been built on startup
+            return ListingWindow.ofPage(vehicleYearStatsService.isReady()
+                    ? vehicleRepository.findGoodDealVehiclesPaged(goodDealPageable)
+                    : vehicleRepository.findGoodDealVehiclesByAveragePaged(goodDealPageable));
+        } else if (criteria.hasAdvancedFilter()) {
+            // Advanced filter walks the newest-first order like the plain grid; only the
+            // in-memory scan knows the total, the SQL fallback doesn't count it
+            return seekVehicles(criteria, -1);
+        } else if (criteria.hasKeywordSearch()) {
+            return ListingWindow.ofPage(searchByModelName(criteria.getKeyword(), vehiclePageable));
+        } else if (criteria.getYear() != null) {
+            return ListingWindow.ofPage(vehicleRepository.filterByYearPaged(criteria.getYear(), vehiclePageable));
+        }
+        // Unfiltered total comes from the in-memory facets instead of a COUNT(*)
+        return seekVehicles(criteria, facetMetadataService.getFacets().getVehicleCount());
+    }
+
+    // Empty result with the page the search asked for (used when the query doesn't finish in time)
+    public ListingWindow<Vehicle> emptyVehiclePage(VehicleSearchCriteria criteria) {
+        if (criteria.isGoodDealMode() || (!criteria.hasAdvancedFilter()
+                && (criteria.hasKeywordSearch() || criteria.getYear() != null))) {
+            int page = criteria.isGoodDealMode() ? criteria.getGoodDealPage() : criteria.getVehiclePage();
+            return ListingWindow.ofPage(Page.empty(PageRequest.of(page, PAGE_SIZE)));
+        }
+        return ListingWindow.ofKeyset(List.of(), null, null, -1);
+    }
+
+    private ListingWindow<RealEstate> findRealEstate(RealEstateSearchCriteria criteria) {
+        Pageable realestatePageable = PageRequest.of(criteria.getRealestatePage(), PAGE_SIZE);
+
+        if (criteria.isGoodDealMode()) {
+            return ListingWindow.ofPage(goodDealRealEstate(PageRequest.of(criteria.getGoodDealRePage(), PAGE_SIZE)));
+        } else if (criteria.hasAdvancedFilter()) {
+            // Advanced filter walks the newest-first order like the plain grid; only the
+            // bitmap index knows the total, the SQL fallback doesn't count it
+            return seekRealEstate(criteria, -1);
+        } else if (criteria.hasKeywordSearch()) {
+            return ListingWindow.ofPage(realEstateRepository.searchByLocationPaged(criteria.getKeyword(), realestatePageable));
+        } else if (criteria.getCity() != null && !criteria.getCity().isEmpty()) {
+            return ListingWindow.ofPage(realEstateRepository.findByCityPaged(criteria.getCity(), realestatePageable));
+        } else if (criteria.getRoomConfig() != null && !criteria.getRoomConfig().isEmpty()) {
+            return ListingWindow.ofPage(realEstateRepository.findByRoomConfigPaged(criteria.getRoomConfig(), realestatePageable));
+        }
+        // Unfiltered total comes from the in-memory facets instead of a COUNT(*)
+        return seekRealEstate(criteria, facetMetadataService.getFacets().getRealEstateCount());
+    }
+
+    // Empty result with the page the search asked for (used when the query doesn't finish in time)
+    public ListingWindow<RealEstate> emptyRealEstatePage(RealEstateSearchCriteria criteria) {
+        boolean offsetMode = criteria.isGoodDealMode() || (!criteria.hasAdvancedFilter()
+                && (criteria.hasKeywordSearch()
+                    || (criteria.getCity() != null && !criteria.getCity().isEmpty())
+                    || (criteria.getRoomConfig() != null && !criteria.getRoomConfig().isEmpty())));
+        if (offsetMode) {
+            int page = criteria.isGoodDealMode() ? criteria.getGoodDealRePage() : criteria.getRealestatePage();
+            return ListingWindow.ofPage(Page.empty(PageRequest.of(page, PAGE_SIZE)));
+        }
+        return ListingWindow.ofKeyset(List.of(), null, null, -1);
+    }
+
+    // Result of an identical search at the current catalog version, or a fresh one. The version is
+    // read before searching, so a result that raced with a write is stored under the old version
+    // and never served.
+    @SuppressWarnings("unchecked")
+    private <T> ListingWindow<T> cached(String key, Supplier<ListingWindow<T>> search) {
+        long version = catalogVersion.current();
+        ListingWindow<?> hit = resultCache.get(key, version);
+        if (hit != null) {
+            return (ListingWindow<T>) hit;
+        }
+        ListingWindow<T> result = search.get();
+        resultCache.put(key, version, result);
+        return result;
+    }
+
+    // Canonical form of the parameters that pick the vehicle result (see findVehicles):
+    // only the branch that will run contributes, numbers and cursors in normalized form
+    private static String vehicleCacheKey(VehicleSearchCriteria c) {
+        if (c.isGoodDealMode()) {
+            return "V|deal|" + c.getGoodDealPage();
+        } else if (c.hasAdvancedFilter()) {
+            return "V|filter|" + c.getMinYear() + "|" + c.getMaxYear() + "|" + canonical(c.getMinPrice())
+                    + "|" + canonical(c.getMaxPrice()) + "|" + c.getMinKm() + "|" + c.getMaxKm()
+                    + "|" + lowerCase(c.getModelName()) + "|" + cursors(c.getVehicleAfter(), c.getVehicleBefore());
+        } else if (c.hasKeywordSearch()) {
+            return "V|keyword|" + lowerCase(c.getKeyword()) + "|" + c.getVehiclePage();
+        } else if (c.getYear() != null) {
+            return "V|year|" + c.getYear() + "|" + c.getVehiclePage();
+        }
+        return "V|all|" + cursors(c.getVehicleAfter(), c.getVehicleBefore());
+    }
+
+    // Same for the real estate result (see findRealEstate)
+    private static String realEstateCacheKey(RealEstateSearchCriteria c) {
+        if (c.isGoodDealMode()) {
+            return "R|deal|" + c.getGoodDealRePage();
+        } else if (c.hasAdvancedFilter()) {
+            return "R|filter|" + lowerCase(c.getFilterCity()) + "|" + lowerCase(c.getFilterRoomConfig())
+                    + "|" + lowerCase(c.getFilterSellerType()) + "|" + canonical(c.getMinPriceRe())
+                    + "|" + canonical(c.getMaxPriceRe()) + "|" + c.getMinArea() + "|" + c.getMaxArea()
+                    + "|" + cursors(c.getRealestateAfter(), c.getRealestateBefore());
+        } else if (c.hasKeywordSearch()) {
+            return "R|keyword|" + lowerCase(c.getKeyword()) + "|" + c.getRealestatePage();
+        } else if (c.getCity() != null && !c.getCity().isEmpty()) {
+            return "R|city|" + lowerCase(c.getCity()) + "|" + c.getRealestatePage();
+        } else if (c.getRoomConfig() != null && !c.getRoomConfig().isEmpty()) {
+            return "R|room|" + lowerCase(c.getRoomConfig()) + "|" + c.getRealestatePage();
+        }
+        return "R|all|" + cursors(c.getRealestateAfter(), c.getRealestateBefore());
+    }
+
+    // "before" wins over "after", and an unparseable cursor means "from the top", like in the seeks
+    private static String cursors(String after, String before) {
+        ListingCursor parsedBefore = ListingCursor.parse(before);
+        if (parsedBefore != null) {
+            return "before=" + parsedBefore;
+        }
+        ListingCursor parsedAfter = ListingCursor.parse(after);
+        return parsedAfter != null ? "after=" + parsedAfter : "top";
+    }
+
+    private static String canonical(BigDecimal value) {
+        return value == null ? "" : value.stripTrailingZeros().toPlainString();
+    }
+
+    // String filters compare case-insensitively in MySQL and in the in-memory indexes
+    private static String lowerCase(String value) {
+        return value == null ? "" : value.toLowerCase(Locale.ROOT);
+    }
+
+    // Keyword search served by the in-memory model name index; SQL LIKE until it is loaded
+    private Page<Vehicle> searchByModelName(String keyword, Pageable pageable) {
+        if (!modelNameSearchService.isReady()) {
+            return vehicleRepository.searchByModelNamePaged(keyword, pageable);
+        }
+        return loadPage(modelNameSearchService.searchListingIds(keyword, pageable),
+                vehicleRepository::findActiveByListingIds, Vehicle::getListingId);
+    }
+
+    // Cheapest listing per city from the in-memory per-city price sets; SQL until they are loaded
+    private Page<RealEstate> goodDealRealEstate(Pageable pageable) {
+        if (!cheapestPerCityService.isReady()) {
+            return realEstateRepository.findGoodDealRealEstatePaged(pageable);
+        }
+        return loadPage(cheapestPerCityService.goodDealListingIds(pageable),
+                realEstateRepository::findActiveByListingIds, RealEstate::getListingId);
+    }
+
+    /**
+     * The topN most expensive active vehicles of every model year, newest year first (the
+     * /queries/top-per-year report, which caps topN at the index's K). Served from the in-memory
+     * top-K index; SQL window ranking until it is loaded.
+     */
+    public Slice<Vehicle> topVehiclesPerYear(int topN, Pageable pageable) {
+        if (!topVehiclesPerYearIndex.isReady()) {
+            return vehicleRepository.findTopVehiclesPerYearSQL(topN, pageable);
+        }
+        List<Integer> ids = topVehiclesPerYearIndex.topListingIds(topN);
+        int from = (int) Math.min(pageable.getOffset(), ids.size());
+        int to = Math.min(from + pageable.getPageSize(), ids.size());
+        return loadPage(new PageImpl<>(ids.subList(from, to), pageable, ids.size()),
+                vehicleRepository::findActiveByListingIds, Vehicle::getListingId);
+    }
+
+    // Loads a page of listing ids picked by an in-memory structure, keeping the ids' order;
+    // a listing deleted in between is simply skipped
+    private static <T> Page<T> loadPage(Page<Integer> ids, Function<List<Integer>, List<T>> loader,
+                                        Function<T, Integer> idOf) {
+        if (ids.isEmpty()) {
+            return new PageImpl<>(List.of(), ids.getPageable(), ids.getTotalElements());
+        }
+        Map<Integer, T> byId = new HashMap<>();
+        for (T row : loader.apply(ids.getContent())) {
+            byId.put(idOf.apply(row), row);
+        }
+        List<T> content = new ArrayList<>(ids.getNumberOfElements());
+        for (Integer id : ids.getContent()) {
+            T row = byId.get(id);
+            if (row != null) {
+                content.add(row);
+            }
+        }
+        return new PageImpl<>(content, ids.getPageable(), ids.getTotalElements());
+    }
+
+    private ListingWindow<Vehicle> seekVehicles(VehicleSearchCriteria c, long totalElements) {
+        // Model name substring -> exact names, so the query does an IN instead of LIKE '%...%'
+        boolean anyModelName = c.getModelName() == null || c.getModelName().isEmpty();
+        List<String> modelNames = anyModelName ? List.of("") : modelNameSearchService.matchingModelNames(c.getModelName());
+        if (modelNames.isEmpty()) {
+            return ListingWindow.ofKeyset(List.of(), null, null, 0);
+        }
+        if (vehicleColumnStore.isReady()) {
+            return scanVehicles(c, anyModelName ? null : modelNames);
+        }
+        ListingCursor before = ListingCursor.parse(c.getVehicleBefore());
+        // One extra row tells whether there is another page in that direction
+        Limit limit = Limit.of(PAGE_SIZE + 1);
+        if (before != null) {
+            List<Vehicle> rows = vehicleRepository.findActiveNewerThan(before.getListingDate(), before.getListingId(),
+                    c.getMinYear(), c.getMaxYear(), c.getMinPrice(), c.getMaxPrice(),
+                    c.getMinKm(), c.getMaxKm(), anyModelName, modelNames, limit);
+            return backwardWindow(rows, totalElements, v -> new ListingCursor(v.getListing().getListingDate(), v.getListingId()));
+        }
+        ListingCursor after = ListingCursor.parse(c.getVehicleAfter());
+        ListingCursor from = after != null ? after : ListingCursor.START;
+        List<Vehicle> rows = vehicleRepository.findActiveOlderThan(from.getListingDate(), from.getListingId(),
+                c.getMinYear(), c.getMaxYear(), c.getMinPrice(), c.getMaxPrice(),
+                c.getMinKm(), c.getMaxKm(), anyModelName, modelNames, limit);
+        return forwardWindow(rows, after != null, totalElements, v -> new ListingCursor(v.getListing().getListingDate(), v.getListingId()));
+    }
+
+    // Same keyset page from the in-memory columns: one scan, then the page is loaded by id.
+    // The scan counts every match, so filtered grids get an exact total for free.
+    private ListingWindow<Vehicle> scanVehicles(VehicleSearchCriteria c, List<String> modelNames) {
+        ListingCursor before = ListingCursor.parse(c.getVehicleBefore());
+        ListingCursor after = ListingCursor.parse(c.getVehicleAfter());
+        ListingCursor from = before != null ? before : (after != null ? after : ListingCursor.START);
+        VehicleColumns.SeekResult result = vehicleColumnStore.seek(c.getMinYear(), c.getMaxYear(),
+                c.getMinPrice(), c.getMaxPrice(), c.getMinKm(), c.getMaxKm(), modelNames,
+                from, before == null, PAGE_SIZE + 1);
+        return windowOfIds(result.getListingIds(), result.getTotal(), before == null, after != null,
+                vehicleRepository::findActiveByListingIds, Vehicle::getListingId,
+                v -> new ListingCursor(v.getListing().getListingDate(), v.getListingId()));
+    }
+
+    // Same keyset page from the bitmap index: categorical filters are bitmap ANDs
+    private ListingWindow<RealEstate> scanRealEstate(RealEstateSearchCriteria c) {
+        ListingCursor before = ListingCursor.parse(c.getRealestateBefore());
+        ListingCursor after = ListingCursor.parse(c.getRealestateAfter());
+        ListingCursor from = before != null ? before : (after != null ? after : ListingCursor.START);
+        RealEstateBitmapIndex.SearchResult result = realEstateBitmapIndex.search(c.getFilterCity(),
+                c.getFilterRoomConfig(), c.getFilterSellerType(), c.getMinPriceRe(), c.getMaxPriceRe(),
+                c.getMinArea(), c.getMaxArea(), from, before == null, PAGE_SIZE + 1);
+        return windowOfIds(result.getListingIds(), result.getTotal(), before == null, after != null,
+                realEstateRepository::findActiveByListingIds, RealEstate::getListingId,
+                r -> new ListingCursor(r.getListing().getListingDate(), r.getListingId()));
+    }
+
+    // Keyset window from listing ids picked in memory (in the order of the matching seek query)
+    private static <T> ListingWindow<T> windowOfIds(int[] listingIds, long total, boolean older, boolean fromCursor,
+                                                    Function<List<Integer>, List<T>> loader, Function<T, Integer> idOf,
+                                                    Function<T, ListingCursor> cursorOf) {
+        List<Integer> ids = new ArrayList<>(listingIds.length);
+        for (int id : listingIds) {
+            ids.add(id);
+        }
+        List<T> rows = loadPage(new PageImpl<>(ids), loader, idOf).getContent();
+        return older
+                ? forwardWindow(rows, fromCursor, total, cursorOf)
+                : backwardWindow(rows, total, cursorOf);
+    }
+
+    private ListingWindow<RealEstate> seekRealEstate(RealEstateSearchCriteria c, long totalElements) {
+        if (realEstateBitmapIndex.isReady()) {
+            return scanRealEstate(c);
+        }
+        ListingCursor before = ListingCursor.parse(c.getRealestateBefore());
+        // One extra row tells whether there is another page in that direction
+        Limit limit = Limit.of(PAGE_SIZE + 1);
+        if (before != null) {
+            List<RealEstate> rows = realEstateRepository.findActiveNewerThan(before.getListingDate(), before.getListingId(),
+                    c.getFilterCity(), c.getFilterRoomConfig(), c.getFilterSellerType(),
+                    c.getMinPriceRe(), c.getMaxPriceRe(), c.getMinArea(), c.getMaxArea(), limit);
+            return backwardWindow(rows, totalElements, r -> new ListingCursor(r.getListing().getListingDate(), r.getListingId()));
+        }
+        ListingCursor after = ListingCursor.parse(c.getRealestateAfter());
+        ListingCursor from = after != null ? after : ListingCursor.START;
+        List<RealEstate> rows = realEstateRepository.findActiveOlderThan(from.getListingDate(), from.getListingId(),
+                c.getFilterCity(), c.getFilterRoomConfig(), c.getFilterSellerType(),
+                c.getMinPriceRe(), c.getMaxPriceRe(), c.getMinArea(), c.getMaxArea(), limit);
+        return forwardWindow(rows, after != null, totalElements, r -> new ListingCursor(r.getListing().getListingDate(), r.getListingId()));
+    }
+
+    // Rows fetched newest-first after a cursor (or from the top)
+    private static <T> ListingWindow<T> forwardWindow(List<T> rows, boolean fromCursor, long totalElements,
+                                                      Function<T, ListingCursor> cursorOf) {
+        boolean hasNext = rows.size() > PAGE_SIZE;
+        List<T> content = hasNext ? rows.subList(0, PAGE_SIZE) : rows;
+        ListingCursor previous = fromCursor && !content.isEmpty() ? cursorOf.apply(content.get(0)) : null;
+        ListingCursor next = hasNext ? cursorOf.apply(content.get(content.size() - 1)) : null;
+        return ListingWindow.ofKeyset(content, previous, next, totalElements);
+    }
+
+    // Rows fetched oldest-first before a cursor; flipped back into display order
+    private static <T> ListingWindow<T> backwardWindow(List<T> rows, long totalElements,
+                                                       Function<T, ListingCursor> cursorOf) {
+        boolean hasPrevious = rows.size() > PAGE_SIZE;
+        List<T> content = new ArrayList<>(hasPrevious ? rows.subList(0, PAGE_SIZE) : rows);
+        Collections.reverse(content);
+        ListingCursor previous = hasPrevious ? cursorOf.apply(content.get(0)) : null;
+        // The row the cursor pointed at is still older than this page
+        ListingCursor next = !content.isEmpty() ? cursorOf.apply(content.get(content.size() - 1)) : null;
+        return ListingWindow.ofKeyset(content, previous, next, totalElements);
+    }
+}
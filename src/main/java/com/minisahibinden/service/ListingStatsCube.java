@@ -0,0 +1,255 @@
+package com.minisahibinden.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.stereotype.Service;
+
+import com.minisahibinden.dto.CityStatisticsDTO;
+import com.minisahibinden.dto.RealEstateSummaryDTO;
+import com.minisahibinden.dto.VehicleSummaryDTO;
+import com.minisahibinden.dto.YearStatisticsDTO;
+import com.minisahibinden.entity.Listing;
+
+/**
+ * Pre-aggregated statistics of the active catalog: count, price sum / min / max and the sum
+ * of kilometers (vehicles) or area (real estate) per category, per (Vehicle, model year) and
+ * per (city, room config). Every post / delete updates its cells, so the statistics are read
+ * in O(groups) instead of a GROUP BY over all listings; per-city totals roll up the city's
+ * room config cells when they are read.
+ *
+ * Cities and room configs are compared case-insensitively, like the MySQL collation the
+ * GROUP BY queries relied on.
+ */
+@Service
+public class ListingStatsCube implements CatalogChangeListener {
+
+    // Key of listings without a room config (shown as null)
+    private static final String NO_ROOM_CONFIG = "";
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final EnumMap<Listing.Category, Cell> byCategory = new EnumMap<>(Listing.Category.class);
+    private final TreeMap<Integer, Cell> vehiclesByYear = new TreeMap<>();
+    // City -> room config -> cell
+    private final TreeMap<String, TreeMap<String, Cell>> byCityAndRoom = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+    private volatile boolean loaded;
+
+    // False during startup, before the catalog has been replayed
+    public boolean isReady() {
+        return loaded;
+    }
+
+    // One row per model year of the active vehicles, newest year first
+    public List<YearStatisticsDTO> vehicleYearStatistics() {
+        lock.readLock().lock();
+        try {
+            List<YearStatisticsDTO> rows = new ArrayList<>(vehiclesByYear.size());
+            for (Map.Entry<Integer, Cell> entry : vehiclesByYear.descendingMap().entrySet()) {
+                rows.add(yearRow(entry.getKey(), entry.getValue()));
+            }
+            return rows;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Average price of all active listings of the category (zero when there are none)
+    public BigDecimal averagePrice(Listing.Category category) {
+        lock.readLock().lock();
+        try {
+            Cell cell = byCategory.get(category);
+            return cell != null ? cell.averagePrice() : BigDecimal.ZERO;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // One row per city (all room configs rolled up), cities in alphabetical order
+    public List<CityStatisticsDTO> cityStatistics() {
+        lock.readLock().lock();
+        try {
+            List<CityStatisticsDTO> rows = new ArrayList<>(byCityAndRoom.size());
+            for (Map.Entry<String, TreeMap<String, Cell>> city : byCityAndRoom.entrySet()) {
+                long count = 0;
+                BigDecimal priceSum = BigDecimal.ZERO;
+                long areaSum = 0;
+                BigDecimal min = null;
+                BigDecimal max = null;
+                for (Cell cell : city.getValue().values()) {
+                    count += cell.count;
+                    priceSum = priceSum.add(cell.priceSum);
+                    areaSum += cell.measureSum;
+                    min = min == null || cell.minPrice().compareTo(min) < 0 ? cell.minPrice() : min;
+                    max = max == null || cell.maxPrice().compareTo(max) > 0 ? cell.maxPrice() : max;
+                }
+                rows.add(cityRow(city.getKey(), null, count, priceSum, areaSum, min, max));
+            }
+            return rows;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // One row per room config of the city, in alphabetical order (empty for an unknown city)
+    public List<CityStatisticsDTO> roomConfigStatistics(String city) {
+        lock.readLock().lock();
+        try {
+            TreeMap<String, Cell> rooms = city != null ? byCityAndRoom.get(city) : null;
+            if (rooms == null) {
+                return List.of();
+            }
+            List<CityStatisticsDTO> rows = new ArrayList<>(rooms.size());
+            for (Map.Entry<String, Cell> room : rooms.entrySet()) {
+                String roomConfig = NO_ROOM_CONFIG.equals(room.getKey()) ? null : room.getKey();
+                Cell cell = room.getValue();
+                rows.add(cityRow(byCityAndRoom.ceilingKey(city), roomConfig, cell.count, cell.priceSum,
+                        cell.measureSum, cell.minPrice(), cell.maxPrice()));
+            }
+            return rows;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void onVehicleAdded(VehicleSummaryDTO vehicle) {
+        lock.writeLock().lock();
+        try {
+            long km = vehicle.getKilometers() != null ? vehicle.getKilometers() : 0;
+            cell(Listing.Category.Vehicle).add(vehicle.getPrice(), km);
+            if (vehicle.getModelYear() != null) {
+                vehiclesByYear.computeIfAbsent(vehicle.getModelYear(), y -> new Cell()).add(vehicle.getPrice(), km);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onVehicleRemoved(VehicleSummaryDTO vehicle) {
+        lock.writeLock().lock();
+        try {
+            long km = vehicle.getKilometers() != null ? vehicle.getKilometers() : 0;
+            cell(Listing.Category.Vehicle).remove(vehicle.getPrice(), km);
+            Cell year = vehicle.getModelYear() != null ? vehiclesByYear.get(vehicle.getModelYear()) : null;
+            if (year != null && year.remove(vehicle.getPrice(), km)) {
+                vehiclesByYear.remove(vehicle.getModelYear());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onRealEstateAdded(RealEstateSummaryDTO realEstate) {
+        lock.writeLock().lock();
+        try {
+            long area = realEstate.getAreaSqm() != null ? realEstate.getAreaSqm() : 0;
+            cell(Listing.Category.RealEstate).add(realEstate.getPrice(), area);
+            if (realEstate.getCity() != null) {
+                byCityAndRoom.computeIfAbsent(realEstate.getCity(), c -> new TreeMap<>(String.CASE_INSENSITIVE_ORDER))
+                        .computeIfAbsent(roomKey(realEstate), r -> new Cell())
+                        .add(realEstate.getPrice(), area);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onRealEstateRemoved(RealEstateSummaryDTO realEstate) {
+        lock.writeLock().lock();
+        try {
+            long area = realEstate.getAreaSqm() != null ? realEstate.getAreaSqm() : 0;
+            cell(Listing.Category.RealEstate).remove(realEstate.getPrice(), area);
+            TreeMap<String, Cell> rooms = realEstate.getCity() != null ? byCityAndRoom.get(realEstate.getCity()) : null;
+            Cell room = rooms != null ? rooms.get(roomKey(realEstate)) : null;
+            if (room != null && room.remove(realEstate.getPrice(), area)) {
+                rooms.remove(roomKey(realEstate));
+                if (rooms.isEmpty()) {
+                    byCityAndRoom.remove(realEstate.getCity());
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onCatalogLoaded() {
+        loaded = true;
+    }
+
+    private Cell cell(Listing.Category category) {
+        return byCategory.computeIfAbsent(category, c -> new Cell());
+    }
+
+    private static String roomKey(RealEstateSummaryDTO realEstate) {
+        return realEstate.getRoomConfig() != null ? realEstate.getRoomConfig() : NO_ROOM_CONFIG;
+    }
+
+    private static YearStatisticsDTO yearRow(int modelYear, Cell cell) {
+        return new YearStatisticsDTO(modelYear, cell.count, cell.averagePrice(), cell.minPrice(), cell.maxPrice(),
+                cell.priceSum, average(BigDecimal.valueOf(cell.measureSum), cell.count));
+    }
+
+    private static CityStatisticsDTO cityRow(String city, String roomConfig, long count, BigDecimal priceSum,
+                                             long areaSum, BigDecimal minPrice, BigDecimal maxPrice) {
+        CityStatisticsDTO row = new CityStatisticsDTO(city, count, average(priceSum, count), minPrice, maxPrice,
+                count > 0 ? (double) areaSum / count : null);
+        row.setRoomConfig(roomConfig);
+        return row;
+    }
+
+    private static BigDecimal average(BigDecimal sum, long count) {
+        return count > 0 ? sum.divide(BigDecimal.valueOf(count), 2, RoundingMode.HALF_UP) : BigDecimal.ZERO;
+    }
+
+    /**
+     * Aggregates of one group. Min / max come from a price -> occurrences map, so removing the
+     * current minimum or maximum doesn't need a rescan.
+     */
+    private static class Cell {
+        private long count;
+        private BigDecimal priceSum = BigDecimal.ZERO;
+        // Kilometers or area
+        private long measureSum;
+        private final TreeMap<BigDecimal, Integer> prices = new TreeMap<>();
+
+        void add(BigDecimal price, long measure) {
+            price = price != null ? price : BigDecimal.ZERO;
+            count++;
+            priceSum = priceSum.add(price);
+            measureSum += measure;
+            prices.merge(price, 1, Integer::sum);
+        }
+
+        // Returns true when the cell became empty
+        boolean remove(BigDecimal price, long measure) {
+            price = price != null ? price : BigDecimal.ZERO;
+            count--;
+            priceSum = priceSum.subtract(price);
+            measureSum -= measure;
+            prices.computeIfPresent(price, (p, n) -> n > 1 ? n - 1 : null);
+            return count <= 0;
+        }
+
+        BigDecimal averagePrice() {
+            return average(priceSum, count);
+        }
+
+        BigDecimal minPrice() {
+            return prices.isEmpty() ? BigDecimal.ZERO : prices.firstKey();
+        }
+
+        BigDecimal maxPrice() {
+            return prices.isEmpty() ? BigDecimal.ZERO : prices.lastKey();
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.minisahibinden.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import com.minisahibinden.dto.VehicleSummaryDTO;
+import com.minisahibinden.repository.VehicleRepository;
+import com.minisahibinden.util.PricedListing;
+import com.minisahibinden.util.TrigramIndex;
+
+/**
+ * In-memory substring search over the model names of active vehicles, replacing the
+ * LIKE '%keyword%' scans of the Vehicles table.
+ *
+ * The trigram index is built over the distinct model names (a few thousand at most), not over
+ * listings, so a lookup costs the same however many cars share a name. Each distinct name keeps
+ * its active listings sorted by price; a search merges the matching names' lists to return
+ * listing ids in price order (most expensive first, like the SQL search).
+ */
+@Service
+public class ModelNameSearchService implements CatalogChangeListener {
+
+    private final VehicleRepository vehicleRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TrigramIndex index = new TrigramIndex();
+    // Exact model name <-> dictionary id
+    private final Map<String, Integer> nameIds = new HashMap<>();
+    private final List<String> names = new ArrayList<>();
+    // Dictionary id -> active listings with that name, by price
+    private final Map<Integer, TreeSet<PricedListing>> listingsByName = new HashMap<>();
+    private volatile boolean loaded;
+
+    public ModelNameSearchService(VehicleRepository vehicleRepository) {
+        this.vehicleRepository = vehicleRepository;
+    }
+
+    // False during startup, before the catalog has been replayed
+    public boolean isReady() {
+        return loaded;
+    }
+
+    /**
+     * Active vehicle listing ids whose model name contains the keyword (case-insensitive),
+     * most expensive first. Only the requested page is materialized.
+     */
+    public Page<Integer> searchListingIds(String keyword, Pageable pageable) {
+        lock.readLock().lock();
+        try {
+            List<TreeSet<PricedListing>> matches = new ArrayList<>();
+            long total = 0;
+            for (Integer nameId : index.search(keyword)) {
+                TreeSet<PricedListing> listings = listingsByName.get(nameId);
+                matches.add(listings);
+                total += listings.size();
+            }
+
+            // k-way merge of the per-name price lists, skipping up to the page offset
+            PriorityQueue<Cursor> heads = new PriorityQueue<>((a, b) -> PricedListing.PRICE_DESC.compare(a.head, b.head));
+            for (TreeSet<PricedListing> listings : matches) {
+                Cursor cursor = new Cursor(listings.iterator());
+                if (cursor.advance()) {
+                    heads.add(cursor);
+                }
+            }
+            long skip = pageable.getOffset();
+            List<Integer> ids = new ArrayList<>(pageable.getPageSize());
+            while (!heads.isEmpty() && ids.size() < pageable.getPageSize()) {
+                Cursor cursor = heads.poll();
+                if (skip > 0) {
+                    skip--;
+                } else {
+                    ids.add(cursor.head.getListingId());
+                }
+                if (cursor.advance()) {
+                    heads.add(cursor);
+                }
+            }
+            return new PageImpl<>(ids, pageable, total);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Distinct model names (exact spelling) of active vehicles containing the keyword.
+     * Before the catalog is loaded the distinct names are read from the database.
+     */
+    public List<String> matchingModelNames(String keyword) {
+        if (!loaded) {
+            String needle = TrigramIndex.normalize(keyword);
+            return vehicleRepository.getDistinctModelNames().stream()
+                    .filter(name -> name != null && TrigramIndex.normalize(name).contains(needle))
+                    .toList();
+        }
+        lock.readLock().lock();
+        try {
+            List<String> result = new ArrayList<>();
+            for (Integer nameId : index.search(keyword)) {
+                result.add(names.get(nameId));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void onVehicleAdded(VehicleSummaryDTO vehicle) {
+        if (vehicle.getModelName() == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            Integer nameId = nameIds.get(vehicle.getModelName());
+            if (nameId == null) {
+                nameId = names.size();
+                names.add(vehicle.getModelName());
+                nameIds.put(vehicle.getModelName(), nameId);
+            }
+            TreeSet<PricedListing> listings = listingsByName.computeIfAbsent(nameId, id -> new TreeSet<>(PricedListing.PRICE_DESC));
+            listings.add(new PricedListing(vehicle.getPrice(), vehicle.getListingId()));
+            // Names without active listings drop out of the index and come back on the next add
+            index.add(nameId, vehicle.getModelName());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onVehicleRemoved(VehicleSummaryDTO vehicle) {
+        if (vehicle.getModelName() == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            Integer nameId = nameIds.get(vehicle.getModelName());
+            if (nameId == null) {
+                return;
+            }
+            TreeSet<PricedListing> listings = listingsByName.get(nameId);
+            if (listings != null) {
+                listings.remove(new PricedListing(vehicle.getPrice(), vehicle.getListingId()));
+                if (listings.isEmpty()) {
+                    listingsByName.remove(nameId);
+                    index.remove(nameId);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onCatalogLoaded() {
+        loaded = true;
+    }
+
+    // Iterator with its current element, for the merge heap
+    private static class Cursor {
+        private final Iterator<PricedListing> iterator;
+        private PricedListing head;
+
+        Cursor(Iterator<PricedListing> iterator) {
+            this.iterator = iterator;
+        }
+
+        boolean advance() {
+            head = iterator.hasNext() ? iterator.next() : null;
+            return head != null;
+        }
+    }
+}
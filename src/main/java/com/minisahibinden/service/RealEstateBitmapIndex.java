@@ -0,0 +1,253 @@
+package com.minisahibinden.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.PrimitiveIterator;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.stereotype.Service;
+
+import com.minisahibinden.dto.ListingCursor;
+import com.minisahibinden.dto.RealEstateFacetCountsDTO;
+import com.minisahibinden.dto.RealEstateSummaryDTO;
+import com.minisahibinden.entity.Listing;
+import com.minisahibinden.util.KeysetHeap;
+import com.minisahibinden.util.RoaringBitmap;
+
+/**
+ * Bitmap index over the real estate listings: one RoaringBitmap of listing ids per city,
+ * room config, seller type and status. The advanced filter's categorical part is an AND of
+ * bitmaps; the price / area ranges are checked only on the ids that survive, against per-listing
+ * arrays indexed by listing id and sized by the highest id seen.
+ *
+ * The same bitmaps give the dropdown counts: the number of results each option would return
+ * together with the other filters currently applied.
+ *
+ * A listing that leaves the catalog moves from the Active bitmap to its new status one and keeps
+ * its other bits; every query is ANDed with Active. Only listings that were active at some point
+ * since startup are known to the index.
+ */
+@Service
+public class RealEstateBitmapIndex implements CatalogChangeListener {
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // Compared case-insensitively, like the MySQL collation the SQL filter relied on
+    private final TreeMap<String, RoaringBitmap> byCity = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+    private final TreeMap<String, RoaringBitmap> byRoomConfig = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+    private final TreeMap<String, RoaringBitmap> bySellerType = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+    private final EnumMap<Listing.Status, RoaringBitmap> byStatus = new EnumMap<>(Listing.Status.class);
+    // Listings with a known area (a NULL area never matches an area bound)
+    private final RoaringBitmap withArea = new RoaringBitmap();
+
+    // Listing id -> range columns and newest-first order key
+    private long[] priceCents = new long[1024];
+    private int[] areas = new int[1024];
+    private long[] orderKeys = new long[1024];
+
+    private volatile boolean loaded;
+
+    public RealEstateBitmapIndex() {
+        for (Listing.Status status : Listing.Status.values()) {
+            byStatus.put(status, new RoaringBitmap());
+        }
+    }
+
+    // False during startup, before the catalog has been replayed
+    public boolean isReady() {
+        return loaded;
+    }
+
+    /**
+     * One newest-first keyset page of active listing ids matching the filter, plus the exact
+     * number of matches. Empty / null filter values are not applied, like in the SQL filter.
+     */
+    public SearchResult search(String city, String roomConfig, String sellerType,
+                               BigDecimal minPrice, BigDecimal maxPrice, Integer minArea, Integer maxArea,
+                               ListingCursor cursor, boolean older, int limit) {
+        lock.readLock().lock();
+        try {
+            RoaringBitmap candidates = and(and(and(active(), city, byCity), roomConfig, byRoomConfig),
+                    sellerType, bySellerType);
+            Ranges ranges = new Ranges(minPrice, maxPrice, minArea, maxArea);
+            if (ranges.hasArea) {
+                candidates = candidates.and(withArea);
+            }
+
+            KeysetHeap page = new KeysetHeap(KeysetHeap.orderKey(cursor.getListingDate(), cursor.getListingId()),
+                    older, limit);
+            long total = 0;
+            for (PrimitiveIterator.OfInt ids = candidates.iterator(); ids.hasNext(); ) {
+                int id = ids.nextInt();
+                if (ranges.matches(priceCents[id], areas[id])) {
+                    total++;
+                    page.offer(orderKeys[id]);
+                }
+            }
+            return new SearchResult(page.listingIds(), total);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Per-option result counts for the city / room config / seller type dropdowns. An option's
+     * count applies every current filter except the one of its own dropdown, i.e. it is what the
+     * grid would show after picking that option.
+     */
+    public RealEstateFacetCountsDTO facetCounts(String city, String roomConfig, String sellerType,
+                                                BigDecimal minPrice, BigDecimal maxPrice,
+                                                Integer minArea, Integer maxArea) {
+        lock.readLock().lock();
+        try {
+            RoaringBitmap base = active();
+            Ranges ranges = new Ranges(minPrice, maxPrice, minArea, maxArea);
+            if (ranges.isSet()) {
+                base = rangeMatches(ranges.hasArea ? base.and(withArea) : base, ranges);
+            }
+            RoaringBitmap byCityBase = and(and(base, roomConfig, byRoomConfig), sellerType, bySellerType);
+            RoaringBitmap byRoomBase = and(and(base, city, byCity), sellerType, bySellerType);
+            RoaringBitmap bySellerBase = and(and(base, city, byCity), roomConfig, byRoomConfig);
+            return new RealEstateFacetCountsDTO(counts(byCityBase, byCity), counts(byRoomBase, byRoomConfig),
+                    counts(bySellerBase, bySellerType));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void onRealEstateAdded(RealEstateSummaryDTO realEstate) {
+        lock.writeLock().lock();
+        try {
+            int id = realEstate.getListingId();
+            ensureCapacity(id);
+            priceCents[id] = realEstate.getPrice() != null
+                    ? realEstate.getPrice().movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact() : 0;
+            orderKeys[id] = KeysetHeap.orderKey(realEstate.getListingDate(), id);
+            if (realEstate.getAreaSqm() != null) {
+                areas[id] = realEstate.getAreaSqm();
+                withArea.add(id);
+            }
+            addTo(byCity, realEstate.getCity(), id);
+            addTo(byRoomConfig, realEstate.getRoomConfig(), id);
+            addTo(bySellerType, realEstate.getSellerType(), id);
+            byStatus.get(Listing.Status.Active).add(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onRealEstateRemoved(RealEstateSummaryDTO realEstate) {
+        lock.writeLock().lock();
+        try {
+            byStatus.get(Listing.Status.Active).remove(realEstate.getListingId());
+            if (realEstate.getStatus() != null && realEstate.getStatus() != Listing.Status.Active) {
+                byStatus.get(realEstate.getStatus()).add(realEstate.getListingId());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onCatalogLoaded() {
+        loaded = true;
+    }
+
+    private RoaringBitmap active() {
+        return byStatus.get(Listing.Status.Active);
+    }
+
+    // bitmap AND the value's bitmap; an empty / null value is no filter
+    private static RoaringBitmap and(RoaringBitmap bitmap, String value, Map<String, RoaringBitmap> index) {
+        if (value == null || value.isEmpty()) {
+            return bitmap;
+        }
+        RoaringBitmap values = index.get(value);
+        return values != null ? bitmap.and(values) : new RoaringBitmap();
+    }
+
+    // Option -> matches within base (0 for options whose listings are all inactive)
+    private static Map<String, Long> counts(RoaringBitmap base, TreeMap<String, RoaringBitmap> index) {
+        Map<String, Long> counts = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        for (Map.Entry<String, RoaringBitmap> entry : index.entrySet()) {
+            counts.put(entry.getKey(), base.andCardinality(entry.getValue()));
+        }
+        return counts;
+    }
+
+    private RoaringBitmap rangeMatches(RoaringBitmap candidates, Ranges ranges) {
+        RoaringBitmap result = new RoaringBitmap();
+        for (PrimitiveIterator.OfInt ids = candidates.iterator(); ids.hasNext(); ) {
+            int id = ids.nextInt();
+            if (ranges.matches(priceCents[id], areas[id])) {
+                result.add(id);
+            }
+        }
+        return result;
+    }
+
+    private static void addTo(Map<String, RoaringBitmap> index, String value, int id) {
+        if (value != null) {
+            index.computeIfAbsent(value, v -> new RoaringBitmap()).add(id);
+        }
+    }
+
+    private void ensureCapacity(int id) {
+        if (id >= orderKeys.length) {
+            int capacity = Math.max(id + 1, orderKeys.length * 2);
+            priceCents = Arrays.copyOf(priceCents, capacity);
+            areas = Arrays.copyOf(areas, capacity);
+            orderKeys = Arrays.copyOf(orderKeys, capacity);
+        }
+    }
+
+    // Price / area bounds of the filter; null bounds are open
+    private static class Ranges {
+        private final long minPriceCents;
+        private final long maxPriceCents;
+        private final int minArea;
+        private final int maxArea;
+        private final boolean hasPrice;
+        private final boolean hasArea;
+
+        Ranges(BigDecimal minPrice, BigDecimal maxPrice, Integer minArea, Integer maxArea) {
+            // Round the bounds inwards so the cent comparison matches the DECIMAL one
+            this.minPriceCents = minPrice != null
+                    ? minPrice.movePointRight(2).setScale(0, RoundingMode.CEILING).longValue() : Long.MIN_VALUE;
+            this.maxPriceCents = maxPrice != null
+                    ? maxPrice.movePointRight(2).setScale(0, RoundingMode.FLOOR).longValue() : Long.MAX_VALUE;
+            this.minArea = minArea != null ? minArea : Integer.MIN_VALUE;
+            this.maxArea = maxArea != null ? maxArea : Integer.MAX_VALUE;
+            this.hasPrice = minPrice != null || maxPrice != null;
+            this.hasArea = minArea != null || maxArea != null;
+        }
+
+        boolean isSet() {
+            return hasPrice || hasArea;
+        }
+
+        boolean matches(long priceCents, int area) {
+            return (priceCents >= minPriceCents) & (priceCents <= maxPriceCents)
+                    & (area >= minArea) & (area <= maxArea);
+        }
+    }
+
+    public static class SearchResult {
+        private final int[] listingIds;
+        private final long total;
+
+        SearchResult(int[] listingIds, long total) {
+            this.listingIds = listingIds;
+            this.total = total;
+        }
+
+        // In page order (see KeysetHeap.listingIds())
+        public int[] getListingIds() { return listingIds; }
+        public long getTotal() { return total; }
+    }
+}
@@ -0,0 +1,94 @@
+package com.minisahibinden.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.minisahibinden.repository.VehicleRepository;
+import com.minisahibinden.util.ReportExportWriter;
+
+/**
+ * Full-result exports of the /queries reports. Rows go from the JDBC cursor straight to the
+ * writer, so memory use doesn't depend on the number of rows exported.
+ */
+@Service
+public class ReportExportService {
+
+    private static final String[] VEHICLE_COLUMNS = {
+            "listingId", "modelYear", "modelName", "price", "kilometers", "listingDate", "seller"
+    };
+
+    private static final String[] VEHICLE_DETAIL_COLUMNS = {
+            "listingId", "modelYear", "modelName", "price", "kilometers", "userId", "userFullName", "userEmail"
+    };
+
+    private final VehicleRepository vehicleRepository;
+    private final ComplexQueryService complexQueryService;
+
+    public ReportExportService(VehicleRepository vehicleRepository, ComplexQueryService complexQueryService) {
+        this.vehicleRepository = vehicleRepository;
+        this.complexQueryService = complexQueryService;
+    }
+
+    // Returns the number of rows written
+    @Transactional(readOnly = true)
+    public long exportComplexFilter(Integer minYear, Integer maxYear, BigDecimal minPrice, BigDecimal maxPrice,
+                                    Integer maxKilometers, String keyword, String sortBy,
+                                    ReportExportWriter.Format format, Writer out) throws IOException {
+        try (Stream<Object[]> rows = vehicleRepository.streamVehiclesWithComplexFilterSQL(
+                minYear, maxYear, minPrice, maxPrice, maxKilometers, keyword, sortBy)) {
+            return write(rows, format, out);
+        }
+    }
+
+    // Returns the number of rows written
+    @Transactional(readOnly = true)
+    public long exportTopPerYear(int topN, ReportExportWriter.Format format, Writer out) throws IOException {
+        try (Stream<Object[]> rows = vehicleRepository.streamTopVehiclesPerYearSQL(topN)) {
+            return write(rows, format, out);
+        }
+    }
+
+    /**
+     * Active vehicles with their seller (the VehicleDetailDTO feed), read in keyset batches
+     * rather than one cursor, so no transaction is held open for the whole export.
+     * Returns the number of rows written.
+     */
+    public long exportVehicleDetails(ReportExportWriter.Format format, Writer out) throws IOException {
+        ReportExportWriter writer = new ReportExportWriter(out, format, VEHICLE_DETAIL_COLUMNS);
+        long count;
+        try {
+            count = complexQueryService.forEachVehicleWithFullDetails(row -> {
+                try {
+                    writer.writeRow(new Object[] {
+                            row.getListingId(), row.getModelYear(), row.getModelName(), row.getPrice(),
+                            row.getKilometers(), row.getUserId(), row.getUserFullName(), row.getUserEmail()
+                    });
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+        return count;
+    }
+
+    private static long write(Stream<Object[]> rows, ReportExportWriter.Format format, Writer out) throws IOException {
+        ReportExportWriter writer = new ReportExportWriter(out, format, VEHICLE_COLUMNS);
+        long count = 0;
+        for (Iterator<Object[]> it = rows.iterator(); it.hasNext(); ) {
+            writer.writeRow(it.next());
+            count++;
+        }
+        writer.flush();
+        return count;
+    }
+}
@@ -0,0 +1,135 @@
+package com.minisahibinden.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import com.minisahibinden.dto.VehicleSummaryDTO;
+import com.minisahibinden.repository.VehicleRepository;
+import com.minisahibinden.util.PricedListing;
+
+/**
+ * The K most expensive active vehicles of every model year (K = the largest topN the
+ * top-per-year report accepts), so the report is a walk over at most K entries per year instead
+ * of a window-function ranking of every active vehicle.
+ *
+ * Only the top K are kept in memory. When one of them leaves the catalog and the year has more
+ * active vehicles than are still kept, the year is refilled from the database.
+ */
+@Service
+public class TopVehiclesPerYearIndex implements CatalogChangeListener {
+
+    private final VehicleRepository vehicleRepository;
+    private final int maxN;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // Model year -> its top K, most expensive first (newer listing first on ties)
+    private final TreeMap<Integer, TreeSet<PricedListing>> topByYear = new TreeMap<>();
+    // Model year -> number of active vehicles, kept or not
+    private final Map<Integer, Integer> activeCountByYear = new HashMap<>();
+    private volatile boolean loaded;
+
+    public TopVehiclesPerYearIndex(VehicleRepository vehicleRepository,
+                                   @Value("${minisahibinden.top-per-year.max-n:10}") int maxN) {
+        this.vehicleRepository = vehicleRepository;
+        this.maxN = maxN;
+    }
+
+    // False during startup, before the catalog has been replayed
+    public boolean isReady() {
+        return loaded;
+    }
+
+    // Largest topN the index can answer
+    public int getMaxN() {
+        return maxN;
+    }
+
+    // Listing ids of the topN most expensive vehicles of each year, newest year first
+    public List<Integer> topListingIds(int topN) {
+        lock.readLock().lock();
+        try {
+            List<Integer> ids = new ArrayList<>();
+            for (TreeSet<PricedListing> top : topByYear.descendingMap().values()) {
+                int taken = 0;
+                for (PricedListing listing : top) {
+                    if (taken++ >= topN) break;
+                    ids.add(listing.getListingId());
+                }
+            }
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void onVehicleAdded(VehicleSummaryDTO vehicle) {
+        if (vehicle.getModelYear() == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            activeCountByYear.merge(vehicle.getModelYear(), 1, Integer::sum);
+            TreeSet<PricedListing> top = topByYear.computeIfAbsent(vehicle.getModelYear(),
+                    y -> new TreeSet<>(PricedListing.PRICE_DESC));
+            top.add(new PricedListing(vehicle.getPrice(), vehicle.getListingId()));
+            if (top.size() > maxN) {
+                top.pollLast();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onVehicleRemoved(VehicleSummaryDTO vehicle) {
+        Integer year = vehicle.getModelYear();
+        if (year == null) {
+            return;
+        }
+        boolean refill;
+        lock.writeLock().lock();
+        try {
+            int remaining = activeCountByYear.merge(year, -1, Integer::sum);
+            if (remaining <= 0) {
+                activeCountByYear.remove(year);
+                topByYear.remove(year);
+                return;
+            }
+            TreeSet<PricedListing> top = topByYear.get(year);
+            boolean wasKept = top != null && top.remove(new PricedListing(vehicle.getPrice(), vehicle.getListingId()));
+            refill = wasKept && remaining > top.size();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        // Catalog callbacks never run concurrently, so nothing changes this year in between;
+        // readers meanwhile see the year one entry short
+        if (refill) {
+            List<VehicleSummaryDTO> rows = vehicleRepository.findTopActiveSummariesByYear(year, Limit.of(maxN));
+            TreeSet<PricedListing> top = new TreeSet<>(PricedListing.PRICE_DESC);
+            for (VehicleSummaryDTO row : rows) {
+                top.add(new PricedListing(row.getPrice(), row.getListingId()));
+            }
+            lock.writeLock().lock();
+            try {
+                topByYear.put(year, top);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    @Override
+    public void onCatalogLoaded() {
+        loaded = true;
+    }
+}
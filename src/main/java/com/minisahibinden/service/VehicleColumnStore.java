@@ -0,0 +1,86 @@
+package com.minisahibinden.service;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.stereotype.Service;
+
+import com.minisahibinden.dto.ListingCursor;
+import com.minisahibinden.dto.VehicleSummaryDTO;
+import com.minisahibinden.util.KeysetHeap;
+import com.minisahibinden.util.VehicleColumns;
+
+/**
+ * Active vehicles as primitive columns (see VehicleColumns), answering the advanced filter and
+ * the plain newest-first grid without going to MySQL. Scans run under a shared read lock;
+ * posts and deletes take the write lock for a single row update.
+ */
+@Service
+public class VehicleColumnStore implements CatalogChangeListener {
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final VehicleColumns columns = new VehicleColumns();
+    private volatile boolean loaded;
+
+    // False during startup, before the catalog has been replayed
+    public boolean isReady() {
+        return loaded;
+    }
+
+    /**
+     * One keyset page of listing ids (see VehicleColumns.seek) plus the exact filtered total.
+     * modelNames are exact names to keep, or null for any model.
+     */
+    public VehicleColumns.SeekResult seek(Integer minYear, Integer maxYear, BigDecimal minPrice, BigDecimal maxPrice,
+                                          Integer minKm, Integer maxKm, Collection<String> modelNames,
+                                          ListingCursor cursor, boolean older, int limit) {
+        lock.readLock().lock();
+        try {
+            boolean[] nameMask = modelNames != null ? columns.nameMask(modelNames) : null;
+            VehicleColumns.Filter filter = new VehicleColumns.Filter(minYear, maxYear, minPrice, maxPrice,
+                    minKm, maxKm, nameMask);
+            long cursorKey = KeysetHeap.orderKey(cursor.getListingDate(), cursor.getListingId());
+            return columns.seek(filter, cursorKey, older, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Up to limit listing ids in the price / km ranges (null bounds are open), most expensive first
+    public int[] mostExpensive(BigDecimal minPrice, BigDecimal maxPrice, Integer minKm, Integer maxKm, int limit) {
+        lock.readLock().lock();
+        try {
+            return columns.mostExpensive(new VehicleColumns.Filter(null, null, minPrice, maxPrice, minKm, maxKm, null),
+                    limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void onVehicleAdded(VehicleSummaryDTO vehicle) {
+        lock.writeLock().lock();
+        try {
+            columns.add(vehicle.getListingId(), vehicle.getListingDate(), vehicle.getModelYear(),
+                    vehicle.getKilometers(), vehicle.getPrice(), vehicle.getModelName());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onVehicleRemoved(VehicleSummaryDTO vehicle) {
+        lock.writeLock().lock();
+        try {
+            columns.remove(vehicle.getListingId());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onCatalogLoaded() {
+        loaded = true;
+    }
+}
@@ -0,0 +1,62 @@
+package com.minisahibinden.service;
+
+import java.math.BigDecimal;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.minisahibinden.repository.VehicleYearStatsRepository;
+
+/**
+ * Keeps the VehicleYearStats table (price sum and count of active vehicles per model year)
+ * in step with the catalog, so the "good deal" query compares against a stored average
+ * instead of recomputing AVG(price) per row.
+ *
+ * The table is rebuilt with one INSERT ... SELECT when the startup replay finishes
+ * (that also covers rows written by data.sql or the seeder); after that every post / delete
+ * applies a single-row delta. CatalogService applies it in the transaction that writes the
+ * listing, so the stored sum can't drift from the table when one of the two fails.
+ */
+@Service
+public class VehicleYearStatsService implements CatalogChangeListener {
+
+    private final VehicleYearStatsRepository vehicleYearStatsRepository;
+    private final TransactionTemplate transactionTemplate;
+    private volatile boolean loaded;
+
+    public VehicleYearStatsService(VehicleYearStatsRepository vehicleYearStatsRepository,
+                                   PlatformTransactionManager transactionManager) {
+        this.vehicleYearStatsRepository = vehicleYearStatsRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    // False until the table has been rebuilt on startup
+    public boolean isReady() {
+        return loaded;
+    }
+
+    // A vehicle became active; call in the transaction that inserts it
+    public void vehicleAdded(Integer modelYear, BigDecimal price) {
+        // During the replay the rebuild below counts the row
+        if (loaded && modelYear != null && price != null) {
+            vehicleYearStatsRepository.addActive(modelYear, price);
+        }
+    }
+
+    // An active vehicle was deleted or sold; call in the transaction that changes its status
+    public void vehicleRemoved(Integer modelYear, BigDecimal price) {
+        if (loaded && modelYear != null && price != null) {
+            vehicleYearStatsRepository.removeActive(modelYear, price);
+        }
+    }
+
+    @Override
+    public void onCatalogLoaded() {
+        transactionTemplate.executeWithoutResult(status -> {
+            vehicleYearStatsRepository.clear();
+            vehicleYearStatsRepository.recomputeAll();
+        });
+        loaded = true;
+    }
+}
@@ -0,0 +1,252 @@
+package com.minisahibinden.util;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import com.github.javafaker.Faker;
+
+/**
+ * Bulk synthetic data for the "bulk-seed" profile: appends N users, vehicles, real estate
+ * listings and favorites before the catalog is loaded, e.g.
+ * {@code java -jar app.jar --spring.profiles.active=bulk-seed --minisahibinden.bulk-seed.vehicles=1000000}
+ *
+ * Rows are written by worker threads, each with its own connection, as multi-row INSERTs of
+ * batch-rows rows, one transaction per chunk. User and listing ids are reserved up front from
+ * IdSequences (each chunk owns a disjoint range) so a vehicle / real estate row can be written in
+ * the same statement batch as its listing. Models, years, cities, rooms and dates are drawn
+ * from the sample files (see SeedSamples), prices, kilometers and areas shifted by up to 15-20%.
+ */
+@Component
+@Profile("bulk-seed")
+public class BulkDataGenerator implements CommandLineRunner {
+
+    // Share of generated listings that are already sold
+    private static final int SOLD_PERCENT = 5;
+    // MySQL allows 65,535 placeholders per statement; the widest insert (RealEstate) has 7 columns
+    private static final int MAX_BATCH_ROWS = 65_535 / 7;
+
+    private final DataSource dataSource;
+    private final int users;
+    private final int vehicles;
+    private final int realEstates;
+    private final int favorites;
+    private final int threads;
+    private final int batchRows;
+
+    public BulkDataGenerator(DataSource dataSource,
+                             @Value("${minisahibinden.bulk-seed.users:10000}") int users,
+                             @Value("${minisahibinden.bulk-seed.vehicles:500000}") int vehicles,
+                             @Value("${minisahibinden.bulk-seed.real-estates:500000}") int realEstates,
+                             @Value("${minisahibinden.bulk-seed.favorites:100000}") int favorites,
+                             @Value("${minisahibinden.bulk-seed.threads:4}") int threads,
+                             @Value("${minisahibinden.bulk-seed.batch-rows:1000}") int batchRows) {
+        if (batchRows < 1 || batchRows > MAX_BATCH_ROWS) {
+            throw new IllegalArgumentException("minisahibinden.bulk-seed.batch-rows must be between 1 and "
+                    + MAX_BATCH_ROWS + ", was " + batchRows);
+        }
+        this.dataSource = dataSource;
+        this.users = users;
+        this.vehicles = vehicles;
+        this.realEstates = realEstates;
+        this.favorites = favorites;
+        this.threads = threads;
+        this.batchRows = batchRows;
+    }
+
+    @Override
+    public void run(String... args) throws Exception {
+        SeedSamples samples = SeedSamples.load();
+        List<LocalDate> dates = samples.getHouses().stream()
+                .map(SeedSamples.House::getListingDate).filter(date -> date != null).toList();
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService workers = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "bulk-seed-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            int firstUser = IdAllocator.reserve(dataSource, "Users", users);
+            phase(workers, "users", users, (connection, random, from, to) ->
+                    insertUsers(connection, random, firstUser + from, firstUser + to));
+
+            int[] userIds = ids("SELECT user_id FROM Users");
+            if (userIds.length == 0) {
+                System.err.println("Bulk seed: no users, skipping listings");
+                return;
+            }
+            int firstVehicle = IdAllocator.reserve(dataSource, "Listings", vehicles + realEstates);
+            int firstRealEstate = firstVehicle + vehicles;
+            phase(workers, "vehicles", vehicles, (connection, random, from, to) ->
+                    insertVehicles(connection, random, samples.getCars(), dates, userIds,
+                            firstVehicle + from, firstVehicle + to));
+            phase(workers, "real estate listings", realEstates, (connection, random, from, to) ->
+                    insertRealEstates(connection, random, samples.getHouses(), dates, userIds,
+                            firstRealEstate + from, firstRealEstate + to));
+
+            int listings = vehicles + realEstates;
+            if (listings > 0) {
+                phase(workers, "favorites", favorites, (connection, random, from, to) ->
+                        insertFavorites(connection, random, userIds, firstVehicle, listings, to - from));
+            }
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    // Rows [from, to) of one phase, written on one connection
+    private interface Chunk {
+        void write(Connection connection, SplittableRandom random, int from, int to) throws SQLException;
+    }
+
+    // Splits count rows into chunks of ten statements and runs them on the workers
+    private void phase(ExecutorService workers, String name, int count, Chunk chunk)
+            throws InterruptedException, ExecutionException {
+        if (count <= 0) {
+            return;
+        }
+        long start = System.nanoTime();
+        int chunkRows = batchRows * 10;
+        List<Future<?>> pending = new ArrayList<>();
+        for (int from = 0; from < count; from += chunkRows) {
+            int chunkFrom = from;
+            int chunkTo = Math.min(count, from + chunkRows);
+            // Seeded per chunk: the same settings generate the same rows whatever the thread count
+            SplittableRandom random = new SplittableRandom(name.hashCode() * 31L + chunkFrom);
+            pending.add(workers.submit(() -> {
+                try (Connection connection = dataSource.getConnection()) {
+                    connection.setAutoCommit(false);
+                    chunk.write(connection, random, chunkFrom, chunkTo);
+                    connection.commit();
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : pending) {
+            future.get();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.println(String.format(Locale.ROOT, "Bulk seed: %d %s in %.1f s (%.0f rows/s)",
+                count, name, seconds, count / seconds));
+    }
+
+    private void insertUsers(Connection connection, SplittableRandom random, int fromId, int toId)
+            throws SQLException {
+        Faker faker = new Faker(new Random(random.nextLong()));
+        try (MultiRowInsert insert = new MultiRowInsert(connection,
+                "INSERT INTO Users (user_id, full_name, email, phone, password)", 5, batchRows)) {
+            for (int id = fromId; id < toId; id++) {
+                String first = faker.name().firstName();
+                String last = faker.name().lastName();
+                String email = (first + "." + last).toLowerCase(Locale.ROOT).replaceAll("[^a-z.]", "")
+                        + "." + id + "@example.com";
+                // Password is the user id, like the sample users
+                insert.add(id, first + " " + last, email, faker.phoneNumber().cellPhone(), String.valueOf(id));
+            }
+        }
+    }
+
+    private void insertVehicles(Connection connection, SplittableRandom random, List<SeedSamples.Car> cars,
+                                List<LocalDate> dates, int[] userIds, int fromId, int toId) throws SQLException {
+        try (MultiRowInsert listings = listingInsert(connection);
+             MultiRowInsert details = new MultiRowInsert(connection,
+                     "INSERT INTO Vehicles (listing_id, model_year, model_name, kilometers)", 4, batchRows)) {
+            for (int id = fromId; id < toId; id++) {
+                SeedSamples.Car car = cars.get(random.nextInt(cars.size()));
+                addListing(listings, random, id, userIds, shifted(car.getPrice(), random, 15), dates, "Vehicle");
+                details.add(id, car.getModelYear(), car.getModelName(),
+                        car.getKilometers() * (80 + random.nextInt(41)) / 100);
+            }
+            // Both fill in step, so a full batch of listings is always written before its details;
+            // the tail too, rather than in the (reverse) close order
+            listings.flush();
+            details.flush();
+        }
+    }
+
+    private void insertRealEstates(Connection connection, SplittableRandom random, List<SeedSamples.House> houses,
+                                   List<LocalDate> dates, int[] userIds, int fromId, int toId) throws SQLException {
+        try (MultiRowInsert listings = listingInsert(connection);
+             MultiRowInsert details = new MultiRowInsert(connection,
+                     "INSERT INTO RealEstate (listing_id, seller_type, area_sqm, room_config, city, district, neighborhood)",
+                     7, batchRows)) {
+            for (int id = fromId; id < toId; id++) {
+                SeedSamples.House house = houses.get(random.nextInt(houses.size()));
+                addListing(listings, random, id, userIds, shifted(house.getPrice(), random, 15), dates, "RealEstate");
+                details.add(id, house.getSellerType(), Math.max(1, house.getAreaSqm() * (90 + random.nextInt(21)) / 100),
+                        house.getRoomConfig(), house.getCity(), house.getDistrict(), house.getNeighborhood());
+            }
+            listings.flush();
+            details.flush();
+        }
+    }
+
+    // count random (user, listing) pairs among the generated listings; pairs that already exist are skipped
+    private void insertFavorites(Connection connection, SplittableRandom random, int[] userIds, int firstListing,
+                                 int listings, int count) throws SQLException {
+        try (MultiRowInsert insert = new MultiRowInsert(connection,
+                "INSERT IGNORE INTO Favorites (user_id, listing_id)", 2, batchRows)) {
+            for (int i = 0; i < count; i++) {
+                insert.add(userIds[random.nextInt(userIds.length)], firstListing + random.nextInt(listings));
+            }
+        }
+    }
+
+    private MultiRowInsert listingInsert(Connection connection) throws SQLException {
+        return new MultiRowInsert(connection,
+                "INSERT INTO Listings (listing_id, user_id, price, listing_date, category, status)", 6, batchRows);
+    }
+
+    // Listed within the year before one of the sample dates
+    private static void addListing(MultiRowInsert listings, SplittableRandom random, int id, int[] userIds,
+                                   BigDecimal price, List<LocalDate> dates, String category) throws SQLException {
+        LocalDate date = dates.get(random.nextInt(dates.size())).minusDays(random.nextInt(365));
+        String status = random.nextInt(100) < SOLD_PERCENT ? "Sold" : "Active";
+        listings.add(id, userIds[random.nextInt(userIds.length)], price, date, category, status);
+    }
+
+    // Value moved by up to +/- percent, whole lira
+    private static BigDecimal shifted(BigDecimal value, SplittableRandom random, int percent) {
+        int factor = 100 - percent + random.nextInt(2 * percent + 1);
+        return value.multiply(BigDecimal.valueOf(factor)).divide(BigDecimal.valueOf(100), 0, RoundingMode.HALF_UP);
+    }
+
+    private int[] ids(String sql) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(sql)) {
+            int[] ids = new int[1024];
+            int n = 0;
+            while (rs.next()) {
+                if (n == ids.length) {
+                    ids = Arrays.copyOf(ids, n * 2);
+                }
+                ids[n++] = rs.getInt(1);
+            }
+            return Arrays.copyOf(ids, n);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.minisahibinden.util;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.regex.Matcher;
+
+/**
+ * allcar_2025.csv and files like it: despite the name an INSERT statement with one
+ * (model_year, 'model', price, kilometers) tuple per line, kilometers in hundreds. The file has
+ * no dates, so every row is listed on the given date.
+ */
+public class CarFeed implements ListingFeed {
+
+    private final LocalDate listingDate;
+
+    public CarFeed(LocalDate listingDate) {
+        this.listingDate = listingDate;
+    }
+
+    @Override
+    public String getName() { return "car"; }
+
+    @Override
+    public int getHeaderLines() { return 0; }
+
+    @Override
+    public String[] split(String line) {
+        Matcher row = SeedSamples.CAR_ROW.matcher(line);
+        if (!row.find()) {
+            return null;
+        }
+        return new String[] {row.group(1), row.group(2).replace("''", "'"), row.group(3), row.group(4)};
+    }
+
+    @Override
+    public FeedRow normalize(String[] fields) {
+        int modelYear = Integer.parseInt(fields[0]);
+        if (modelYear < 1950 || modelYear > listingDate.getYear() + 1) {
+            throw new IllegalArgumentException("model year out of range: " + modelYear);
+        }
+        String modelName = fields[1].trim().replaceAll("\\s+", " ");
+        if (modelName.isEmpty() || modelName.length() > 150) {
+            throw new IllegalArgumentException("model name empty or too long");
+        }
+        BigDecimal price = new BigDecimal(fields[2]);
+        if (price.signum() <= 0) {
+            throw new IllegalArgumentException("price not positive");
+        }
+        // Hundreds of kilometers; the regex only admits digits, so never negative
+        int hundreds = Integer.parseInt(fields[3]);
+        if (hundreds > 20_000) {
+            throw new IllegalArgumentException("kilometers out of range: " + hundreds + "00");
+        }
+        int kilometers = hundreds * 100;
+        return FeedRow.vehicle(price, listingDate, modelYear, modelName, kilometers);
+    }
+}
@@ -0,0 +1,66 @@
+package com.minisahibinden.util;
+
+import java.time.LocalDate;
+import java.util.Locale;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+/**
+ * Ingests the configured car and house feed files on startup (profile "ingest"), before the
+ * catalog is loaded, e.g.
+ * {@code java -jar app.jar --spring.profiles.active=ingest --minisahibinden.ingest.car-files=file:/feeds/cars.csv}
+ * See IngestionPipeline. Rows already ingested by an earlier run are skipped. No files are
+ * configured by default: data.sql already holds the bundled sample files.
+ */
+@Component
+@Profile("ingest")
+public class CatalogIngestion implements CommandLineRunner {
+
+    private final ResourceLoader resourceLoader;
+    private final IngestionPipeline pipeline;
+    private final String[] carFiles;
+    private final String[] houseFiles;
+
+    public CatalogIngestion(DataSource dataSource, ResourceLoader resourceLoader,
+                            @Value("${minisahibinden.ingest.car-files:}") String[] carFiles,
+                            @Value("${minisahibinden.ingest.house-files:}") String[] houseFiles,
+                            @Value("${minisahibinden.ingest.validators:2}") int validators,
+                            @Value("${minisahibinden.ingest.writers:2}") int writers,
+                            @Value("${minisahibinden.ingest.batch-rows:500}") int batchRows,
+                            @Value("${minisahibinden.ingest.queue-chunks:8}") int queueChunks) {
+        this.resourceLoader = resourceLoader;
+        this.pipeline = new IngestionPipeline(dataSource, validators, writers, batchRows, queueChunks);
+        this.carFiles = carFiles;
+        this.houseFiles = houseFiles;
+    }
+
+    @Override
+    public void run(String... args) throws Exception {
+        // The car files have no dates: listed today
+        ListingFeed cars = new CarFeed(LocalDate.now());
+        for (String location : carFiles) {
+            ingest(cars, location);
+        }
+        ListingFeed houses = new HouseFeed();
+        for (String location : houseFiles) {
+            ingest(houses, location);
+        }
+    }
+
+    private void ingest(ListingFeed feed, String location) throws Exception {
+        if (location.isBlank()) {
+            return;
+        }
+        IngestionPipeline.Report report = pipeline.run(feed, resourceLoader.getResource(location.trim()));
+        System.out.println(String.format(Locale.ROOT,
+                "Ingested %s: %d rows, %d new, %d already ingested, %d rejected in %.1f s (%.0f rows/s)",
+                report.getSource(), report.getLines(), report.getWritten(), report.getDuplicates(),
+                report.getRejected(), report.getSeconds(), report.getRowsPerSecond()));
+    }
+}
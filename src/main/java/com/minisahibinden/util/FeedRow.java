@@ -0,0 +1,69 @@
+package com.minisahibinden.util;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * A validated listing from a feed, ready to be written: the Listings columns plus those of
+ * either Vehicles or RealEstate.
+ */
+public final class FeedRow {
+
+    private final String category;
+    private final BigDecimal price;
+    private final LocalDate listingDate;
+    // Vehicle
+    private final int modelYear;
+    private final String modelName;
+    private final int kilometers;
+    // Real estate
+    private final String sellerType;
+    private final int areaSqm;
+    private final String roomConfig;
+    private final String city;
+    private final String district;
+    private final String neighborhood;
+
+    private FeedRow(String category, BigDecimal price, LocalDate listingDate, int modelYear, String modelName,
+                    int kilometers, String sellerType, int areaSqm, String roomConfig, String city,
+                    String district, String neighborhood) {
+        this.category = category;
+        this.price = price;
+        this.listingDate = listingDate;
+        this.modelYear = modelYear;
+        this.modelName = modelName;
+        this.kilometers = kilometers;
+        this.sellerType = sellerType;
+        this.areaSqm = areaSqm;
+        this.roomConfig = roomConfig;
+        this.city = city;
+        this.district = district;
+        this.neighborhood = neighborhood;
+    }
+
+    public static FeedRow vehicle(BigDecimal price, LocalDate listingDate, int modelYear, String modelName,
+                                  int kilometers) {
+        return new FeedRow("Vehicle", price, listingDate, modelYear, modelName, kilometers,
+                null, 0, null, null, null, null);
+    }
+
+    public static FeedRow realEstate(BigDecimal price, LocalDate listingDate, String sellerType, int areaSqm,
+                                     String roomConfig, String city, String district, String neighborhood) {
+        return new FeedRow("RealEstate", price, listingDate, 0, null, 0,
+                sellerType, areaSqm, roomConfig, city, district, neighborhood);
+    }
+
+    public boolean isVehicle() { return "Vehicle".equals(category); }
+    public String getCategory() { return category; }
+    public BigDecimal getPrice() { return price; }
+    public LocalDate getListingDate() { return listingDate; }
+    public int getModelYear() { return modelYear; }
+    public String getModelName() { return modelName; }
+    public int getKilometers() { return kilometers; }
+    public String getSellerType() { return sellerType; }
+    public int getAreaSqm() { return areaSqm; }
+    public String getRoomConfig() { return roomConfig; }
+    public String getCity() { return city; }
+    public String getDistrict() { return district; }
+    public String getNeighborhood() { return neighborhood; }
+}
@@ -0,0 +1,52 @@
+package com.minisahibinden.util;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * processed_turkish_house_sales.csv and files like it: a header line, then
+ * satici_tip, Metrekare, Oda_Sayisi, il, Ilce, Mahalle, Tarih, fiyat without quoting, dates
+ * like "16 Mayıs  2025". Seller type and neighborhood are translated as in data.sql.
+ */
+public class HouseFeed implements ListingFeed {
+
+    @Override
+    public String getName() { return "house"; }
+
+    @Override
+    public int getHeaderLines() { return 1; }
+
+    @Override
+    public String[] split(String line) {
+        return line.isBlank() ? null : line.split(",", -1);
+    }
+
+    @Override
+    public FeedRow normalize(String[] fields) {
+        if (fields.length != 8) {
+            throw new IllegalArgumentException("expected 8 fields, got " + fields.length);
+        }
+        double area = Double.parseDouble(fields[1].trim());
+        if (area < 1 || area > 100_000) {
+            throw new IllegalArgumentException("area out of range: " + fields[1].trim());
+        }
+        String roomConfig = fields[2].trim();
+        String city = fields[3].trim();
+        String district = fields[4].trim();
+        String neighborhood = SeedSamples.neighborhood(fields[5]);
+        if (city.isEmpty() || city.length() > 50 || district.length() > 50 || roomConfig.length() > 20
+                || neighborhood.length() > 100) {
+            throw new IllegalArgumentException("location or room config empty or too long");
+        }
+        LocalDate listingDate = TurkishDates.parse(fields[6]);
+        if (listingDate == null) {
+            throw new IllegalArgumentException("unreadable date: '" + fields[6].trim() + "'");
+        }
+        BigDecimal price = new BigDecimal(fields[7].trim());
+        if (price.signum() <= 0) {
+            throw new IllegalArgumentException("price not positive");
+        }
+        return FeedRow.realEstate(price, listingDate, SeedSamples.sellerType(fields[0]), (int) Math.round(area),
+                roomConfig.isEmpty() ? null : roomConfig, city, district.isEmpty() ? null : district, neighborhood);
+    }
+}
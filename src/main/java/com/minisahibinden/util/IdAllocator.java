@@ -0,0 +1,50 @@
+package com.minisahibinden.util;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+/**
+ * Reserves blocks of ids from the IdSequences table for writers that bypass Hibernate (bulk seed,
+ * feed ingestion). Same row and semantics as the entities' @TableGenerator (pooled-lo: next_val is
+ * the first free id), so ids from both never collide.
+ */
+public final class IdAllocator {
+
+    private IdAllocator() {}
+
+    /**
+     * Reserves count consecutive ids of the named sequence and returns the first, in a
+     * transaction of its own (ids of a rolled back write are simply skipped).
+     */
+    public static int reserve(DataSource dataSource, String sequence, int count) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            long first;
+            try (PreparedStatement select = connection.prepareStatement(
+                    "SELECT next_val FROM IdSequences WHERE name = ? FOR UPDATE")) {
+                select.setString(1, sequence);
+                try (ResultSet rs = select.executeQuery()) {
+                    if (!rs.next()) {
+                        throw new IllegalStateException("IdSequences has no row for " + sequence);
+                    }
+                    first = rs.getLong(1);
+                }
+            }
+            if (first + count - 1 > Integer.MAX_VALUE) {
+                throw new IllegalStateException("Sequence " + sequence + " exhausted");
+            }
+            try (PreparedStatement update = connection.prepareStatement(
+                    "UPDATE IdSequences SET next_val = ? WHERE name = ?")) {
+                update.setLong(1, first + count);
+                update.setString(2, sequence);
+                update.executeUpdate();
+            }
+            connection.commit();
+            return (int) first;
+        }
+    }
+}
@@ -0,0 +1,351 @@
+package com.minisahibinden.util;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.sql.DataSource;
+
+import org.springframework.core.io.Resource;
+
+/**
+ * Streams one feed file into the catalog through three stages joined by bounded queues:
+ * a reader splitting lines into fields (ListingFeed.split), validator threads normalizing them
+ * (ListingFeed.normalize) and writer threads inserting chunks of rows with multi-row INSERTs, one
+ * transaction per chunk. A full queue blocks the stage before it, so memory stays bounded by
+ * the queue sizes whatever the file size.
+ *
+ * Every written row is recorded in IngestedRows under its source_ref (feed name + hash of the
+ * raw fields) in the same transaction as the listing, so re-running a file, or resuming after
+ * a failure, only adds the rows not written yet.
+ */
+public class IngestionPipeline {
+
+    /**
+     * Outcome of one file.
+     */
+    public static class Report {
+        private final String source;
+        private final long lines;
+        private final long written;
+        private final long duplicates;
+        private final long rejected;
+        private final double seconds;
+
+        Report(String source, long lines, long written, long duplicates, long rejected, double seconds) {
+            this.source = source;
+            this.lines = lines;
+            this.written = written;
+            this.duplicates = duplicates;
+            this.rejected = rejected;
+            this.seconds = seconds;
+        }
+
+        public String getSource() { return source; }
+        // Lines holding a listing
+        public long getLines() { return lines; }
+        public long getWritten() { return written; }
+        // Already ingested by an earlier run, or repeated in the file
+        public long getDuplicates() { return duplicates; }
+        // Failed validation
+        public long getRejected() { return rejected; }
+        public double getSeconds() { return seconds; }
+        public double getRowsPerSecond() { return seconds > 0 ? lines / seconds : 0; }
+    }
+
+    // Rejections printed per file; the rest are only counted
+    private static final int REJECTIONS_SHOWN = 10;
+
+    private final DataSource dataSource;
+    private final int validators;
+    private final int writers;
+    private final int batchRows;
+    private final int queueChunks;
+
+    public IngestionPipeline(DataSource dataSource, int validators, int writers, int batchRows, int queueChunks) {
+        this.dataSource = dataSource;
+        this.validators = validators;
+        this.writers = writers;
+        this.batchRows = batchRows;
+        this.queueChunks = queueChunks;
+    }
+
+    public Report run(ListingFeed feed, Resource resource) throws SQLException, InterruptedException {
+        int[] userIds = userIds();
+        if (userIds.length == 0) {
+            throw new IllegalStateException("Ingestion needs at least one user to own the listings");
+        }
+        Run run = new Run(feed, resource, userIds);
+        long start = System.nanoTime();
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService stages = Executors.newFixedThreadPool(1 + validators + writers, runnable -> {
+            Thread thread = new Thread(runnable, "ingest-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        CompletionService<Void> completion = new ExecutorCompletionService<>(stages);
+        try {
+            completion.submit(run::read, null);
+            for (int i = 0; i < validators; i++) {
+                completion.submit(run::validate, null);
+            }
+            for (int i = 0; i < writers; i++) {
+                completion.submit(run::write, null);
+            }
+            // The first failing stage stops the others (shutdownNow interrupts their queue waits)
+            for (int i = 0; i < 1 + validators + writers; i++) {
+                completion.take().get();
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Ingestion of " + resource.getDescription() + " failed", e.getCause());
+        } finally {
+            stages.shutdownNow();
+        }
+        return new Report(resource.getFilename(), run.lines.get(), run.written.get(), run.duplicates.get(),
+                run.rejected.get(), (System.nanoTime() - start) / 1e9);
+    }
+
+    private int[] userIds() throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT user_id FROM Users")) {
+            int[] ids = new int[64];
+            int n = 0;
+            while (rs.next()) {
+                if (n == ids.length) {
+                    ids = Arrays.copyOf(ids, n * 2);
+                }
+                ids[n++] = rs.getInt(1);
+            }
+            return Arrays.copyOf(ids, n);
+        }
+    }
+
+    // A data line after the parser stage
+    private static class ParsedLine {
+        final int number;
+        final String[] fields;
+
+        ParsedLine(int number, String[] fields) {
+            this.number = number;
+            this.fields = fields;
+        }
+    }
+
+    // A validated row with its dedup key
+    private static class Ingest {
+        final String sourceRef;
+        final FeedRow row;
+
+        Ingest(String sourceRef, FeedRow row) {
+            this.sourceRef = sourceRef;
+            this.row = row;
+        }
+    }
+
+    // The state of one file going through the stages
+    private class Run {
+        // End of stream marker; compared by identity
+        private final List<ParsedLine> endOfLines = new ArrayList<>(0);
+        private final List<Ingest> endOfRows = new ArrayList<>(0);
+
+        private final ListingFeed feed;
+        private final Resource resource;
+        private final int[] userIds;
+        private final BlockingQueue<List<ParsedLine>> lineChunks = new ArrayBlockingQueue<>(queueChunks);
+        private final BlockingQueue<List<Ingest>> rowChunks = new ArrayBlockingQueue<>(queueChunks);
+        private final AtomicInteger validatorsRunning = new AtomicInteger(validators);
+        // source_refs claimed by a writer during this run
+        private final Set<String> claimed = ConcurrentHashMap.newKeySet();
+        private final AtomicLong lines = new AtomicLong();
+        private final AtomicLong written = new AtomicLong();
+        private final AtomicLong duplicates = new AtomicLong();
+        private final AtomicLong rejected = new AtomicLong();
+
+        Run(ListingFeed feed, Resource resource, int[] userIds) {
+            this.feed = feed;
+            this.resource = resource;
+            this.userIds = userIds;
+        }
+
+        void read() {
+            try (BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
+                List<ParsedLine> chunk = new ArrayList<>(batchRows);
+                int number = 0;
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (++number <= feed.getHeaderLines()) {
+                        continue;
+                    }
+                    String[] fields = feed.split(line);
+                    if (fields == null) {
+                        continue;
+                    }
+                    lines.incrementAndGet();
+                    chunk.add(new ParsedLine(number, fields));
+                    if (chunk.size() == batchRows) {
+                        lineChunks.put(chunk);
+                        chunk = new ArrayList<>(batchRows);
+                    }
+                }
+                if (!chunk.isEmpty()) {
+                    lineChunks.put(chunk);
+                }
+                for (int i = 0; i < validators; i++) {
+                    lineChunks.put(endOfLines);
+                }
+            } catch (Exception e) {
+                throw new IllegalStateException("Could not read " + resource.getDescription(), e);
+            }
+        }
+
+        void validate() {
+            try {
+                MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+                List<ParsedLine> chunk;
+                while ((chunk = lineChunks.take()) != endOfLines) {
+                    List<Ingest> rows = new ArrayList<>(chunk.size());
+                    for (ParsedLine line : chunk) {
+                        try {
+                            rows.add(new Ingest(sourceRef(sha256, line.fields), feed.normalize(line.fields)));
+                        } catch (IllegalArgumentException e) {
+                            if (rejected.incrementAndGet() <= REJECTIONS_SHOWN) {
+                                System.err.println("Ingestion: " + resource.getFilename() + " line " + line.number
+                                        + " rejected: " + e.getMessage());
+                            }
+                        }
+                    }
+                    if (!rows.isEmpty()) {
+                        rowChunks.put(rows);
+                    }
+                }
+                // The last validator out tells the writers
+                if (validatorsRunning.decrementAndGet() == 0) {
+                    for (int i = 0; i < writers; i++) {
+                        rowChunks.put(endOfRows);
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        void write() {
+            try {
+                List<Ingest> chunk;
+                while ((chunk = rowChunks.take()) != endOfRows) {
+                    write(chunk);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (SQLException e) {
+                throw new IllegalStateException("Could not write " + resource.getFilename() + " rows", e);
+            }
+        }
+
+        // One transaction: the new rows' listings, their details and their IngestedRows entries
+        private void write(List<Ingest> chunk) throws SQLException {
+            try (Connection connection = dataSource.getConnection()) {
+                connection.setAutoCommit(false);
+                Set<String> ingested = ingestedRefs(connection, chunk);
+                List<Ingest> fresh = new ArrayList<>(chunk.size());
+                for (Ingest ingest : chunk) {
+                    if (!ingested.contains(ingest.sourceRef) && claimed.add(ingest.sourceRef)) {
+                        fresh.add(ingest);
+                    }
+                }
+                duplicates.addAndGet(chunk.size() - fresh.size());
+                if (fresh.isEmpty()) {
+                    return;
+                }
+
+                // Ids from IdSequences, so the details can be written right behind their listings
+                int firstId = IdAllocator.reserve(dataSource, "Listings", fresh.size());
+                try (MultiRowInsert listings = new MultiRowInsert(connection,
+                        "INSERT INTO Listings (listing_id, user_id, price, listing_date, category, status)", 6,
+                        fresh.size())) {
+                    for (int i = 0; i < fresh.size(); i++) {
+                        FeedRow row = fresh.get(i).row;
+                        listings.add(firstId + i, owner(fresh.get(i).sourceRef), row.getPrice(), row.getListingDate(),
+                                row.getCategory(), "Active");
+                    }
+                }
+
+                try (MultiRowInsert vehicles = new MultiRowInsert(connection,
+                             "INSERT INTO Vehicles (listing_id, model_year, model_name, kilometers)", 4, fresh.size());
+                     MultiRowInsert realEstates = new MultiRowInsert(connection,
+                             "INSERT INTO RealEstate (listing_id, seller_type, area_sqm, room_config, city, district, neighborhood)",
+                             7, fresh.size());
+                     MultiRowInsert refs = new MultiRowInsert(connection,
+                             "INSERT INTO IngestedRows (source_ref, listing_id)", 2, fresh.size())) {
+                    for (int i = 0; i < fresh.size(); i++) {
+                        FeedRow row = fresh.get(i).row;
+                        if (row.isVehicle()) {
+                            vehicles.add(firstId + i, row.getModelYear(), row.getModelName(), row.getKilometers());
+                        } else {
+                            realEstates.add(firstId + i, row.getSellerType(), row.getAreaSqm(), row.getRoomConfig(),
+                                    row.getCity(), row.getDistrict(), row.getNeighborhood());
+                        }
+                        refs.add(fresh.get(i).sourceRef, firstId + i);
+                    }
+                }
+                connection.commit();
+                written.addAndGet(fresh.size());
+            }
+        }
+
+        private Set<String> ingestedRefs(Connection connection, List<Ingest> chunk) throws SQLException {
+            String sql = "SELECT source_ref FROM IngestedRows WHERE source_ref IN ("
+                    + "?, ".repeat(chunk.size() - 1) + "?)";
+            Set<String> ingested = new HashSet<>();
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                for (int i = 0; i < chunk.size(); i++) {
+                    statement.setString(i + 1, chunk.get(i).sourceRef);
+                }
+                try (ResultSet rs = statement.executeQuery()) {
+                    while (rs.next()) {
+                        ingested.add(rs.getString(1));
+                    }
+                }
+            }
+            return ingested;
+        }
+
+        // The feeds carry no seller; a fixed user per row keeps re-runs stable
+        private int owner(String sourceRef) {
+            return userIds[Math.floorMod(sourceRef.hashCode(), userIds.length)];
+        }
+
+        private String sourceRef(MessageDigest sha256, String[] fields) {
+            byte[] hash = sha256.digest(String.join("\u001f", fields).getBytes(StandardCharsets.UTF_8));
+            return feed.getName() + ":" + HexFormat.of().formatHex(hash, 0, 16);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.minisahibinden.util;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * Collects one keyset page of the newest-first grids from an unordered scan: offered order keys
+ * on the requested side of the cursor are kept in a bounded primitive heap whose root is the
+ * worst key kept so far.
+ *
+ * For "older" pages we keep the largest keys below the cursor (a min-heap); for "newer" pages the
+ * smallest keys above it, stored negated so the same min-heap code applies.
+ */
+public class KeysetHeap {
+
+    private final long[] heap;
+    private final int limit;
+    private final long sign;
+    private final long bound;
+    private int size;
+
+    public KeysetHeap(long cursorKey, boolean older, int limit) {
+        this.limit = limit;
+        this.heap = new long[Math.max(1, limit)];
+        this.sign = older ? 1 : -1;
+        this.bound = sign * cursorKey;
+    }
+
+    /**
+     * Sort key of the grids' order: listing date (epoch day) in the high 32 bits, listing id in the
+     * low 32 bits, so "newest first" is simply "largest key first".
+     */
+    public static long orderKey(LocalDate listingDate, int listingId) {
+        return (listingDate.toEpochDay() << 32) | (listingId & 0xFFFFFFFFL);
+    }
+
+    public static int listingIdOf(long orderKey) {
+        return (int) orderKey;
+    }
+
+    // Keys on the wrong side of the cursor, or worse than a full heap's root, are ignored
+    public void offer(long orderKey) {
+        long key = sign * orderKey;
+        if (key >= bound) {
+            return;
+        }
+        if (size < limit) {
+            heap[size] = key;
+            siftUp(size++);
+        } else if (limit > 0 && key > heap[0]) {
+            heap[0] = key;
+            siftDown();
+        }
+    }
+
+    /**
+     * Listing ids of the kept keys: for "older" the largest key first, for "newer" the smallest
+     * first (nearest to the cursor), like the ORDER BY of the keyset queries.
+     */
+    public int[] listingIds() {
+        long[] best = Arrays.copyOf(heap, size);
+        Arrays.sort(best);
+        int[] ids = new int[size];
+        for (int i = 0; i < size; i++) {
+            // best is ascending in signed space; the best (largest) goes first
+            ids[i] = listingIdOf(sign * best[size - 1 - i]);
+        }
+        return ids;
+    }
+
+    private void siftUp(int index) {
+        long value = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (heap[parent] <= value) break;
+            heap[index] = heap[parent];
+            index = parent;
+        }
+        heap[index] = value;
+    }
+
+    private void siftDown() {
+        long value = heap[0];
+        int index = 0;
+        int half = size >>> 1;
+        while (index < half) {
+            int child = 2 * index + 1;
+            if (child + 1 < size && heap[child + 1] < heap[child]) child++;
+            if (value <= heap[child]) break;
+            heap[index] = heap[child];
+            index = child;
+        }
+        heap[index] = value;
+    }
+}
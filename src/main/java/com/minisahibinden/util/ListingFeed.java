@@ -0,0 +1,21 @@
+package com.minisahibinden.util;
+
+/**
+ * One kind of listing source file for the ingestion pipeline (see CatalogIngestion): how its
+ * lines split into fields and how those fields become a validated listing. A new dealer feed is
+ * a new implementation.
+ */
+public interface ListingFeed {
+
+    // Prefix of the source_ref of every row of this feed
+    String getName();
+
+    // Lines to skip at the top of the file
+    int getHeaderLines();
+
+    // Parser stage: the raw fields of a line, or null when the line holds no listing
+    String[] split(String line);
+
+    // Validation stage: the normalized listing; IllegalArgumentException says why a row is rejected
+    FeedRow normalize(String[] fields);
+}
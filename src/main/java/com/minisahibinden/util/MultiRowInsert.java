@@ -0,0 +1,83 @@
+package com.minisahibinden.util;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * Buffers rows and writes them as "INSERT ... VALUES (?, ...), (?, ...), ..." with up to
+ * rowsPerStatement rows per statement. The full-size statement is prepared once and reused.
+ */
+final class MultiRowInsert implements AutoCloseable {
+
+    private final Connection connection;
+    private final String insert;
+    private final int columns;
+    private final int rowsPerStatement;
+    private final Object[] buffer;
+    private int rows;
+    private PreparedStatement fullStatement;
+
+    MultiRowInsert(Connection connection, String insert, int columns, int rowsPerStatement) {
+        this.connection = connection;
+        this.insert = insert;
+        this.columns = columns;
+        this.rowsPerStatement = rowsPerStatement;
+        this.buffer = new Object[columns * rowsPerStatement];
+    }
+
+    void add(Object... values) throws SQLException {
+        System.arraycopy(values, 0, buffer, rows * columns, columns);
+        if (++rows == rowsPerStatement) {
+            flush();
+        }
+    }
+
+    void flush() throws SQLException {
+        if (rows == 0) {
+            return;
+        }
+        if (rows == rowsPerStatement) {
+            if (fullStatement == null) {
+                fullStatement = connection.prepareStatement(sql(rowsPerStatement));
+            }
+            execute(fullStatement);
+        } else {
+            try (PreparedStatement partial = connection.prepareStatement(sql(rows))) {
+                execute(partial);
+            }
+        }
+        rows = 0;
+    }
+
+    @Override
+    public void close() throws SQLException {
+        try {
+            flush();
+        } finally {
+            if (fullStatement != null) {
+                fullStatement.close();
+            }
+        }
+    }
+
+    private void execute(PreparedStatement statement) throws SQLException {
+        for (int i = 0; i < rows * columns; i++) {
+            statement.setObject(i + 1, buffer[i]);
+        }
+        statement.executeUpdate();
+    }
+
+    private String sql(int rowCount) {
+        String row = "(" + "?, ".repeat(columns - 1) + "?)";
+        StringBuilder sql = new StringBuilder(insert.length() + rowCount * (row.length() + 2) + 8);
+        sql.append(insert).append(" VALUES ");
+        for (int i = 0; i < rowCount; i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(row);
+        }
+        return sql.toString();
+    }
+}
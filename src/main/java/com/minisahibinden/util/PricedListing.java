@@ -0,0 +1,45 @@
+package com.minisahibinden.util;
+
+import java.math.BigDecimal;
+import java.util.Comparator;
+import java.util.Objects;
+
+/**
+ * (price, listingId) pair kept in the in-memory price-ordered structures.
+ * The listing id breaks ties, so two listings never compare equal.
+ */
+public final class PricedListing {
+
+    // Cheapest first; older listing (lower id) first on ties
+    public static final Comparator<PricedListing> PRICE_ASC =
+            Comparator.comparing(PricedListing::getPrice).thenComparingInt(PricedListing::getListingId);
+
+    // Most expensive first; newer listing (higher id) first on ties
+    public static final Comparator<PricedListing> PRICE_DESC =
+            Comparator.comparing(PricedListing::getPrice).reversed()
+                    .thenComparing(Comparator.comparingInt(PricedListing::getListingId).reversed());
+
+    private final BigDecimal price;
+    private final int listingId;
+
+    public PricedListing(BigDecimal price, int listingId) {
+        this.price = price != null ? price : BigDecimal.ZERO;
+        this.listingId = listingId;
+    }
+
+    public BigDecimal getPrice() { return price; }
+    public int getListingId() { return listingId; }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof PricedListing)) return false;
+        PricedListing that = (PricedListing) o;
+        return listingId == that.listingId && price.compareTo(that.price) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(listingId, price.stripTrailingZeros());
+    }
+}
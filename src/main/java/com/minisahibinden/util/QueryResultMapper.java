@@ -1,6 +1,7 @@
 package com.minisahibinden.util;
 
 import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -10,6 +11,7 @@ import com.minisahibinden.dto.YearStatisticsDTO;
 
 /**
  * Utility class to map Object[] results from native SQL queries to DTOs
+ * (the statistics queries now read their rows with the typed mappers in RowMappers)
  */
 public class QueryResultMapper {
 
@@ -77,21 +79,24 @@ public class QueryResultMapper {
 
     /**
      * Maps Object[] array to UserListingStatsDTO
-     * Expected order: userId, firstName, lastName, email, carCount, totalCarValue, averageCarPrice
+     * Expected order: userId, fullName, email, listingCount, totalValue, averagePrice
      */
     public static UserListingStatsDTO mapToUserListingStats(Object[] row) {
-        if (row == null || row.length < 7) {
+        if (row == null || row.length < 6) {
             return null;
         }
         
+        // Users only store a full name: everything before the last space is the first name
+        String fullName = (String) row[1];
+        int space = fullName != null ? fullName.lastIndexOf(' ') : -1;
         UserListingStatsDTO dto = new UserListingStatsDTO();
         dto.setUserId(((Number) row[0]).longValue());
-        dto.setFirstName((String) row[1]);
-        dto.setLastName((String) row[2]);
-        dto.setEmail((String) row[3]);
-        dto.setCarCount(((Number) row[4]).longValue());
-        dto.setTotalCarValue(convertToBigDecimal(row[5]));
-        dto.setAverageCarPrice(convertToBigDecimal(row[6]));
+        dto.setFirstName(space > 0 ? fullName.substring(0, space) : fullName);
+        dto.setLastName(space > 0 ? fullName.substring(space + 1) : (fullName != null ? "" : null));
+        dto.setEmail((String) row[2]);
+        dto.setCarCount(((Number) row[3]).longValue());
+        dto.setTotalCarValue(convertToBigDecimal(row[4]));
+        dto.setAverageCarPrice(convertToBigDecimal(row[5]));
         
         return dto;
     }
@@ -122,6 +127,7 @@ public class QueryResultMapper {
 
     /**
      * Helper method to convert various numeric types to BigDecimal
+     * (integral values are converted exactly, not through a double)
      */
     private static BigDecimal convertToBigDecimal(Object value) {
         if (value == null) {
@@ -130,6 +136,12 @@ public class QueryResultMapper {
         if (value instanceof BigDecimal) {
             return (BigDecimal) value;
         }
+        if (value instanceof BigInteger) {
+            return new BigDecimal((BigInteger) value);
+        }
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return BigDecimal.valueOf(((Number) value).longValue());
+        }
         if (value instanceof Number) {
             return BigDecimal.valueOf(((Number) value).doubleValue());
         }
@@ -0,0 +1,117 @@
+package com.minisahibinden.util;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+/**
+ * Writes export rows one at a time as CSV (RFC 4180, header line first) or NDJSON (one JSON
+ * object per line). Nothing is buffered beyond the current row; the target writer decides when
+ * bytes reach the client.
+ */
+public class ReportExportWriter {
+
+    public enum Format {
+        CSV("text/csv", "csv"),
+        NDJSON("application/x-ndjson", "ndjson");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() { return contentType; }
+        public String getExtension() { return extension; }
+
+        // Case-insensitive; null for an unknown name
+        public static Format of(String name) {
+            for (Format format : values()) {
+                if (format.name().equalsIgnoreCase(name)) {
+                    return format;
+                }
+            }
+            return null;
+        }
+    }
+
+    // The generator's flush only hands its buffer to out (see writeRow), it doesn't flush out itself
+    private static final JsonFactory JSON = new JsonFactory()
+            .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+            .disable(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM);
+
+    private final Writer out;
+    private final Format format;
+    private final String[] columns;
+    private final JsonGenerator json;
+
+    public ReportExportWriter(Writer out, Format format, String... columns) throws IOException {
+        this.out = out;
+        this.format = format;
+        this.columns = columns;
+        if (format == Format.NDJSON) {
+            json = JSON.createGenerator(out);
+            json.setRootValueSeparator(null);
+        } else {
+            json = null;
+            writeCsvLine(columns);
+        }
+    }
+
+    // One value per column, in column order; null values are empty cells / JSON nulls
+    public void writeRow(Object[] values) throws IOException {
+        if (json == null) {
+            writeCsvLine(values);
+            return;
+        }
+        json.writeStartObject();
+        for (int i = 0; i < columns.length; i++) {
+            json.writeFieldName(columns[i]);
+            Object value = values[i];
+            if (value == null) {
+                json.writeNull();
+            } else if (value instanceof BigDecimal decimal) {
+                json.writeNumber(decimal);
+            } else if (value instanceof Long || value instanceof Integer || value instanceof Short) {
+                json.writeNumber(((Number) value).longValue());
+            } else {
+                json.writeString(value.toString());
+            }
+        }
+        json.writeEndObject();
+        // Row text into out ahead of the line break
+        json.flush();
+        out.write('\n');
+    }
+
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    private void writeCsvLine(Object[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            if (values[i] != null) {
+                out.write(csvField(values[i] instanceof BigDecimal decimal
+                        ? decimal.toPlainString() : values[i].toString()));
+            }
+        }
+        out.write("\r\n");
+    }
+
+    // Quoted only when it has to be: separators, quotes or line breaks
+    private static String csvField(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0
+                && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
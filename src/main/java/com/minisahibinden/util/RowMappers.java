@@ -0,0 +1,73 @@
+package com.minisahibinden.util;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import org.springframework.jdbc.core.RowMapper;
+
+import com.minisahibinden.dto.CarDetailDTO;
+import com.minisahibinden.dto.UserListingStatsDTO;
+import com.minisahibinden.dto.YearStatisticsDTO;
+
+/**
+ * Typed JdbcTemplate row mappers for the statistics DTOs. Each reads its columns by position
+ * straight from the ResultSet (no Object[] per row, no boxing casts) and takes decimals with
+ * getBigDecimal, so DECIMAL prices and averages keep their exact value.
+ *
+ * The expected column order of each mapper is part of its contract with the SQL that uses it.
+ */
+public final class RowMappers {
+
+    private RowMappers() {}
+
+    /**
+     * modelYear, carCount, averagePrice, minPrice, maxPrice, totalValue, averageKilometers
+     */
+    public static final RowMapper<YearStatisticsDTO> YEAR_STATISTICS = (rs, rowNum) -> new YearStatisticsDTO(
+            rs.getInt(1), rs.getLong(2), decimal(rs, 3), decimal(rs, 4), decimal(rs, 5),
+            decimal(rs, 6), decimal(rs, 7));
+
+    /**
+     * carId (listing id), modelYear, model, price, kilometers, userId, userFullName, userEmail.
+     * Kilometers may be NULL (e.g. from an outer join) and stay null.
+     */
+    public static final RowMapper<CarDetailDTO> CAR_DETAIL = (rs, rowNum) -> {
+        String fullName = rs.getString(7);
+        return new CarDetailDTO(rs.getLong(1), rs.getInt(2), rs.getString(3), decimal(rs, 4),
+                rs.getObject(5, Integer.class), rs.getLong(6), firstName(fullName), lastName(fullName),
+                rs.getString(8));
+    };
+
+    /**
+     * userId, fullName, email, listingCount, totalValue, averagePrice
+     */
+    public static final RowMapper<UserListingStatsDTO> USER_LISTING_STATS = (rs, rowNum) -> {
+        String fullName = rs.getString(2);
+        return new UserListingStatsDTO(rs.getLong(1), firstName(fullName), lastName(fullName), rs.getString(3),
+                rs.getLong(4), decimal(rs, 5), decimal(rs, 6));
+    };
+
+    // SQL NULL (e.g. an aggregate over no rows) reads as zero, like QueryResultMapper
+    private static BigDecimal decimal(ResultSet rs, int column) throws SQLException {
+        BigDecimal value = rs.getBigDecimal(column);
+        return value != null ? value : BigDecimal.ZERO;
+    }
+
+    // Users only store a full name: everything before the last space is the first name
+    private static String firstName(String fullName) {
+        if (fullName == null) {
+            return null;
+        }
+        int space = fullName.lastIndexOf(' ');
+        return space > 0 ? fullName.substring(0, space) : fullName;
+    }
+
+    private static String lastName(String fullName) {
+        if (fullName == null) {
+            return null;
+        }
+        int space = fullName.lastIndexOf(' ');
+        return space > 0 ? fullName.substring(space + 1) : "";
+    }
+}
@@ -0,0 +1,203 @@
+package com.minisahibinden.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.sql.SQLTransientException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.core.io.support.EncodedResource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.stereotype.Component;
+
+/**
+ * Versioned database initialization, in place of spring.sql.init: the scripts listed in
+ * minisahibinden.schema.scripts run once, in order, and are recorded in SchemaHistory with a
+ * SHA-256 of their content. Later boots skip recorded scripts, so a restart neither wipes the
+ * data (schema.sql drops every table) nor replays the seed INSERTs.
+ *
+ * A recorded script whose content changed stops the startup: changes to an existing database
+ * go in a new script appended to the list. A database created before SchemaHistory existed is
+ * taken as up to date and only recorded when it already has the current schema (IdSequences);
+ * an older one is rebuilt by the scripts, as every boot did before.
+ *
+ * Instances starting together migrate one at a time (row lock on SchemaLock, held by a second
+ * connection since MySQL commits on every DDL statement). A script is recorded as unfinished
+ * before it runs and as applied once it completed, so a script that failed halfway stops every
+ * later startup instead of being run again on top of its own partial changes.
+ * Runs before JPA (see SchemaMigratorDetector).
+ */
+@Component
+public class SchemaMigrator implements InitializingBean {
+
+    private final DataSource dataSource;
+    private final ResourceLoader resourceLoader;
+    private final String[] scripts;
+
+    public SchemaMigrator(DataSource dataSource, ResourceLoader resourceLoader,
+                          @Value("${minisahibinden.schema.scripts:classpath:schema.sql,classpath:data.sql}") String[] scripts) {
+        this.dataSource = dataSource;
+        this.resourceLoader = resourceLoader;
+        this.scripts = scripts;
+    }
+
+    @Override
+    public void afterPropertiesSet() throws SQLException, IOException {
+        long start = System.currentTimeMillis();
+        try (Connection lock = dataSource.getConnection();
+             Connection connection = dataSource.getConnection()) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("CREATE TABLE IF NOT EXISTS SchemaHistory (" +
+                        "script VARCHAR(100) PRIMARY KEY, " +
+                        "checksum CHAR(64) NOT NULL, " +
+                        "success BOOLEAN NOT NULL, " +
+                        "applied_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP)");
+                statement.execute("CREATE TABLE IF NOT EXISTS SchemaLock (id INT PRIMARY KEY)");
+            }
+            acquire(lock);
+            try {
+                migrate(connection, start);
+            } finally {
+                lock.rollback();
+            }
+        }
+    }
+
+    private void migrate(Connection connection, long start) throws SQLException, IOException {
+        Map<String, Boolean> succeeded = new HashMap<>();
+        Map<String, String> applied = applied(connection, succeeded);
+        for (Map.Entry<String, Boolean> entry : succeeded.entrySet()) {
+            if (!entry.getValue()) {
+                throw new IllegalStateException("Schema script " + entry.getKey() + " failed partway on an earlier "
+                        + "start, so the database is only partly migrated; drop the database to rebuild it from "
+                        + "scratch (or complete the script by hand and set its SchemaHistory.success to TRUE)");
+            }
+        }
+        boolean baseline = applied.isEmpty() && tableExists(connection, "IdSequences");
+        if (baseline) {
+            System.out.println("Schema: existing database without SchemaHistory, recording the scripts as applied");
+        }
+
+        int ran = 0;
+        for (String location : scripts) {
+            Resource script = resourceLoader.getResource(location.trim());
+            String name = script.getFilename();
+            String checksum = checksum(script);
+            String recorded = applied.get(name);
+            if (recorded != null) {
+                if (!recorded.equals(checksum)) {
+                    throw new IllegalStateException("Schema script " + name + " changed after it was applied; "
+                            + "put the change in a new script in minisahibinden.schema.scripts "
+                            + "(or drop the database to rebuild it from scratch)");
+                }
+                continue;
+            }
+            if (baseline) {
+                record(connection, name, checksum, true);
+                continue;
+            }
+            long scriptStart = System.currentTimeMillis();
+            record(connection, name, checksum, false);
+            ScriptUtils.executeSqlScript(connection, new EncodedResource(script, StandardCharsets.UTF_8));
+            succeed(connection, name);
+            System.out.println("Schema: applied " + name + " (" + (System.currentTimeMillis() - scriptStart) + " ms)");
+            ran++;
+        }
+        if (ran == 0 && !baseline) {
+            System.out.println("Schema: up to date (" + (System.currentTimeMillis() - start) + " ms)");
+        }
+    }
+
+    // Locks the SchemaLock row in a transaction of its own, waiting while another instance holds it
+    private static void acquire(Connection lock) throws SQLException {
+        try (Statement statement = lock.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT COUNT(*) FROM SchemaLock")) {
+            rs.next();
+            if (rs.getInt(1) == 0) {
+                statement.executeUpdate("INSERT INTO SchemaLock (id) VALUES (1)");
+            }
+        } catch (SQLIntegrityConstraintViolationException e) {
+            // Inserted by an instance starting at the same time
+        }
+        lock.setAutoCommit(false);
+        while (true) {
+            try (Statement statement = lock.createStatement()) {
+                statement.execute("SELECT id FROM SchemaLock WHERE id = 1 FOR UPDATE");
+                return;
+            } catch (SQLTransientException e) {
+                // Lock wait timeout: another instance is still migrating
+                lock.rollback();
+                System.out.println("Schema: waiting for another instance to finish migrating");
+            }
+        }
+    }
+
+    // Script -> checksum; succeeded gets script -> whether it completed
+    private static Map<String, String> applied(Connection connection, Map<String, Boolean> succeeded)
+            throws SQLException {
+        Map<String, String> applied = new HashMap<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT script, checksum, success FROM SchemaHistory")) {
+            while (rs.next()) {
+                applied.put(rs.getString(1), rs.getString(2));
+                succeeded.put(rs.getString(1), rs.getBoolean(3));
+            }
+        }
+        return applied;
+    }
+
+    private static boolean tableExists(Connection connection, String table) {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("SELECT 1 FROM " + table + " WHERE 1 = 0");
+            return true;
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private static void record(Connection connection, String name, String checksum, boolean success)
+            throws SQLException {
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO SchemaHistory (script, checksum, success) VALUES (?, ?, ?)")) {
+            insert.setString(1, name);
+            insert.setString(2, checksum);
+            insert.setBoolean(3, success);
+            insert.executeUpdate();
+        }
+    }
+
+    private static void succeed(Connection connection, String name) throws SQLException {
+        try (PreparedStatement update = connection.prepareStatement(
+                "UPDATE SchemaHistory SET success = TRUE, applied_at = CURRENT_TIMESTAMP WHERE script = ?")) {
+            update.setString(1, name);
+            update.executeUpdate();
+        }
+    }
+
+    // Of the content with \n line endings, so a checkout with \r\n doesn't count as a change
+    private static String checksum(Resource script) throws IOException {
+        try (InputStream in = script.getInputStream()) {
+            String content = new String(in.readAllBytes(), StandardCharsets.UTF_8).replace("\r\n", "\n");
+            return HexFormat.of().formatHex(
+                    MessageDigest.getInstance("SHA-256").digest(content.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
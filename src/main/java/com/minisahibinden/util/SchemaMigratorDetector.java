@@ -0,0 +1,17 @@
+package com.minisahibinden.util;
+
+import java.util.Set;
+
+import org.springframework.boot.sql.init.dependency.AbstractBeansOfTypeDatabaseInitializerDetector;
+
+/**
+ * Marks SchemaMigrator as a database initializer (registered in META-INF/spring.factories), so
+ * JPA and everything else that depends on database initialization waits for it.
+ */
+public class SchemaMigratorDetector extends AbstractBeansOfTypeDatabaseInitializerDetector {
+
+    @Override
+    protected Set<Class<?>> getDatabaseInitializerBeanTypes() {
+        return Set.of(SchemaMigrator.class);
+    }
+}
@@ -0,0 +1,154 @@
+package com.minisahibinden.util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.core.io.ClassPathResource;
+
+/**
+ * The scraped sample listings the bulk generator draws from: allcar_2025.csv (an INSERT
+ * statement of (model_year, model, price, kilometers) tuples, kilometers in hundreds) and
+ * processed_turkish_house_sales.csv (a real CSV with Turkish values). Values are normalized
+ * the same way data.sql was built from these files.
+ */
+public final class SeedSamples {
+
+    static final Pattern CAR_ROW = Pattern.compile("\\((\\d+),\\s*'((?:[^']|'')*)',\\s*(\\d+),\\s*(\\d+)\\)");
+
+    public static final class Car {
+        private final int modelYear;
+        private final String modelName;
+        private final BigDecimal price;
+        private final int kilometers;
+
+        Car(int modelYear, String modelName, BigDecimal price, int kilometers) {
+            this.modelYear = modelYear;
+            this.modelName = modelName;
+            this.price = price;
+            this.kilometers = kilometers;
+        }
+
+        public int getModelYear() { return modelYear; }
+        public String getModelName() { return modelName; }
+        public BigDecimal getPrice() { return price; }
+        public int getKilometers() { return kilometers; }
+    }
+
+    public static final class House {
+        private final String sellerType;
+        private final int areaSqm;
+        private final String roomConfig;
+        private final String city;
+        private final String district;
+        private final String neighborhood;
+        private final LocalDate listingDate;
+        private final BigDecimal price;
+
+        House(String sellerType, int areaSqm, String roomConfig, String city, String district,
+              String neighborhood, LocalDate listingDate, BigDecimal price) {
+            this.sellerType = sellerType;
+            this.areaSqm = areaSqm;
+            this.roomConfig = roomConfig;
+            this.city = city;
+            this.district = district;
+            this.neighborhood = neighborhood;
+            this.listingDate = listingDate;
+            this.price = price;
+        }
+
+        public String getSellerType() { return sellerType; }
+        public int getAreaSqm() { return areaSqm; }
+        public String getRoomConfig() { return roomConfig; }
+        public String getCity() { return city; }
+        public String getDistrict() { return district; }
+        public String getNeighborhood() { return neighborhood; }
+        // Null when the row's date is missing
+        public LocalDate getListingDate() { return listingDate; }
+        public BigDecimal getPrice() { return price; }
+    }
+
+    private final List<Car> cars;
+    private final List<House> houses;
+
+    private SeedSamples(List<Car> cars, List<House> houses) {
+        this.cars = cars;
+        this.houses = houses;
+    }
+
+    public static SeedSamples load() {
+        try {
+            return new SeedSamples(readCars("allcar_2025.csv"), readHouses("processed_turkish_house_sales.csv"));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read the sample listing files", e);
+        }
+    }
+
+    public List<Car> getCars() { return cars; }
+    public List<House> getHouses() { return houses; }
+
+    // Seller type as stored in RealEstate.seller_type
+    public static String sellerType(String value) {
+        return switch (value.trim()) {
+            case "Emlak-ofisinden" -> "Real Estate Agency";
+            case "Sahibinden" -> "By Owner";
+            default -> value.trim();
+        };
+    }
+
+    // Neighborhood as stored in RealEstate.neighborhood
+    public static String neighborhood(String value) {
+        return switch (value.trim()) {
+            case "Bilinmiyor", "" -> "Unknown";
+            case "Merkez" -> "Center";
+            default -> value.trim();
+        };
+    }
+
+    private static List<Car> readCars(String resource) throws IOException {
+        List<Car> cars = new ArrayList<>();
+        try (BufferedReader reader = open(resource)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                Matcher row = CAR_ROW.matcher(line);
+                if (row.find()) {
+                    cars.add(new Car(Integer.parseInt(row.group(1)), row.group(2).replace("''", "'"),
+                            new BigDecimal(row.group(3)), Integer.parseInt(row.group(4)) * 100));
+                }
+            }
+        }
+        return cars;
+    }
+
+    // Columns: satici_tip, Metrekare, Oda_Sayisi, il, Ilce, Mahalle, Tarih, fiyat (no quoting)
+    private static List<House> readHouses(String resource) throws IOException {
+        List<House> houses = new ArrayList<>();
+        try (BufferedReader reader = open(resource)) {
+            reader.readLine();
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] fields = line.split(",", -1);
+                if (fields.length != 8) {
+                    continue;
+                }
+                houses.add(new House(sellerType(fields[0]), (int) Double.parseDouble(fields[1]), fields[2].trim(),
+                        fields[3].trim(), fields[4].trim(), neighborhood(fields[5]), TurkishDates.parse(fields[6]),
+                        new BigDecimal(fields[7].trim())));
+            }
+        }
+        return houses;
+    }
+
+    private static BufferedReader open(String resource) throws IOException {
+        return new BufferedReader(new InputStreamReader(new ClassPathResource(resource).getInputStream(),
+                StandardCharsets.UTF_8));
+    }
+}
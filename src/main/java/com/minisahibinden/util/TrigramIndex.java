@@ -0,0 +1,119 @@
+package com.minisahibinden.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Case-insensitive substring index over short texts (e.g. model names), keyed by int ids.
+ *
+ * Every text is split into its 3-character windows ("trigrams"); each trigram keeps a sorted
+ * posting list of the ids containing it. A query of 3+ characters intersects the posting lists
+ * of its own trigrams, starting from the shortest, and the few surviving candidates are checked
+ * with a real contains(). Shorter queries have no trigram and scan the text dictionary instead.
+ *
+ * Not thread-safe; the owner synchronizes access.
+ */
+public class TrigramIndex {
+
+    private static final int GRAM = 3;
+
+    private final Map<String, TreeSet<Integer>> postings = new HashMap<>();
+    // id -> normalized text
+    private final Map<Integer, String> texts = new HashMap<>();
+
+    public static String normalize(String text) {
+        return text == null ? "" : text.trim().toLowerCase(Locale.ROOT);
+    }
+
+    public void add(int id, String text) {
+        String normalized = normalize(text);
+        if (texts.putIfAbsent(id, normalized) != null) {
+            return;
+        }
+        for (String gram : trigrams(normalized)) {
+            postings.computeIfAbsent(gram, g -> new TreeSet<>()).add(id);
+        }
+    }
+
+    public void remove(int id) {
+        String normalized = texts.remove(id);
+        if (normalized == null) {
+            return;
+        }
+        for (String gram : trigrams(normalized)) {
+            TreeSet<Integer> ids = postings.get(gram);
+            if (ids != null) {
+                ids.remove(id);
+                if (ids.isEmpty()) {
+                    postings.remove(gram);
+                }
+            }
+        }
+    }
+
+    public boolean contains(int id) {
+        return texts.containsKey(id);
+    }
+
+    /**
+     * Ids whose text contains the query (case-insensitive), in ascending id order.
+     * A blank query matches nothing.
+     */
+    public List<Integer> search(String query) {
+        String needle = normalize(query);
+        List<Integer> result = new ArrayList<>();
+        if (needle.isEmpty()) {
+            return result;
+        }
+
+        if (needle.length() < GRAM) {
+            for (Map.Entry<Integer, String> entry : texts.entrySet()) {
+                if (entry.getValue().contains(needle)) {
+                    result.add(entry.getKey());
+                }
+            }
+            result.sort(Comparator.naturalOrder());
+            return result;
+        }
+
+        List<TreeSet<Integer>> lists = new ArrayList<>();
+        for (String gram : trigrams(needle)) {
+            TreeSet<Integer> ids = postings.get(gram);
+            if (ids == null) {
+                return result; // some trigram occurs nowhere
+            }
+            lists.add(ids);
+        }
+        lists.sort(Comparator.comparingInt(TreeSet::size));
+
+        TreeSet<Integer> shortest = lists.get(0);
+        candidates:
+        for (Integer id : shortest) {
+            for (int i = 1; i < lists.size(); i++) {
+                if (!lists.get(i).contains(id)) {
+                    continue candidates;
+                }
+            }
+            // All trigrams present doesn't guarantee they are adjacent in the right order
+            if (texts.get(id).contains(needle)) {
+                result.add(id);
+            }
+        }
+        return result;
+    }
+
+    private static Set<String> trigrams(String normalized) {
+        Set<String> grams = new LinkedHashSet<>();
+        for (int i = 0; i + GRAM <= normalized.length(); i++) {
+            grams.add(normalized.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+}
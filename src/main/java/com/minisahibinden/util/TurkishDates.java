@@ -0,0 +1,42 @@
+package com.minisahibinden.util;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Parses the dates of the scraped listing files, e.g. "16 Mayıs  2025": day, Turkish month
+ * name, year, separated by any amount of whitespace.
+ */
+public final class TurkishDates {
+
+    private static final Locale TURKISH = Locale.forLanguageTag("tr");
+
+    private static final Map<String, Integer> MONTHS = Map.ofEntries(
+            Map.entry("ocak", 1), Map.entry("şubat", 2), Map.entry("mart", 3), Map.entry("nisan", 4),
+            Map.entry("mayıs", 5), Map.entry("haziran", 6), Map.entry("temmuz", 7), Map.entry("ağustos", 8),
+            Map.entry("eylül", 9), Map.entry("ekim", 10), Map.entry("kasım", 11), Map.entry("aralık", 12));
+
+    private TurkishDates() {}
+
+    // Null when the text isn't a valid date in this format
+    public static LocalDate parse(String text) {
+        if (text == null) {
+            return null;
+        }
+        String[] parts = text.trim().split("\\s+");
+        if (parts.length != 3) {
+            return null;
+        }
+        Integer month = MONTHS.get(parts[1].toLowerCase(TURKISH));
+        if (month == null) {
+            return null;
+        }
+        try {
+            return LocalDate.of(Integer.parseInt(parts[2]), month, Integer.parseInt(parts[0]));
+        } catch (NumberFormatException | DateTimeException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package com.minisahibinden.util;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Column-oriented copy of the active vehicles: one primitive array per filterable column,
+ * model names dictionary-encoded to ints. A filter is one pass over the arrays with
+ * non-short-circuit comparisons (no per-predicate branches), keeping the best rows of the
+ * newest-first order in a KeysetHeap.
+ *
+ * Rows are unordered; a delete moves the last row into the hole. Not thread-safe; the owner
+ * synchronizes access.
+ */
+public class VehicleColumns {
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private int size;
+    private int[] listingIds = new int[INITIAL_CAPACITY];
+    private int[] modelYears = new int[INITIAL_CAPACITY];
+    private int[] kilometers = new int[INITIAL_CAPACITY];
+    private long[] priceCents = new long[INITIAL_CAPACITY];
+    private int[] modelNameIds = new int[INITIAL_CAPACITY];
+    // (listing_date, listing_id) packed into one long, see KeysetHeap.orderKey()
+    private long[] orderKeys = new long[INITIAL_CAPACITY];
+
+    private final Map<Integer, Integer> rowByListingId = new HashMap<>();
+    private final Map<String, Integer> nameIds = new HashMap<>();
+    private final List<String> names = new ArrayList<>();
+
+    public int size() {
+        return size;
+    }
+
+    public void add(int listingId, LocalDate listingDate, int modelYear, int km, BigDecimal price, String modelName) {
+        if (rowByListingId.containsKey(listingId)) {
+            return;
+        }
+        if (size == listingIds.length) {
+            grow();
+        }
+        int row = size++;
+        listingIds[row] = listingId;
+        modelYears[row] = modelYear;
+        kilometers[row] = km;
+        priceCents[row] = price != null ? price.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact() : 0;
+        modelNameIds[row] = nameIds.computeIfAbsent(modelName, name -> {
+            names.add(name);
+            return names.size() - 1;
+        });
+        orderKeys[row] = KeysetHeap.orderKey(listingDate, listingId);
+        rowByListingId.put(listingId, row);
+    }
+
+    public boolean remove(int listingId) {
+        Integer row = rowByListingId.remove(listingId);
+        if (row == null) {
+            return false;
+        }
+        int last = --size;
+        if (row != last) {
+            listingIds[row] = listingIds[last];
+            modelYears[row] = modelYears[last];
+            kilometers[row] = kilometers[last];
+            priceCents[row] = priceCents[last];
+            modelNameIds[row] = modelNameIds[last];
+            orderKeys[row] = orderKeys[last];
+            rowByListingId.put(listingIds[row], row);
+        }
+        return true;
+    }
+
+    /**
+     * Dictionary mask for a set of exact model names (unknown names are ignored).
+     * Only valid until the next add().
+     */
+    public boolean[] nameMask(Collection<String> modelNames) {
+        boolean[] mask = new boolean[names.size()];
+        for (String name : modelNames) {
+            Integer id = nameIds.get(name);
+            if (id != null) {
+                mask[id] = true;
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Newest-first keyset page. With older = true returns up to limit rows whose key is below
+     * cursorKey, largest key first; with older = false the rows above cursorKey, smallest first
+     * (nearest to the cursor). total counts every row matching the filter, regardless of the cursor.
+     */
+    public SeekResult seek(Filter filter, long cursorKey, boolean older, int limit) {
+        final int minYear = filter.minYear, maxYear = filter.maxYear;
+        final int minKm = filter.minKm, maxKm = filter.maxKm;
+        final long minPrice = filter.minPriceCents, maxPrice = filter.maxPriceCents;
+        final boolean[] mask = filter.nameMask;
+        final int[] years = modelYears, kms = kilometers, nameOf = modelNameIds;
+        final long[] prices = priceCents, keys = orderKeys;
+        final int n = size;
+
+        KeysetHeap page = new KeysetHeap(cursorKey, older, limit);
+        long total = 0;
+        for (int i = 0; i < n; i++) {
+            int year = years[i];
+            int km = kms[i];
+            long price = prices[i];
+            boolean match = (year >= minYear) & (year <= maxYear)
+                    & (km >= minKm) & (km <= maxKm)
+                    & (price >= minPrice) & (price <= maxPrice);
+            if (mask != null) {
+                int nameId = nameOf[i];
+                match &= nameId < mask.length && mask[nameId];
+            }
+            total += match ? 1 : 0;
+            if (match) {
+                page.offer(keys[i]);
+            }
+        }
+        return new SeekResult(page.listingIds(), total);
+    }
+
+    /**
+     * Up to limit rows matching the filter, most expensive first (higher listing id first on equal
+     * prices). Same single pass as seek(), but the bounded heap is ordered by price.
+     */
+    public int[] mostExpensive(Filter filter, int limit) {
+        if (limit <= 0) {
+            return new int[0];
+        }
+        final int minYear = filter.minYear, maxYear = filter.maxYear;
+        final int minKm = filter.minKm, maxKm = filter.maxKm;
+        final long minPrice = filter.minPriceCents, maxPrice = filter.maxPriceCents;
+        final boolean[] mask = filter.nameMask;
+        final int[] years = modelYears, kms = kilometers, nameOf = modelNameIds, ids = listingIds;
+        final long[] prices = priceCents;
+        final int n = size;
+
+        // Root = the cheapest row kept so far; sized for the rows there are, not the limit asked for
+        PriorityQueue<Integer> kept = new PriorityQueue<>(Math.max(1, Math.min(limit, n)), (a, b) -> prices[a] != prices[b]
+                ? Long.compare(prices[a], prices[b]) : Integer.compare(ids[a], ids[b]));
+        for (int i = 0; i < n; i++) {
+            int year = years[i];
+            int km = kms[i];
+            long price = prices[i];
+            boolean match = (year >= minYear) & (year <= maxYear)
+                    & (km >= minKm) & (km <= maxKm)
+                    & (price >= minPrice) & (price <= maxPrice);
+            if (mask != null) {
+                int nameId = nameOf[i];
+                match &= nameId < mask.length && mask[nameId];
+            }
+            if (!match) {
+                continue;
+            }
+            if (kept.size() < limit) {
+                kept.add(i);
+            } else {
+                int worst = kept.peek();
+                if (price > prices[worst] || (price == prices[worst] && ids[i] > ids[worst])) {
+                    kept.poll();
+                    kept.add(i);
+                }
+            }
+        }
+        int[] result = new int[kept.size()];
+        for (int i = result.length - 1; i >= 0; i--) {
+            result[i] = ids[kept.poll()];
+        }
+        return result;
+    }
+
+    private void grow() {
+        int capacity = listingIds.length * 2;
+        listingIds = Arrays.copyOf(listingIds, capacity);
+        modelYears = Arrays.copyOf(modelYears, capacity);
+        kilometers = Arrays.copyOf(kilometers, capacity);
+        priceCents = Arrays.copyOf(priceCents, capacity);
+        modelNameIds = Arrays.copyOf(modelNameIds, capacity);
+        orderKeys = Arrays.copyOf(orderKeys, capacity);
+    }
+
+    /**
+     * Range predicates of the vehicle filter; null bounds are open.
+     */
+    public static class Filter {
+        private final int minYear;
+        private final int maxYear;
+        private final long minPriceCents;
+        private final long maxPriceCents;
+        private final int minKm;
+        private final int maxKm;
+        // null = any model name
+        private final boolean[] nameMask;
+
+        public Filter(Integer minYear, Integer maxYear, BigDecimal minPrice, BigDecimal maxPrice,
+                      Integer minKm, Integer maxKm, boolean[] nameMask) {
+            this.minYear = minYear != null ? minYear : Integer.MIN_VALUE;
+            this.maxYear = maxYear != null ? maxYear : Integer.MAX_VALUE;
+            // Round the bounds inwards so the cent comparison matches the DECIMAL one
+            this.minPriceCents = minPrice != null
+                    ? minPrice.movePointRight(2).setScale(0, RoundingMode.CEILING).longValue() : Long.MIN_VALUE;
+            this.maxPriceCents = maxPrice != null
+                    ? maxPrice.movePointRight(2).setScale(0, RoundingMode.FLOOR).longValue() : Long.MAX_VALUE;
+            this.minKm = minKm != null ? minKm : Integer.MIN_VALUE;
+            this.maxKm = maxKm != null ? maxKm : Integer.MAX_VALUE;
+            this.nameMask = nameMask;
+        }
+    }
+
+    public static class SeekResult {
+        private final int[] listingIds;
+        private final long total;
+
+        public SeekResult(int[] listingIds, long total) {
+            this.listingIds = listingIds;
+            this.total = total;
+        }
+
+        // In page order (see seek())
+        public int[] getListingIds() { return listingIds; }
+        public long getTotal() { return total; }
+    }
+}
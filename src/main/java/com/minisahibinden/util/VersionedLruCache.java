@@ -0,0 +1,117 @@
+package com.minisahibinden.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded LRU map whose entries are tagged with the data version they were computed from and
+ * the time they were stored. A lookup only hits when the entry's version is the caller's current
+ * version and the entry is younger than the TTL; anything else counts as a miss and is dropped.
+ *
+ * All methods are synchronized; values are computed by the caller outside the lock.
+ */
+public class VersionedLruCache<K, V> {
+
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final LinkedHashMap<K, Entry<V>> entries;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long invalidations;
+
+    public VersionedLruCache(int maxEntries, long ttlMillis) {
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttlMillis * 1_000_000L;
+        // Access order: iteration starts at the least recently used entry
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                if (size() > VersionedLruCache.this.maxEntries) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    // Cached value for the key at this version, or null
+    public synchronized V get(K key, long version) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        if (entry.version != version || System.nanoTime() - entry.storedAt > ttlNanos) {
+            entries.remove(key);
+            invalidations++;
+            misses++;
+            return null;
+        }
+        hits++;
+        return entry.value;
+    }
+
+    public synchronized void put(K key, long version, V value) {
+        if (maxEntries > 0) {
+            entries.put(key, new Entry<>(value, version, System.nanoTime()));
+        }
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public synchronized Stats stats() {
+        return new Stats(entries.size(), maxEntries, hits, misses, evictions, invalidations);
+    }
+
+    private static class Entry<V> {
+        private final V value;
+        private final long version;
+        private final long storedAt;
+
+        Entry(V value, long version, long storedAt) {
+            this.value = value;
+            this.version = version;
+            this.storedAt = storedAt;
+        }
+    }
+
+    /**
+     * Counters since startup. invalidations = entries dropped on lookup because the version
+     * moved on or the TTL expired (also counted as misses).
+     */
+    public static class Stats {
+        private final int size;
+        private final int maxEntries;
+        private final long hits;
+        private final long misses;
+        private final long evictions;
+        private final long invalidations;
+
+        public Stats(int size, int maxEntries, long hits, long misses, long evictions, long invalidations) {
+            this.size = size;
+            this.maxEntries = maxEntries;
+            this.hits = hits;
+            this.misses = misses;
+            this.evictions = evictions;
+            this.invalidations = invalidations;
+        }
+
+        public double getHitRatio() {
+            long lookups = hits + misses;
+            return lookups == 0 ? 0 : (double) hits / lookups;
+        }
+
+        // Getters
+        public int getSize() { return size; }
+        public int getMaxEntries() { return maxEntries; }
+        public long getHits() { return hits; }
+        public long getMisses() { return misses; }
+        public long getEvictions() { return evictions; }
+        public long getInvalidations() { return invalidations; }
+    }
+}
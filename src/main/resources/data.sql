@@ -4061,4 +4061,8 @@ INSERT INTO RealEstate (listing_id, seller_type, area_sqm, room_config, city, di
 (1997, 'Real Estate Agency', 98, '2+1', 'Diyarbakir', 'Bağlar', 'Alipınar'),
 (1998, 'By Owner', 90, '2+1', 'Istanbul', 'Büyükçekmece', 'Unknown'),
 (1999, 'Real Estate Agency', 430, '6+1', 'Bilecik', 'Merkez', 'Bilecik'),
-(2000, 'By Owner', 55, '1+1', 'Samsun', 'Atakum', 'Atakent');
\ No newline at end of file
+(2000, 'By Owner', 55, '1+1', 'Samsun', 'Atakum', 'Atakent');
+
+-- Ids handed out from now on continue after the rows above (see IdSequences in schema.sql)
+INSERT INTO IdSequences (name, next_val) SELECT 'Users', COALESCE(MAX(user_id), 0) + 1 FROM Users;
+INSERT INTO IdSequences (name, next_val) SELECT 'Listings', COALESCE(MAX(listing_id), 0) + 1 FROM Listings;
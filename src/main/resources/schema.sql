@@ -7,12 +7,23 @@ DROP TABLE IF EXISTS car;
 DROP TABLE IF EXISTS house;
 
 -- Drop tables in correct order (due to foreign keys)
+DROP TABLE IF EXISTS VehicleYearStats;
+DROP TABLE IF EXISTS IngestedRows;
+DROP TABLE IF EXISTS IdSequences;
 DROP TABLE IF EXISTS Favorites;
 DROP TABLE IF EXISTS Vehicles;
 DROP TABLE IF EXISTS RealEstate;
 DROP TABLE IF EXISTS Listings;
 DROP TABLE IF EXISTS Users;
 
+-- Id allocation for Users and Listings: next_val is the next free id of the named sequence.
+-- Hibernate reserves blocks of ids from here (pooled-lo, so inserts can be batched) and so do the
+-- bulk writers (IdAllocator). Seeded after the sample rows in data.sql.
+CREATE TABLE IdSequences (
+    name VARCHAR(64) PRIMARY KEY,
+    next_val BIGINT NOT NULL
+);
+
 -- Users table
 CREATE TABLE Users (
     user_id INT AUTO_INCREMENT PRIMARY KEY,
@@ -31,7 +42,9 @@ CREATE TABLE Listings (
     listing_date DATE NOT NULL,
     category ENUM('Vehicle', 'RealEstate') NOT NULL,
     status ENUM('Active', 'Sold', 'Deleted') DEFAULT 'Active',
-    FOREIGN KEY (user_id) REFERENCES Users(user_id) ON DELETE CASCADE
+    FOREIGN KEY (user_id) REFERENCES Users(user_id) ON DELETE CASCADE,
+    -- Keyset pagination of the grids: seek on (listing_date, listing_id) per category
+    INDEX idx_listings_seek (category, status, listing_date, listing_id)
 );
 
 -- Vehicles table (extends Listings for car/vehicle specific fields)
@@ -41,7 +54,16 @@ CREATE TABLE Vehicles (
     model_year INT NOT NULL,
     model_name VARCHAR(150) NOT NULL,
     kilometers INT NOT NULL,
-    FOREIGN KEY (listing_id) REFERENCES Listings(listing_id) ON DELETE CASCADE
+    FOREIGN KEY (listing_id) REFERENCES Listings(listing_id) ON DELETE CASCADE,
+    INDEX idx_vehicles_model_year (model_year)
+);
+
+-- Running price sum / count of active vehicles per model year ("good deal" = below the year's average).
+-- Rebuilt on startup and kept up to date by the application on every post / delete.
+CREATE TABLE VehicleYearStats (
+    model_year INT PRIMARY KEY,
+    price_sum DECIMAL(20, 2) NOT NULL,
+    active_count BIGINT NOT NULL
 );
 
 -- RealEstate table (extends Listings for house/property specific fields)
@@ -66,3 +88,11 @@ CREATE TABLE Favorites (
     FOREIGN KEY (user_id) REFERENCES Users(user_id) ON DELETE CASCADE,
     FOREIGN KEY (listing_id) REFERENCES Listings(listing_id) ON DELETE CASCADE
 );
+
+-- Feed rows already written by the ingestion pipeline (source_ref = feed name + hash of the row),
+-- so a feed file can be ingested again without duplicating listings
+CREATE TABLE IngestedRows (
+    source_ref VARCHAR(64) PRIMARY KEY,
+    listing_id INT NOT NULL,
+    FOREIGN KEY (listing_id) REFERENCES Listings(listing_id) ON DELETE CASCADE
+);
@@ -0,0 +1,97 @@
+package com.minisahibinden.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import com.minisahibinden.dto.ListingCardDTO;
+import com.minisahibinden.entity.Favorite;
+import com.minisahibinden.entity.Listing;
+import com.minisahibinden.entity.RealEstate;
+import com.minisahibinden.entity.User;
+import com.minisahibinden.entity.Vehicle;
+
+/**
+ * "My Ads" / "My Favorites" must load in a constant number of statements,
+ * however many listings the user has.
+ */
+@DataJpaTest(properties = {
+        "spring.sql.init.mode=never",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.show-sql=false"
+})
+class ListingCardQueryTest {
+
+    private static final int VEHICLES = 7;
+    private static final int REAL_ESTATES = 5;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ListingRepository listingRepository;
+
+    @Autowired
+    private FavoriteRepository favoriteRepository;
+
+    private User owner;
+    private User fan;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        owner = entityManager.persist(new User("Owner User", "owner@example.com", "5550000001", "secret"));
+        fan = entityManager.persist(new User("Fan User", "fan@example.com", "5550000002", "secret"));
+
+        for (int i = 0; i < VEHICLES; i++) {
+            Listing listing = entityManager.persist(new Listing(owner, BigDecimal.valueOf(100_000 + i),
+                    LocalDate.of(2025, 1, 1 + i), Listing.Category.Vehicle));
+            entityManager.persist(new Vehicle(listing, 2010 + i, "Model " + i, 10_000 * i));
+            entityManager.persist(new Favorite(fan, listing));
+        }
+        for (int i = 0; i < REAL_ESTATES; i++) {
+            Listing listing = entityManager.persist(new Listing(owner, BigDecimal.valueOf(2_000_000 + i),
+                    LocalDate.of(2025, 2, 1 + i), Listing.Category.RealEstate));
+            entityManager.persist(new RealEstate(listing, "Owner", 100 + i, "3+1", "Izmir", "District " + i, "Center"));
+            entityManager.persist(new Favorite(fan, listing));
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void myAdsCardsLoadInOneStatement() {
+        List<ListingCardDTO> cards = listingRepository.findCardsByUserId(owner.getUserId());
+        // Titles are what used to trigger the per-row selects
+        cards.forEach(ListingCardDTO::getDisplayTitle);
+
+        assertEquals(VEHICLES + REAL_ESTATES, cards.size());
+        assertEquals("Izmir, District 4", cards.get(0).getDisplayTitle()); // newest first
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void myFavoritesCardsLoadInOneStatement() {
+        List<ListingCardDTO> cards = favoriteRepository.findFavoriteCardsByUserId(fan.getUserId());
+        cards.forEach(ListingCardDTO::getDisplayTitle);
+
+        assertEquals(VEHICLES + REAL_ESTATES, cards.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+}
@@ -0,0 +1,88 @@
+package com.minisahibinden.util;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Keyset pages must come out in the order of the SQL version:
+ * ORDER BY listing_date DESC, listing_id DESC, relative to the cursor row.
+ */
+class KeysetHeapTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 3, 10);
+
+    @Test
+    void orderKeyRanksByDateThenId() {
+        assertTrue(KeysetHeap.orderKey(DAY, 5) > KeysetHeap.orderKey(DAY, 4));
+        assertTrue(KeysetHeap.orderKey(DAY.plusDays(1), 1) > KeysetHeap.orderKey(DAY, Integer.MAX_VALUE));
+        assertEquals(123_456, KeysetHeap.listingIdOf(KeysetHeap.orderKey(DAY, 123_456)));
+    }
+
+    @Test
+    void olderPageBreaksSameDateTiesByIdDescending() {
+        // Cursor on id 50; ids 10..90 share its date, 1..3 are a day older, 100 a day newer
+        KeysetHeap heap = new KeysetHeap(KeysetHeap.orderKey(DAY, 50), true, 5);
+        offerShuffled(heap);
+
+        assertArrayEquals(new int[] {40, 30, 20, 10, 3}, heap.listingIds());
+    }
+
+    @Test
+    void newerPageKeepsTheNearestKeysAboveTheCursor() {
+        KeysetHeap heap = new KeysetHeap(KeysetHeap.orderKey(DAY, 50), false, 3);
+        offerShuffled(heap);
+
+        // Nearest to the cursor first, like "ORDER BY listing_date ASC, listing_id ASC"
+        assertArrayEquals(new int[] {60, 70, 80}, heap.listingIds());
+    }
+
+    @Test
+    void cursorRowAndShortPagesAreHandled() {
+        long cursor = KeysetHeap.orderKey(DAY, 50);
+        KeysetHeap older = new KeysetHeap(cursor, true, 10);
+        KeysetHeap newer = new KeysetHeap(cursor, false, 10);
+        for (int id : new int[] {50, 49, 51}) {
+            older.offer(KeysetHeap.orderKey(DAY, id));
+            newer.offer(KeysetHeap.orderKey(DAY, id));
+        }
+        // The cursor row itself is on neither page
+        assertArrayEquals(new int[] {49}, older.listingIds());
+        assertArrayEquals(new int[] {51}, newer.listingIds());
+
+        KeysetHeap empty = new KeysetHeap(cursor, true, 0);
+        empty.offer(KeysetHeap.orderKey(DAY, 1));
+        assertEquals(0, empty.listingIds().length);
+    }
+
+    @Test
+    void firstPageFromTheTopCursorIsTheNewestRows() {
+        KeysetHeap heap = new KeysetHeap(Long.MAX_VALUE, true, 4);
+        offerShuffled(heap);
+
+        assertArrayEquals(new int[] {100, 90, 80, 70}, heap.listingIds());
+    }
+
+    private static void offerShuffled(KeysetHeap heap) {
+        List<Long> keys = new ArrayList<>();
+        for (int id = 10; id <= 90; id += 10) {
+            keys.add(KeysetHeap.orderKey(DAY, id));
+        }
+        for (int id = 1; id <= 3; id++) {
+            keys.add(KeysetHeap.orderKey(DAY.minusDays(1), id));
+        }
+        keys.add(KeysetHeap.orderKey(DAY.plusDays(1), 100));
+        Collections.shuffle(keys, new Random(7));
+        for (long key : keys) {
+            heap.offer(key);
+        }
+    }
+}
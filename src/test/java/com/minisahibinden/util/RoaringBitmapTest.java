@@ -0,0 +1,137 @@
+package com.minisahibinden.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PrimitiveIterator;
+import java.util.Random;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * RoaringBitmap against a TreeSet, across the array / bitmap container switch at 4096 values
+ * per 65536-value chunk and intersections of every container pairing.
+ */
+class RoaringBitmapTest {
+
+    private static final int CHUNK = 1 << 16;
+
+    @Test
+    void switchesToBitmapAndBackWithoutLosingValues() {
+        RoaringBitmap bitmap = new RoaringBitmap();
+        TreeSet<Integer> expected = new TreeSet<>();
+
+        // Every other value of chunk 3: the array fills up at 4096 and the 4097th turns it into a bitmap
+        int base = 3 * CHUNK;
+        for (int i = 0; i < 5000; i++) {
+            bitmap.add(base + 2 * i);
+            expected.add(base + 2 * i);
+            if (i == 4095 || i == 4096) {
+                assertContent(expected, bitmap);
+            }
+        }
+        assertContent(expected, bitmap);
+
+        // Back below the threshold: converted to an array again
+        for (int i = 0; i < 1000; i++) {
+            bitmap.remove(base + 2 * i);
+            expected.remove(base + 2 * i);
+        }
+        assertContent(expected, bitmap);
+
+        // Duplicates and absent values don't change the count
+        bitmap.add(base + 2 * 4999);
+        bitmap.remove(base + 1);
+        assertContent(expected, bitmap);
+
+        // Emptying the chunk drops it
+        for (int value : new ArrayList<>(expected)) {
+            bitmap.remove(value);
+        }
+        assertTrue(bitmap.isEmpty());
+        assertEquals(0, bitmap.cardinality());
+        assertFalse(bitmap.iterator().hasNext());
+    }
+
+    @Test
+    void andMatchesSetIntersectionForEveryContainerPairing() {
+        Random random = new Random(42);
+        // Chunk 0: array & array, 1: array & bitmap, 2: bitmap & array, 3: bitmap & bitmap,
+        // 4 and 5: present on one side only
+        int[][] sizes = {{300, 500}, {200, 20_000}, {30_000, 700}, {25_000, 40_000}, {100, 0}, {0, 100}};
+        RoaringBitmap left = new RoaringBitmap();
+        RoaringBitmap right = new RoaringBitmap();
+        TreeSet<Integer> leftValues = new TreeSet<>();
+        TreeSet<Integer> rightValues = new TreeSet<>();
+        for (int chunk = 0; chunk < sizes.length; chunk++) {
+            fill(left, leftValues, random, chunk, sizes[chunk][0]);
+            fill(right, rightValues, random, chunk, sizes[chunk][1]);
+        }
+
+        TreeSet<Integer> expected = new TreeSet<>(leftValues);
+        expected.retainAll(rightValues);
+
+        assertContent(expected, left.and(right));
+        assertContent(expected, right.and(left));
+        assertEquals(expected.size(), left.andCardinality(right));
+        assertEquals(expected.size(), right.andCardinality(left));
+        // and() doesn't change its inputs
+        assertContent(leftValues, left);
+        assertContent(rightValues, right);
+    }
+
+    @Test
+    void denseIntersectionWithFewCommonValuesBecomesAnArray() {
+        RoaringBitmap evens = new RoaringBitmap();
+        RoaringBitmap odds = new RoaringBitmap();
+        for (int i = 0; i < 10_000; i++) {
+            evens.add(2 * i);
+            odds.add(2 * i + 1);
+        }
+        odds.add(100);
+        odds.add(5000);
+
+        RoaringBitmap both = evens.and(odds);
+        assertContent(new TreeSet<>(List.of(100, 5000)), both);
+        assertEquals(2, evens.andCardinality(odds));
+
+        // The result shares no containers with its inputs
+        both.add(6);
+        both.add(7);
+        assertFalse(odds.contains(6));
+        assertFalse(evens.contains(7));
+        assertEquals(2, evens.andCardinality(odds));
+    }
+
+    private static void fill(RoaringBitmap bitmap, TreeSet<Integer> values, Random random, int chunk, int count) {
+        int added = 0;
+        while (added < count) {
+            int value = chunk * CHUNK + random.nextInt(CHUNK);
+            if (values.add(value)) {
+                bitmap.add(value);
+                added++;
+            }
+        }
+    }
+
+    private static void assertContent(TreeSet<Integer> expected, RoaringBitmap bitmap) {
+        assertEquals(expected.size(), bitmap.cardinality());
+        assertEquals(expected.isEmpty(), bitmap.isEmpty());
+        List<Integer> actual = new ArrayList<>();
+        PrimitiveIterator.OfInt iterator = bitmap.iterator();
+        while (iterator.hasNext()) {
+            actual.add(iterator.nextInt());
+        }
+        assertEquals(new ArrayList<>(expected), actual);
+        for (int value : expected) {
+            assertTrue(bitmap.contains(value));
+        }
+        if (!expected.isEmpty()) {
+            assertFalse(bitmap.contains(expected.last() + 1));
+        }
+    }
+}
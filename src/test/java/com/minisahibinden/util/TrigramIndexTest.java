@@ -0,0 +1,114 @@
+package com.minisahibinden.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * TrigramIndex must return exactly what LIKE '%query%' did (case-insensitive), including
+ * queries too short to have a trigram and ones spanning a word boundary.
+ */
+class TrigramIndexTest {
+
+    private static final Map<Integer, String> MODELS = new TreeMap<>(Map.of(
+            1, "Ford Focus",
+            2, "Ford Fiesta",
+            3, "Fiat Egea",
+            4, "Volkswagen Polo",
+            5, "Renault Clio",
+            6, "BMW 320i",
+            7, "Opel Astra",
+            8, "Toyota Corolla"));
+
+    @Test
+    void shortQueriesScanTheTexts() {
+        TrigramIndex index = index();
+
+        assertEquals(List.of(1, 2, 4, 5, 7, 8), index.search("o"));
+        assertEquals(List.of(4), index.search("LO"));
+        assertEquals(List.of(2, 8), index.search("tA"));
+        assertEquals(List.of(6), index.search("20"));
+        // Trimmed like the longer queries
+        assertEquals(List.of(1, 2), index.search(" d "));
+        assertEquals(List.of(), index.search("zz"));
+        assertEquals(List.of(), index.search("  "));
+    }
+
+    @Test
+    void queriesSpanningWordsMatchAcrossTheSpace() {
+        TrigramIndex index = index();
+
+        assertEquals(List.of(1, 2), index.search("rd f"));
+        assertEquals(List.of(1), index.search("ord fo"));
+        assertEquals(List.of(3), index.search("at eg"));
+        assertEquals(List.of(4), index.search("n pol"));
+        // Every trigram occurs ("rd ", "d f", " fi"...) but not next to each other in one text
+        assertEquals(List.of(), index.search("rd fiat"));
+    }
+
+    @Test
+    void candidatesAreVerifiedAgainstTheText() {
+        TrigramIndex index = new TrigramIndex();
+        index.add(1, "abcXbcd");
+        index.add(2, "abcd");
+
+        // Both have "abc" and "bcd"; only one has them adjacent
+        assertEquals(List.of(2), index.search("abcd"));
+    }
+
+    @Test
+    void matchesLikeForEverySubstringOfTheTexts() {
+        TrigramIndex index = index();
+        for (String text : MODELS.values()) {
+            String lower = text.toLowerCase(Locale.ROOT);
+            for (int from = 0; from < lower.length(); from++) {
+                for (int to = from + 1; to <= lower.length(); to++) {
+                    String query = text.substring(from, to);
+                    if (query.isBlank()) {
+                        continue;
+                    }
+                    assertEquals(like(query), index.search(query), query);
+                }
+            }
+        }
+    }
+
+    @Test
+    void removedTextsNoLongerMatch() {
+        TrigramIndex index = index();
+        index.remove(1);
+        index.remove(42);
+
+        assertFalse(index.contains(1));
+        assertTrue(index.contains(2));
+        assertEquals(List.of(2), index.search("ford"));
+        assertEquals(List.of(2), index.search("fo"));
+        assertEquals(List.of(), index.search("focus"));
+    }
+
+    private static TrigramIndex index() {
+        TrigramIndex index = new TrigramIndex();
+        MODELS.forEach(index::add);
+        return index;
+    }
+
+    // Trimmed and lower-cased like the index normalizes the query
+    private static List<Integer> like(String query) {
+        String needle = query.trim().toLowerCase(Locale.ROOT);
+        List<Integer> ids = new ArrayList<>();
+        MODELS.forEach((id, text) -> {
+            if (text.toLowerCase(Locale.ROOT).contains(needle)) {
+                ids.add(id);
+            }
+        });
+        return ids;
+    }
+}
@@ -0,0 +1,71 @@
+package com.minisahibinden.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Hits only for the current version and within the TTL; least recently used entries go first.
+ */
+class VersionedLruCacheTest {
+
+    @Test
+    void evictsTheLeastRecentlyUsedEntry() {
+        VersionedLruCache<String, String> cache = new VersionedLruCache<>(2, 60_000);
+        cache.put("a", 1, "A");
+        cache.put("b", 1, "B");
+        // Reading "a" makes "b" the eldest
+        assertEquals("A", cache.get("a", 1));
+        cache.put("c", 1, "C");
+
+        assertNull(cache.get("b", 1));
+        assertEquals("A", cache.get("a", 1));
+        assertEquals("C", cache.get("c", 1));
+
+        VersionedLruCache.Stats stats = cache.stats();
+        assertEquals(2, stats.getSize());
+        assertEquals(1, stats.getEvictions());
+        assertEquals(3, stats.getHits());
+        assertEquals(1, stats.getMisses());
+    }
+
+    @Test
+    void entryOfAnotherVersionIsAMissAndIsDropped() {
+        VersionedLruCache<String, String> cache = new VersionedLruCache<>(10, 60_000);
+        cache.put("a", 1, "A");
+
+        assertNull(cache.get("a", 2));
+        // Dropped, so going back to the old version doesn't find it either
+        assertNull(cache.get("a", 1));
+
+        cache.put("a", 2, "A2");
+        assertEquals("A2", cache.get("a", 2));
+
+        VersionedLruCache.Stats stats = cache.stats();
+        assertEquals(1, stats.getInvalidations());
+        assertEquals(2, stats.getMisses());
+        assertEquals(1, stats.getHits());
+    }
+
+    @Test
+    void entryOlderThanTheTtlIsAMiss() throws InterruptedException {
+        VersionedLruCache<String, String> cache = new VersionedLruCache<>(10, 20);
+        cache.put("a", 1, "A");
+        assertEquals("A", cache.get("a", 1));
+
+        Thread.sleep(40);
+        assertNull(cache.get("a", 1));
+        assertEquals(1, cache.stats().getInvalidations());
+        assertEquals(0, cache.stats().getSize());
+    }
+
+    @Test
+    void zeroEntriesDisablesTheCache() {
+        VersionedLruCache<String, String> cache = new VersionedLruCache<>(0, 60_000);
+        cache.put("a", 1, "A");
+
+        assertNull(cache.get("a", 1));
+        assertEquals(0, cache.stats().getSize());
+    }
+}